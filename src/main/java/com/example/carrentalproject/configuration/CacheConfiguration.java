@@ -0,0 +1,39 @@
+package com.example.carrentalproject.configuration;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+        public static final String CAR_PACKAGES = "carPackages";
+        public static final String CAR_PACKAGES_BY_NAME = "carPackagesByName";
+        public static final String ROLES_BY_NAME = "rolesByName";
+
+        /**
+         * Defers cache puts and evictions until the surrounding transaction
+         * commits, so a read between the eviction and the commit cannot cache
+         * the old rows again.
+         */
+        @Bean
+        public static BeanPostProcessor transactionAwareCacheManager() {
+                return new BeanPostProcessor() {
+
+                        @Override
+                        public Object postProcessAfterInitialization(Object bean, String beanName) {
+                                if(bean instanceof CacheManager && !(bean instanceof TransactionAwareCacheManagerProxy)) {
+
+                                        return new TransactionAwareCacheManagerProxy((CacheManager) bean);
+                                }
+                                return bean;
+                        }
+
+                };
+        }
+
+}
@@ -0,0 +1,36 @@
+package com.example.carrentalproject.configuration;
+
+import com.example.carrentalproject.gateway.CircuitBreaker;
+import com.example.carrentalproject.gateway.PaymentGateway;
+import com.example.carrentalproject.gateway.ResilientPaymentGateway;
+import com.example.carrentalproject.gateway.StubPaymentGateway;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration
+public class PaymentGatewayConfiguration {
+
+        @Bean(name = "paymentGatewayClient", destroyMethod = "shutdown")
+        @ConditionalOnProperty(name = "payments.gateway.type", havingValue = "stub", matchIfMissing = true)
+        public StubPaymentGateway stubPaymentGateway(@Value("${payments.gateway.stub.latency:50}") long latency,
+                                                     @Value("${payments.gateway.stub.failureRate:0.0}") double failureRate) {
+                return new StubPaymentGateway(latency, failureRate);
+        }
+
+        @Bean
+        @Primary
+        public PaymentGateway paymentGateway(@Qualifier("paymentGatewayClient") PaymentGateway client, MeterRegistry meterRegistry,
+                                             @Value("${payments.gateway.maxConcurrentCalls:64}") int maxConcurrentCalls,
+                                             @Value("${payments.gateway.timeout:2000}") long timeout,
+                                             @Value("${payments.gateway.failureThreshold:5}") int failureThreshold,
+                                             @Value("${payments.gateway.openDuration:30000}") long openDuration) {
+                return new ResilientPaymentGateway(client, maxConcurrentCalls, timeout,
+                        new CircuitBreaker(failureThreshold, openDuration), meterRegistry);
+        }
+
+}
@@ -0,0 +1,7 @@
+package com.example.carrentalproject.constant;
+
+public enum DiscrepancyType {
+        NEGATIVE_BALANCE,
+        SNAPSHOT_MISMATCH,
+        UNPAID_ORDERS
+}
@@ -0,0 +1,7 @@
+package com.example.carrentalproject.constant;
+
+public enum LedgerEntryType {
+        CREDIT,
+        DEBIT,
+        REFUND
+}
@@ -0,0 +1,6 @@
+package com.example.carrentalproject.constant;
+
+public enum SettlementAction {
+        CAPTURE,
+        VOID
+}
@@ -5,9 +5,14 @@ import com.example.carrentalproject.domain.CarPackage;
 import com.example.carrentalproject.domain.CarParameters;
 import com.example.carrentalproject.dto.CarDto;
 import com.example.carrentalproject.dto.CarPackageDto;
+import com.example.carrentalproject.dto.CarSearchCriteria;
+import com.example.carrentalproject.dto.CarView;
+import com.example.carrentalproject.dto.CursorPage;
+import com.example.carrentalproject.service.CarCatalogService;
 import com.example.carrentalproject.service.CarService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -17,6 +22,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -24,10 +30,16 @@ import java.util.List;
 public class CarController {
 
         private final CarService carService;
+        private final CarCatalogService carCatalogService;
 
         @GetMapping("/cars")
-        public List<Car> getAllCars(@RequestParam(required = false) Integer page, Sort.Direction sort) {
-                return carService.getAllCars(page, sort);
+        public List<CarView> getAllCars(@RequestParam(required = false) Integer page, Sort.Direction sort) {
+                return carCatalogService.getAllCars(page, sort);
+        }
+
+        @GetMapping("/cars/seek")
+        public CursorPage<CarView> seekCars(@RequestParam(required = false) String cursor, Sort.Direction sort) {
+                return carCatalogService.seekCars(cursor, sort);
         }
 
         @GetMapping("/cars/packages")
@@ -36,13 +48,30 @@ public class CarController {
         }
 
         @GetMapping("/cars/available")
-        public List<Car> getAvailableCars(@RequestParam(required = false) Integer page, Sort.Direction sort) {
-                return carService.getAvailableCars(page, sort);
+        public List<CarView> getAvailableCars(@RequestParam(required = false) Integer page, Sort.Direction sort) {
+                return carCatalogService.getAvailableCars(page, sort);
+        }
+
+        @GetMapping("/cars/available/seek")
+        public CursorPage<CarView> seekAvailableCars(@RequestParam(required = false) String cursor, Sort.Direction sort) {
+                return carCatalogService.seekAvailableCars(cursor, sort);
+        }
+
+        @GetMapping("/cars/search")
+        public List<CarView> searchCars(CarSearchCriteria criteria, @RequestParam(required = false) Integer page, Sort.Direction sort) {
+                return carCatalogService.searchCars(criteria, page, sort);
+        }
+
+        @GetMapping("/cars/free")
+        public List<CarView> getFreeCars(@RequestParam String carPackage,
+                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+                return carCatalogService.getFreeCars(carPackage, from, to);
         }
 
         @GetMapping("/cars/{id}")
-        public Car getCar(@PathVariable Long id) {
-                return carService.getCar(id);
+        public CarView getCar(@PathVariable Long id) {
+                return carCatalogService.getCar(id);
         }
 
         @PostMapping("/cars")
@@ -1,11 +1,20 @@
 package com.example.carrentalproject.controller;
 
 import com.example.carrentalproject.domain.Car;
+import com.example.carrentalproject.domain.PlacedOrder;
+import com.example.carrentalproject.dto.CarOffer;
 import com.example.carrentalproject.service.DeliveryService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.LocalDateTime;
 
 @RestController
 @RequiredArgsConstructor
@@ -18,4 +27,30 @@ public class DeliveryController {
                 return deliveryService.pickUpTheCar(carId);
         }
 
+        @PostMapping("/delivery/any")
+        public Car pickUpAnyCar() {
+                return deliveryService.pickUpAnyCar();
+        }
+
+        @PostMapping("/delivery/waitlist")
+        public int joinWaitlist() {
+                return deliveryService.joinWaitlist();
+        }
+
+        @GetMapping("/delivery/waitlist/offer")
+        public DeferredResult<ResponseEntity<CarOffer>> awaitCarOffer() {
+                return deliveryService.awaitCarOffer();
+        }
+
+        @DeleteMapping("/delivery/waitlist")
+        public void leaveWaitlist() {
+                deliveryService.leaveWaitlist();
+        }
+
+        @PostMapping("/delivery/reservation")
+        public PlacedOrder reserveCar(@RequestParam Long carId,
+                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start) {
+                return deliveryService.reserveCar(carId, start);
+        }
+
 }
@@ -2,24 +2,38 @@ package com.example.carrentalproject.controller;
 
 import com.example.carrentalproject.domain.PlacedOrder;
 import com.example.carrentalproject.dto.AccessKeyDto;
+import com.example.carrentalproject.dto.CursorPage;
+import com.example.carrentalproject.dto.OrderSearchCriteria;
 import com.example.carrentalproject.service.OrderService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import static com.example.carrentalproject.utils.TimeWindowValidator.checkTimeWindow;
 
 @RestController
 @RequiredArgsConstructor
 public class OrderController {
 
+    public static final String NDJSON = "application/x-ndjson";
+
     private final OrderService orderService;
 
     @GetMapping("/orders")
-    public List<PlacedOrder> getOrders() {
-        return orderService.getOrders();
+    public CursorPage<PlacedOrder> getOrders(OrderSearchCriteria criteria, @RequestParam(required = false) String cursor,
+                                             Sort.Direction sort) {
+        return orderService.getOrders(criteria, cursor, sort);
+    }
+
+    @GetMapping(value = "/orders/export", produces = NDJSON)
+    public StreamingResponseBody exportOrders(OrderSearchCriteria criteria) {
+        // the body is written after the 200 is committed, so reject a bad window up front
+        checkTimeWindow(criteria.getFrom(), criteria.getTo());
+        return out -> orderService.exportOrders(criteria, out);
     }
 
     @PostMapping("/orders")
@@ -27,4 +41,9 @@ public class OrderController {
         return orderService.submitOrder(carPackage, hours);
     }
 
+    @PostMapping(value = "/orders", params = "hold")
+    public AccessKeyDto submitOrder(@RequestParam String carPackage, @RequestParam Integer hours, @RequestParam boolean hold) {
+        return orderService.submitOrder(carPackage, hours, hold);
+    }
+
 }
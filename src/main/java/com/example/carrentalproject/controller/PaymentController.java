@@ -1,19 +1,32 @@
 package com.example.carrentalproject.controller;
 
 import com.example.carrentalproject.dto.CreditCardDto;
+import com.example.carrentalproject.service.BalanceReconciliationService;
+import com.example.carrentalproject.service.MoneyTransferBatchService;
 import com.example.carrentalproject.service.PaymentService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+
+import static com.example.carrentalproject.controller.OrderController.NDJSON;
 
 @RestController
 @RequiredArgsConstructor
 public class PaymentController {
 
         private final PaymentService paymentService;
+        private final MoneyTransferBatchService moneyTransferBatchService;
+        private final BalanceReconciliationService balanceReconciliationService;
 
         @PostMapping("/payment/addCreditCard")
         public void addCreditCard(@RequestBody CreditCardDto creditCardDto) {
@@ -21,8 +34,21 @@ public class PaymentController {
         }
 
         @PutMapping("/payment/moneyTransfer")
-        public void moneyTransfer(@RequestParam Long moneyAmount) {
-                paymentService.moneyTransfer(moneyAmount);
+        public CompletableFuture<Void> moneyTransfer(@RequestParam Long moneyAmount) {
+                return paymentService.moneyTransfer(moneyAmount);
+        }
+
+        @PostMapping(value = "/payment/moneyTransfer/batch", consumes = NDJSON, produces = NDJSON)
+        public void moneyTransferBatch(InputStream transfers, HttpServletResponse response) throws IOException {
+                response.setContentType(NDJSON);
+                moneyTransferBatchService.transfer(transfers, response.getOutputStream());
+        }
+
+        @GetMapping(value = "/payment/reconciliation", produces = NDJSON)
+        public StreamingResponseBody reconcileBalances() {
+                // fail with a proper status before the 200 and the first line are committed
+                balanceReconciliationService.acquire();
+                return out -> balanceReconciliationService.reconcileAcquired(out);
         }
 
 }
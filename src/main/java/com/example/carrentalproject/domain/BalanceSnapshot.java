@@ -0,0 +1,42 @@
+package com.example.carrentalproject.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "balance_snapshot", indexes = @Index(name = "idx_balance_snapshot_card", columnList = "credit_card_id, id"))
+public class BalanceSnapshot {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        @Column(name = "id", unique = true, nullable = false)
+        private Long id;
+
+        @Column(name = "credit_card_id", nullable = false)
+        private Long creditCardId;
+
+        @Column(name = "balance", nullable = false)
+        private Long balance;
+
+        @Column(name = "entries", nullable = false)
+        private Integer entries;
+
+        @Column(name = "taken_at", nullable = false)
+        private LocalDateTime takenAt;
+
+}
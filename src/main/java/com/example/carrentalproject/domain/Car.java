@@ -11,6 +11,7 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToOne;
@@ -21,7 +22,11 @@ import javax.persistence.Table;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-@Table(name = "car")
+@Table(name = "car", indexes = {
+        @Index(name = "idx_car_package_available", columnList = "car_package_id, is_available"),
+        @Index(name = "idx_car_available", columnList = "is_available"),
+        @Index(name = "idx_car_brand_model", columnList = "brand, model")
+})
 public class Car {
 
         @Id
@@ -0,0 +1,36 @@
+package com.example.carrentalproject.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "car_hold", indexes = @Index(name = "idx_car_hold_expires", columnList = "expires_at"))
+public class CarHold {
+
+        @Id
+        @Column(name = "car_id", unique = true, nullable = false)
+        private Long carId;
+
+        @Column(name = "user_id", unique = true, nullable = false)
+        private Long userId;
+
+        @Column(name = "package_name", nullable = false)
+        private String packageName;
+
+        @Column(name = "expires_at", nullable = false)
+        private LocalDateTime expiresAt;
+
+}
@@ -15,6 +15,7 @@ import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.OneToOne;
 import javax.persistence.Table;
 
@@ -23,7 +24,10 @@ import javax.persistence.Table;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-@Table(name = "car_parameters")
+@Table(name = "car_parameters", indexes = {
+        @Index(name = "idx_car_parameters_fuel_gear", columnList = "fuel_type, gear_box_type, number_of_seats, number_of_doors"),
+        @Index(name = "idx_car_parameters_seats_doors", columnList = "number_of_seats, number_of_doors")
+})
 public class CarParameters {
 
         @Id
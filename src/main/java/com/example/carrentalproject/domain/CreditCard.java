@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnTransformer;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -18,6 +20,7 @@ import javax.persistence.Table;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
+@DynamicUpdate
 @Table(name = "credit_card")
 public class CreditCard {
 
@@ -38,7 +41,13 @@ public class CreditCard {
         @Column(name = "cvv", nullable = false, length = 3)
         private Integer CVV;
 
+        /**
+         * Read as the last snapshot plus the ledger entries not folded into it yet.
+         * Setting it overwrites the snapshot, so movements go through the ledger.
+         */
         @Column(name = "account_balance", nullable = false)
+        @ColumnTransformer(read = "account_balance + (select coalesce(sum(l.amount), 0) from ledger_entry l "
+                + "where l.credit_card_id = id and l.snapshot_id is null)")
         private Long accountBalance;
 
         @OneToOne
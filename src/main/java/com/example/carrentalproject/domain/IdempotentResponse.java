@@ -0,0 +1,43 @@
+package com.example.carrentalproject.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "idempotent_response")
+public class IdempotentResponse {
+
+        @Id
+        @Column(name = "idempotency_key", length = 64, nullable = false)
+        private String idempotencyKey;
+
+        @Column(name = "request_hash", length = 64, nullable = false)
+        private String requestHash;
+
+        @Column(name = "status", nullable = false)
+        private Integer status;
+
+        @Column(name = "content_type")
+        private String contentType;
+
+        @Lob
+        @Column(name = "body")
+        private byte[] body;
+
+        @Column(name = "created_at", nullable = false)
+        private LocalDateTime createdAt;
+
+}
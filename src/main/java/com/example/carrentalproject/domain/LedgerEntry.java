@@ -0,0 +1,55 @@
+package com.example.carrentalproject.domain;
+
+import com.example.carrentalproject.constant.LedgerEntryType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.persistence.TableGenerator;
+import java.time.LocalDateTime;
+
+/**
+ * One movement on a credit card. Amounts are signed and never change; an entry
+ * is only stamped with the snapshot that folded it into the card balance.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "ledger_entry", indexes = @Index(name = "idx_ledger_entry_tail", columnList = "credit_card_id, snapshot_id"))
+public class LedgerEntry {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.TABLE, generator = "ledger_entry_id")
+        @TableGenerator(name = "ledger_entry_id", table = "id_generator", pkColumnValue = "ledger_entry", allocationSize = 50)
+        @Column(name = "id", unique = true, nullable = false)
+        private Long id;
+
+        @Column(name = "credit_card_id", nullable = false, updatable = false)
+        private Long creditCardId;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "type", nullable = false, updatable = false, length = 8)
+        private LedgerEntryType type;
+
+        @Column(name = "amount", nullable = false, updatable = false)
+        private Long amount;
+
+        @Column(name = "created_at", nullable = false, updatable = false)
+        private LocalDateTime createdAt;
+
+        @Column(name = "snapshot_id")
+        private Long snapshotId;
+
+}
@@ -0,0 +1,28 @@
+package com.example.carrentalproject.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "package_capacity")
+public class PackageCapacity {
+
+        @Id
+        @Column(name = "car_package_id", unique = true, nullable = false)
+        private Long carPackageId;
+
+        @Column(name = "available", nullable = false)
+        private Integer available;
+
+}
@@ -0,0 +1,57 @@
+package com.example.carrentalproject.domain;
+
+import com.example.carrentalproject.constant.SettlementAction;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * A gateway call still owed for a money transfer: the capture of an authorization
+ * already credited to the ledger, written in the same transaction as the credit,
+ * or the void of an authorization that could not be credited.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "pending_settlement", indexes = @Index(name = "idx_pending_settlement_action", columnList = "action, id"))
+public class PendingSettlement {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        @Column(name = "id", unique = true, nullable = false)
+        private Long id;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "action", nullable = false, updatable = false, length = 8)
+        private SettlementAction action;
+
+        @Column(name = "reference", nullable = false, updatable = false)
+        private String reference;
+
+        @Column(name = "authorization_id", updatable = false)
+        private String authorizationId;
+
+        @Column(name = "credit_card_id", nullable = false, updatable = false)
+        private Long creditCardId;
+
+        @Column(name = "amount", nullable = false, updatable = false)
+        private Long amount;
+
+        @Column(name = "created_at", nullable = false, updatable = false)
+        private LocalDateTime createdAt;
+
+}
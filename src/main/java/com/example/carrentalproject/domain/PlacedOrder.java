@@ -10,6 +10,7 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
 import java.time.LocalDateTime;
 
@@ -18,7 +19,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-@Table(name = "placed_order")
+@Table(name = "placed_order", indexes = {
+        @Index(name = "idx_placed_order_car_end", columnList = "car_id, end_time"),
+        @Index(name = "idx_placed_order_user", columnList = "user_id, id"),
+        @Index(name = "idx_placed_order_start", columnList = "start_time")
+})
 public class PlacedOrder {
 
         @Id
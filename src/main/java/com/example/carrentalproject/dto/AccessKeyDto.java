@@ -1,16 +1,26 @@
 package com.example.carrentalproject.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
+import java.time.LocalDateTime;
+
 @Data
 @AllArgsConstructor
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class AccessKeyDto {
 
         private Long id;
         private String carPackage;
         private Integer hours;
+        private Long heldCarId;
+        private LocalDateTime holdExpiresAt;
+
+        public AccessKeyDto(Long id, String carPackage, Integer hours) {
+                this(id, carPackage, hours, null, null);
+        }
 
 }
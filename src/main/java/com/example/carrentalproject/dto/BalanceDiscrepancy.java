@@ -0,0 +1,18 @@
+package com.example.carrentalproject.dto;
+
+import com.example.carrentalproject.constant.DiscrepancyType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BalanceDiscrepancy {
+
+        private Long creditCardId;
+        private DiscrepancyType type;
+        private Long expected;
+        private Long actual;
+
+}
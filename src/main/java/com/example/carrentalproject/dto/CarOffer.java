@@ -0,0 +1,18 @@
+package com.example.carrentalproject.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CarOffer {
+
+        private Long carId;
+        private String packageName;
+        private LocalDateTime expiresAt;
+
+}
@@ -0,0 +1,23 @@
+package com.example.carrentalproject.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Immutable car package data, safe to share from the reference data caches.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@AllArgsConstructor
+@Builder
+public class CarPackageView {
+
+        private final Long id;
+        private final String packageName;
+        private final Integer pricePerHour;
+
+}
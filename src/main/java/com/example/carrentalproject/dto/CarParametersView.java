@@ -0,0 +1,22 @@
+package com.example.carrentalproject.dto;
+
+import com.example.carrentalproject.constant.FuelType;
+import com.example.carrentalproject.constant.GearBoxType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CarParametersView {
+
+        private FuelType fuelType;
+        private GearBoxType gearBoxType;
+        private Integer numberOfDoors;
+        private Integer numberOfSeats;
+        private Boolean isAirConditioningAvailable;
+
+}
@@ -0,0 +1,30 @@
+package com.example.carrentalproject.dto;
+
+import com.example.carrentalproject.constant.FuelType;
+import com.example.carrentalproject.constant.GearBoxType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CarSearchCriteria {
+
+        private String packageName;
+        private Integer minPrice;
+        private Integer maxPrice;
+        private String brand;
+        private String model;
+        private FuelType fuelType;
+        private GearBoxType gearBoxType;
+        private Integer minSeats;
+        private Integer maxSeats;
+        private Integer minDoors;
+        private Integer maxDoors;
+        private Boolean airConditioning;
+        private Boolean available;
+
+}
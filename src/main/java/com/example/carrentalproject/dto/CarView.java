@@ -0,0 +1,34 @@
+package com.example.carrentalproject.dto;
+
+import com.example.carrentalproject.constant.FuelType;
+import com.example.carrentalproject.constant.GearBoxType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CarView {
+
+        private Long id;
+        private String registrationNr;
+        private String brand;
+        private String model;
+        private Boolean isAvailable;
+        private CarPackageView carPackage;
+        private CarParametersView carParameters;
+
+        public CarView(Long id, String registrationNr, String brand, String model, Boolean isAvailable,
+                       Long packageId, String packageName, Integer pricePerHour,
+                       FuelType fuelType, GearBoxType gearBoxType, Integer numberOfDoors, Integer numberOfSeats,
+                       Boolean isAirConditioningAvailable) {
+                this(id, registrationNr, brand, model, isAvailable,
+                        packageId != null ? new CarPackageView(packageId, packageName, pricePerHour) : null,
+                        fuelType != null ? new CarParametersView(fuelType, gearBoxType, numberOfDoors, numberOfSeats,
+                                isAirConditioningAvailable) : null);
+        }
+
+}
@@ -0,0 +1,19 @@
+package com.example.carrentalproject.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CardBalanceRow {
+
+        private Long creditCardId;
+        private Long accountBalance;
+        private Long tail;
+        private Long snapshotBalance;
+        private Long debits;
+        private Long orders;
+
+}
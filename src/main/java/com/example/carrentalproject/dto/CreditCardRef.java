@@ -0,0 +1,16 @@
+package com.example.carrentalproject.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CreditCardRef {
+
+        private Long id;
+        private Long cardNumber;
+        private String username;
+
+}
@@ -0,0 +1,22 @@
+package com.example.carrentalproject.dto;
+
+import com.example.carrentalproject.constant.TransferStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MoneyTransferResult {
+
+        private Long line;
+        private String username;
+        private Long cardNumber;
+        private Long amount;
+        private TransferStatus status;
+        private String message;
+
+}
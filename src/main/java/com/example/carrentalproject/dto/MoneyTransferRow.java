@@ -0,0 +1,16 @@
+package com.example.carrentalproject.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MoneyTransferRow {
+
+        private String username;
+        private Long cardNumber;
+        private Long amount;
+
+}
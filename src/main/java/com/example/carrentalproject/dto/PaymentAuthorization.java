@@ -0,0 +1,18 @@
+package com.example.carrentalproject.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PaymentAuthorization {
+
+        private String authorizationId;
+        private Long creditCardId;
+        private Long amount;
+        private boolean approved;
+        private String declineReason;
+
+}
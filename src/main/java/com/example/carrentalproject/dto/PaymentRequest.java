@@ -0,0 +1,17 @@
+package com.example.carrentalproject.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PaymentRequest {
+
+        private String reference;
+        private Long creditCardId;
+        private Long cardNumber;
+        private Long amount;
+
+}
@@ -15,7 +15,8 @@ import java.time.ZonedDateTime;
 public class GlobalExceptionHandler {
 
         @ExceptionHandler({NoAccessKeyException.class, InvalidPackageException.class, UnavailableCarException.class,
-                NoCreditCardException.class, ExistingOrderException.class, InsufficientFundsException.class})
+                NoCreditCardException.class, ExistingOrderException.class, InsufficientFundsException.class,
+                PaymentDeclinedException.class})
         public ResponseEntity<Object> handleCustomForbiddenException(Exception e, WebRequest request) {
 
                 ErrorDetails errorDetails = new ErrorDetails(e.getMessage(),
@@ -26,7 +27,7 @@ public class GlobalExceptionHandler {
         }
 
         @ExceptionHandler({ExistingEntityException.class, WeakPasswordException.class,
-                AssignedRoleException.class})
+                AssignedRoleException.class, InvalidCursorException.class, InvalidTimeWindowException.class})
         public ResponseEntity<Object> handleCustomBadRequestException(Exception e, WebRequest request) {
 
                 ErrorDetails errorDetails = new ErrorDetails(e.getMessage(),
@@ -46,6 +47,16 @@ public class GlobalExceptionHandler {
 
         }
 
+        @ExceptionHandler({PasswordHashingUnavailableException.class, PaymentGatewayException.class})
+        public ResponseEntity<Object> handleServiceUnavailableException(Exception e, WebRequest request) {
+
+                ErrorDetails errorDetails = new ErrorDetails(e.getMessage(),
+                        request.getDescription(false), ZonedDateTime.now());
+
+                return new ResponseEntity<>(errorDetails, HttpStatus.SERVICE_UNAVAILABLE);
+
+        }
+
         @ExceptionHandler({EntityNotFoundException.class, UsernameNotFoundException.class})
         public ResponseEntity<Object> handleNotFoundException(Exception e, WebRequest request) {
 
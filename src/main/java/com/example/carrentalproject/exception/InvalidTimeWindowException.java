@@ -0,0 +1,9 @@
+package com.example.carrentalproject.exception;
+
+public class InvalidTimeWindowException extends RuntimeException {
+
+        public InvalidTimeWindowException(String message) {
+                super(message);
+        }
+
+}
@@ -0,0 +1,9 @@
+package com.example.carrentalproject.exception;
+
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+        public PasswordHashingUnavailableException(String message) {
+                super(message);
+        }
+
+}
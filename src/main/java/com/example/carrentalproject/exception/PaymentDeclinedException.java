@@ -0,0 +1,9 @@
+package com.example.carrentalproject.exception;
+
+public class PaymentDeclinedException extends RuntimeException {
+
+        public PaymentDeclinedException(String message) {
+                super(message);
+        }
+
+}
@@ -0,0 +1,9 @@
+package com.example.carrentalproject.exception;
+
+public class PaymentGatewayException extends RuntimeException {
+
+        public PaymentGatewayException(String message) {
+                super(message);
+        }
+
+}
@@ -2,6 +2,8 @@ package com.example.carrentalproject.filter;
 
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.example.carrentalproject.exception.PasswordHashingUnavailableException;
+import com.example.carrentalproject.security.AppUserDetails;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -21,6 +23,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 @Slf4j
@@ -43,17 +46,37 @@ public class CustomAuthenticationFilter extends UsernamePasswordAuthenticationFi
         String username = request.getParameter("username");
         String password = request.getParameter("password");
         UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(username, password);
-        return authenticationManager.authenticate(authenticationToken);
+        try {
+            return authenticationManager.authenticate(authenticationToken);
+        } catch (RuntimeException e) {
+            PasswordHashingUnavailableException unavailable = hashingUnavailable(e);
+            if(unavailable == null) {
+                throw e;
+            }
+            log.warn("Rejecting login of {}: {}", username, unavailable.getMessage());
+            response.setStatus(SERVICE_UNAVAILABLE.value());
+            Map<String, String> error = new HashMap<>();
+            error.put("error_message", unavailable.getMessage());
+            response.setContentType(APPLICATION_JSON_VALUE);
+            try {
+                new ObjectMapper().writeValue(response.getOutputStream(), error);
+            } catch (IOException ioException) {
+                log.error("Error writing response: {}", ioException.getMessage());
+            }
+            return null;
+        }
     }
 
     @Override
     protected void successfulAuthentication(HttpServletRequest request, HttpServletResponse response, FilterChain chain, Authentication authentication) throws IOException, ServletException {
         User user = (User)authentication.getPrincipal();
+        Long userId = user instanceof AppUserDetails ? ((AppUserDetails) user).getId() : null;
         Algorithm algorithm = Algorithm.HMAC256(secretKey.getBytes());
         String access_token = JWT.create()
                 .withSubject(user.getUsername())
                 .withExpiresAt(new Date(System.currentTimeMillis() + expirationTime))
                 .withIssuer(request.getRequestURL().toString())
+                .withClaim("user_id", userId)
                 .withClaim("roles", user.getAuthorities().stream().map(grantedAuthority -> grantedAuthority.getAuthority()).collect(Collectors.toList()))
                 .sign(algorithm);
 
@@ -63,4 +86,13 @@ public class CustomAuthenticationFilter extends UsernamePasswordAuthenticationFi
         new ObjectMapper().writeValue(response.getOutputStream(), tokens);
     }
 
+    private static PasswordHashingUnavailableException hashingUnavailable(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if(cause instanceof PasswordHashingUnavailableException) {
+                return (PasswordHashingUnavailableException) cause;
+            }
+        }
+        return null;
+    }
+
 }
@@ -0,0 +1,166 @@
+package com.example.carrentalproject.filter;
+
+import com.example.carrentalproject.domain.IdempotentResponse;
+import com.example.carrentalproject.service.IdempotencyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.springframework.http.HttpStatus.CONFLICT;
+import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+/**
+ * Replays the stored response when a POST to an order or delivery endpoint is
+ * retried with the same Idempotency-Key header. A retry that arrives while the
+ * first request is still running waits for it instead of racing it.
+ */
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    private static final Set<String> IDEMPOTENT_PATHS = Set.of("/orders", "/delivery", "/delivery/any", "/delivery/reservation");
+
+    private final IdempotencyService idempotencyService;
+    private final long waitTimeout;
+
+    public IdempotencyFilter(IdempotencyService idempotencyService, long waitTimeout) {
+        this.idempotencyService = idempotencyService;
+        this.waitTimeout = waitTimeout;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod())
+                || !IDEMPOTENT_PATHS.contains(request.getServletPath())
+                || request.getHeader(IDEMPOTENCY_KEY) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+
+        String idempotencyKey = idempotencyKey(request);
+        String requestHash = requestHash(request);
+        while (true) {
+            Optional<IdempotentResponse> stored = idempotencyService.find(idempotencyKey);
+            if(stored.isPresent()) {
+
+                replay(stored.get(), requestHash, response);
+                return;
+            }
+            CompletableFuture<Void> running = idempotencyService.claim(idempotencyKey);
+            if(running == null) {
+
+                // the first request may have completed and released the key between find and claim
+                stored = idempotencyService.find(idempotencyKey);
+                if(stored.isPresent()) {
+
+                    idempotencyService.release(idempotencyKey);
+                    replay(stored.get(), requestHash, response);
+                    return;
+                }
+                break;
+            }
+            try {
+                running.get(waitTimeout, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException | ExecutionException e) {
+                writeError(response, CONFLICT.value(), "Request With This Idempotency Key Is Still Being Processed!");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                writeError(response, CONFLICT.value(), "Request With This Idempotency Key Is Still Being Processed!");
+                return;
+            }
+        }
+
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, responseWrapper);
+            if(responseWrapper.getStatus() < 500) {
+                idempotencyService.complete(IdempotentResponse.builder()
+                        .idempotencyKey(idempotencyKey)
+                        .requestHash(requestHash)
+                        .status(responseWrapper.getStatus())
+                        .contentType(responseWrapper.getContentType())
+                        .body(responseWrapper.getContentAsByteArray())
+                        .createdAt(LocalDateTime.now())
+                        .build());
+            }
+        } finally {
+            idempotencyService.release(idempotencyKey);
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    private void replay(IdempotentResponse stored, String requestHash, HttpServletResponse response) throws IOException {
+        if(!stored.getRequestHash().equals(requestHash)) {
+            writeError(response, UNPROCESSABLE_ENTITY.value(), "Idempotency Key Was Already Used For Another Request!");
+            return;
+        }
+        log.info("Replaying stored response for idempotency key {}", stored.getIdempotencyKey());
+        response.setStatus(stored.getStatus());
+        response.setHeader(IDEMPOTENT_REPLAYED, "true");
+        if(stored.getContentType() != null) {
+            response.setContentType(stored.getContentType());
+        }
+        if(stored.getBody() != null) {
+            response.getOutputStream().write(stored.getBody());
+        }
+    }
+
+    private void writeError(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        Map<String, String> error = new HashMap<>();
+        error.put("error_message", message);
+        response.setContentType(APPLICATION_JSON_VALUE);
+        new ObjectMapper().writeValue(response.getOutputStream(), error);
+    }
+
+    private static String idempotencyKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String principal = authentication != null ? authentication.getName() : "";
+        return sha256(principal + "\n" + request.getServletPath() + "\n" + request.getHeader(IDEMPOTENCY_KEY));
+    }
+
+    private static String requestHash(HttpServletRequest request) {
+        StringBuilder parameters = new StringBuilder();
+        new TreeMap<>(request.getParameterMap()).forEach((name, values) ->
+                parameters.append(name).append('=').append(String.join(",", values)).append('&'));
+        return sha256(parameters.toString());
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.example.carrentalproject.filter;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class JwtTokenVerifier {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final JWTVerifier verifier;
+    private final Cache<ByteBuffer, VerifiedToken> verifiedTokens;
+
+    public JwtTokenVerifier(String secretKey, long maximumSize) {
+        this.verifier = JWT.require(Algorithm.HMAC256(secretKey.getBytes())).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpires())
+                .build();
+    }
+
+    public VerifiedToken verify(String token) {
+        ByteBuffer key = digest(token);
+        VerifiedToken verifiedToken = verifiedTokens.getIfPresent(key);
+        if(verifiedToken != null) {
+            return verifiedToken;
+        }
+        DecodedJWT decodedJWT = verifier.verify(token);
+        String[] roles = decodedJWT.getClaim("roles").asArray(String.class);
+        List<SimpleGrantedAuthority> authorities = new ArrayList<>();
+        if(roles != null) {
+            for (String role : roles) {
+                authorities.add(new SimpleGrantedAuthority(role));
+            }
+        }
+        Instant expiresAt = decodedJWT.getExpiresAt() != null ? decodedJWT.getExpiresAt().toInstant() : null;
+        verifiedToken = new VerifiedToken(decodedJWT.getClaim("user_id").asLong(), decodedJWT.getSubject(),
+                Collections.unmodifiableList(authorities), expiresAt);
+        if(expiresAt != null) {
+            verifiedTokens.put(key, verifiedToken);
+        }
+        return verifiedToken;
+    }
+
+    public long cachedTokens() {
+        return verifiedTokens.estimatedSize();
+    }
+
+    private static ByteBuffer digest(String token) {
+        MessageDigest messageDigest = SHA_256.get();
+        return ByteBuffer.wrap(messageDigest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static class UntilTokenExpires implements Expiry<ByteBuffer, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, VerifiedToken value, long currentTime) {
+            long millis = value.getExpiresAt().toEpochMilli() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0L, millis));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.example.carrentalproject.filter;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+@AllArgsConstructor
+@Getter
+public class VerifiedToken {
+
+    private final Long userId;
+    private final String username;
+    private final List<SimpleGrantedAuthority> authorities;
+    private final Instant expiresAt;
+
+}
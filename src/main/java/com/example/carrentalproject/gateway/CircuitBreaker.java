@@ -0,0 +1,78 @@
+package com.example.carrentalproject.gateway;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Opens after a run of consecutive failures and rejects calls until the open
+ * duration has passed, then lets a single trial call decide whether to close.
+ */
+public class CircuitBreaker {
+
+        public enum State {
+                CLOSED,
+                OPEN,
+                HALF_OPEN
+        }
+
+        private final int failureThreshold;
+        private final long openDuration;
+        private final LongSupplier nanoTime;
+        private State state = State.CLOSED;
+        private int failures;
+        private long openedAt;
+        private boolean trialInFlight;
+
+        public CircuitBreaker(int failureThreshold, long openDuration) {
+                this(failureThreshold, openDuration, System::nanoTime);
+        }
+
+        CircuitBreaker(int failureThreshold, long openDuration, LongSupplier nanoTime) {
+                this.failureThreshold = failureThreshold;
+                this.openDuration = TimeUnit.MILLISECONDS.toNanos(openDuration);
+                this.nanoTime = nanoTime;
+        }
+
+        public synchronized boolean tryAcquire() {
+                switch (state) {
+                        case CLOSED:
+                                return true;
+                        case OPEN:
+                                if(nanoTime.getAsLong() - openedAt < openDuration) {
+
+                                        return false;
+                                }
+                                state = State.HALF_OPEN;
+                                trialInFlight = true;
+                                return true;
+                        default:
+                                if(trialInFlight) {
+
+                                        return false;
+                                }
+                                trialInFlight = true;
+                                return true;
+                }
+        }
+
+        public synchronized void onSuccess() {
+                state = State.CLOSED;
+                failures = 0;
+                trialInFlight = false;
+        }
+
+        public synchronized void onFailure() {
+                trialInFlight = false;
+                if(state == State.HALF_OPEN || ++failures >= failureThreshold) {
+
+                        state = State.OPEN;
+                        openedAt = nanoTime.getAsLong();
+                        failures = 0;
+                }
+        }
+
+        public synchronized State getState() {
+                return state;
+        }
+
+}
@@ -0,0 +1,25 @@
+package com.example.carrentalproject.gateway;
+
+import com.example.carrentalproject.dto.PaymentAuthorization;
+import com.example.carrentalproject.dto.PaymentRequest;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Client of the card payment gateway. Calls never block the caller; failures
+ * complete the returned future exceptionally.
+ */
+public interface PaymentGateway {
+
+        CompletableFuture<PaymentAuthorization> authorize(PaymentRequest request);
+
+        CompletableFuture<Void> settle(List<PaymentAuthorization> authorizations);
+
+        /**
+         * Voids whatever was authorized for these request references. References the
+         * gateway never authorized are ignored.
+         */
+        CompletableFuture<Void> voidAuthorizations(List<String> references);
+
+}
@@ -0,0 +1,115 @@
+package com.example.carrentalproject.gateway;
+
+import com.example.carrentalproject.dto.PaymentAuthorization;
+import com.example.carrentalproject.dto.PaymentRequest;
+import com.example.carrentalproject.exception.PaymentGatewayException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Wraps a gateway client with a bulkhead on concurrent calls, a per-call timeout
+ * and a circuit breaker. Every failure surfaces as PaymentGatewayException.
+ */
+@Slf4j
+public class ResilientPaymentGateway implements PaymentGateway {
+
+        private static final String BUSY_MESSAGE = "Payment Gateway Is Busy, Try Again Later!";
+        private static final String UNAVAILABLE_MESSAGE = "Payment Gateway Is Unavailable, Try Again Later!";
+
+        private final PaymentGateway delegate;
+        private final int maxConcurrentCalls;
+        private final Semaphore bulkhead;
+        private final long timeout;
+        private final CircuitBreaker circuitBreaker;
+        private final Timer authorizeTimer;
+        private final Timer settleTimer;
+        private final Timer voidTimer;
+        private final Counter rejections;
+        private final Counter failures;
+
+        public ResilientPaymentGateway(PaymentGateway delegate, int maxConcurrentCalls, long timeout,
+                                       CircuitBreaker circuitBreaker, MeterRegistry meterRegistry) {
+                this.delegate = delegate;
+                this.maxConcurrentCalls = maxConcurrentCalls;
+                this.bulkhead = new Semaphore(maxConcurrentCalls);
+                this.timeout = timeout;
+                this.circuitBreaker = circuitBreaker;
+                this.authorizeTimer = Timer.builder("payments.gateway")
+                        .tag("operation", "authorize")
+                        .register(meterRegistry);
+                this.settleTimer = Timer.builder("payments.gateway")
+                        .tag("operation", "settle")
+                        .register(meterRegistry);
+                this.voidTimer = Timer.builder("payments.gateway")
+                        .tag("operation", "void")
+                        .register(meterRegistry);
+                this.rejections = Counter.builder("payments.gateway.rejected")
+                        .register(meterRegistry);
+                this.failures = Counter.builder("payments.gateway.failed")
+                        .register(meterRegistry);
+                Gauge.builder("payments.gateway.active", bulkhead, b -> this.maxConcurrentCalls - b.availablePermits())
+                        .register(meterRegistry);
+                Gauge.builder("payments.gateway.circuit.open", circuitBreaker,
+                                breaker -> breaker.getState() == CircuitBreaker.State.CLOSED ? 0 : 1)
+                        .register(meterRegistry);
+        }
+
+        @Override
+        public CompletableFuture<PaymentAuthorization> authorize(PaymentRequest request) {
+                return call(() -> delegate.authorize(request), authorizeTimer);
+        }
+
+        @Override
+        public CompletableFuture<Void> settle(List<PaymentAuthorization> authorizations) {
+                return call(() -> delegate.settle(authorizations), settleTimer);
+        }
+
+        @Override
+        public CompletableFuture<Void> voidAuthorizations(List<String> references) {
+                return call(() -> delegate.voidAuthorizations(references), voidTimer);
+        }
+
+        private <T> CompletableFuture<T> call(Supplier<CompletableFuture<T>> invocation, Timer timer) {
+                if(!bulkhead.tryAcquire()) {
+
+                        rejections.increment();
+                        return CompletableFuture.failedFuture(new PaymentGatewayException(BUSY_MESSAGE));
+                }
+                if(!circuitBreaker.tryAcquire()) {
+
+                        bulkhead.release();
+                        rejections.increment();
+                        return CompletableFuture.failedFuture(new PaymentGatewayException(UNAVAILABLE_MESSAGE));
+                }
+                long began = System.nanoTime();
+                CompletableFuture<T> response;
+                try {
+                        response = invocation.get();
+                } catch (RuntimeException e) {
+                        response = CompletableFuture.failedFuture(e);
+                }
+                return response.orTimeout(timeout, TimeUnit.MILLISECONDS).handle((result, failure) -> {
+                        bulkhead.release();
+                        timer.record(System.nanoTime() - began, TimeUnit.NANOSECONDS);
+                        if(failure == null) {
+
+                                circuitBreaker.onSuccess();
+                                return result;
+                        }
+                        circuitBreaker.onFailure();
+                        failures.increment();
+                        log.debug("Payment gateway call failed", failure);
+                        throw new PaymentGatewayException(UNAVAILABLE_MESSAGE);
+                });
+        }
+
+}
@@ -0,0 +1,80 @@
+package com.example.carrentalproject.gateway;
+
+import com.example.carrentalproject.dto.PaymentAuthorization;
+import com.example.carrentalproject.dto.PaymentRequest;
+import com.example.carrentalproject.exception.PaymentGatewayException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-process gateway that answers after a fixed latency and fails a share of
+ * the calls, for exercising the resilience of the payment pipeline locally.
+ * Non-positive amounts are declined.
+ */
+public class StubPaymentGateway implements PaymentGateway {
+
+        private final ScheduledExecutorService scheduler;
+        private final long latency;
+        private final double failureRate;
+        private final AtomicLong authorizations = new AtomicLong();
+
+        public StubPaymentGateway(long latency, double failureRate) {
+                this.latency = latency;
+                this.failureRate = failureRate;
+                this.scheduler = Executors.newScheduledThreadPool(2, new CustomizableThreadFactory("payment-gateway-stub-"));
+        }
+
+        @Override
+        public CompletableFuture<PaymentAuthorization> authorize(PaymentRequest request) {
+                return respond(() -> {
+                        boolean approved = request.getAmount() != null && request.getAmount() > 0;
+                        return new PaymentAuthorization("stub-" + authorizations.incrementAndGet(), request.getCreditCardId(),
+                                request.getAmount(), approved, approved ? null : "Invalid Amount!");
+                });
+        }
+
+        @Override
+        public CompletableFuture<Void> settle(List<PaymentAuthorization> authorizations) {
+                return respond(() -> null);
+        }
+
+        @Override
+        public CompletableFuture<Void> voidAuthorizations(List<String> references) {
+                return respond(() -> null);
+        }
+
+        public void shutdown() {
+                scheduler.shutdownNow();
+        }
+
+        private <T> CompletableFuture<T> respond(Supplier<T> response) {
+                CompletableFuture<T> future = new CompletableFuture<>();
+                if(latency <= 0) {
+
+                        complete(future, response);
+                } else {
+
+                        scheduler.schedule(() -> complete(future, response), latency, TimeUnit.MILLISECONDS);
+                }
+                return future;
+        }
+
+        private <T> void complete(CompletableFuture<T> future, Supplier<T> response) {
+                if(failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+
+                        future.completeExceptionally(new PaymentGatewayException("Stub Payment Gateway Failure!"));
+                } else {
+
+                        future.complete(response.get());
+                }
+        }
+
+}
@@ -4,4 +4,7 @@ import com.example.carrentalproject.domain.AccessKey;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface AccessKeyRepository extends JpaRepository<AccessKey, Long> {
+
+        long countByCarPackage(String carPackage);
+
 }
@@ -0,0 +1,12 @@
+package com.example.carrentalproject.repository;
+
+import com.example.carrentalproject.domain.BalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, Long> {
+
+        List<BalanceSnapshot> findByCreditCardIdOrderById(Long creditCardId);
+
+}
@@ -0,0 +1,24 @@
+package com.example.carrentalproject.repository;
+
+import com.example.carrentalproject.domain.CarHold;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface CarHoldRepository extends JpaRepository<CarHold, Long> {
+
+        List<CarHold> findByExpiresAtAfter(LocalDateTime time);
+
+        @Query("Select h From CarHold h Where h.expiresAt <= :now Order By h.expiresAt")
+        List<CarHold> findExpired(@Param("now") LocalDateTime now, Pageable page);
+
+        @Modifying(flushAutomatically = true)
+        @Query("Delete From CarHold h Where h.carId = :carId")
+        void remove(@Param("carId") Long carId);
+
+}
@@ -1,12 +1,63 @@
 package com.example.carrentalproject.repository;
 
 import com.example.carrentalproject.domain.CarPackage;
+import com.example.carrentalproject.dto.CarPackageView;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
+import static com.example.carrentalproject.configuration.CacheConfiguration.CAR_PACKAGES;
+import static com.example.carrentalproject.configuration.CacheConfiguration.CAR_PACKAGES_BY_NAME;
+
 public interface CarPackageRepository extends JpaRepository<CarPackage, Long> {
 
         Optional<CarPackage> findByPackageName(String name);
 
+        @Cacheable(CAR_PACKAGES_BY_NAME)
+        @Query("Select new com.example.carrentalproject.dto.CarPackageView(p.id, p.packageName, p.pricePerHour) "
+                + "From CarPackage p Where p.packageName = :name")
+        Optional<CarPackageView> findViewByPackageName(@Param("name") String name);
+
+        @Cacheable(CAR_PACKAGES)
+        @Query("Select new com.example.carrentalproject.dto.CarPackageView(p.id, p.packageName, p.pricePerHour) "
+                + "From CarPackage p Order By p.id")
+        List<CarPackageView> findAllViews();
+
+        @Override
+        @CacheEvict(cacheNames = {CAR_PACKAGES, CAR_PACKAGES_BY_NAME}, allEntries = true)
+        <S extends CarPackage> S save(S carPackage);
+
+        @Override
+        @CacheEvict(cacheNames = {CAR_PACKAGES, CAR_PACKAGES_BY_NAME}, allEntries = true)
+        <S extends CarPackage> S saveAndFlush(S carPackage);
+
+        @Override
+        @CacheEvict(cacheNames = {CAR_PACKAGES, CAR_PACKAGES_BY_NAME}, allEntries = true)
+        <S extends CarPackage> List<S> saveAll(Iterable<S> carPackages);
+
+        @Override
+        @CacheEvict(cacheNames = {CAR_PACKAGES, CAR_PACKAGES_BY_NAME}, allEntries = true)
+        void delete(CarPackage carPackage);
+
+        @Override
+        @CacheEvict(cacheNames = {CAR_PACKAGES, CAR_PACKAGES_BY_NAME}, allEntries = true)
+        void deleteById(Long id);
+
+        @Override
+        @CacheEvict(cacheNames = {CAR_PACKAGES, CAR_PACKAGES_BY_NAME}, allEntries = true)
+        void deleteAll(Iterable<? extends CarPackage> carPackages);
+
+        @Override
+        @CacheEvict(cacheNames = {CAR_PACKAGES, CAR_PACKAGES_BY_NAME}, allEntries = true)
+        void deleteAll();
+
+        @Override
+        @CacheEvict(cacheNames = {CAR_PACKAGES, CAR_PACKAGES_BY_NAME}, allEntries = true)
+        void deleteAllInBatch();
+
 }
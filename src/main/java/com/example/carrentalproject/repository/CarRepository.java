@@ -3,16 +3,39 @@ package com.example.carrentalproject.repository;
 import com.example.carrentalproject.domain.Car;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface CarRepository extends JpaRepository<Car, Long> {
 
-        @Query("Select c From Car c")
-        List<Car> findCars(Pageable page);
+        @Query("Select count(c) From Car c Where c.carPackage.id = :id And c.isAvailable = true")
+        long countAvailableCars(@Param("id") Long carPackageId);
 
-        @Query("Select c From Car c Where c.isAvailable = true")
-        List<Car> findAvailableCars(Pageable page);
+        boolean existsByIdAndIsAvailableTrue(Long id);
+
+        @Query("Select c.id From Car c Where c.carPackage.packageName = :packageName And c.isAvailable = true "
+                + "And c.id > :after Order By c.id")
+        List<Long> findAvailableCarIds(@Param("packageName") String packageName, @Param("after") Long after, Pageable page);
+
+        @Modifying(flushAutomatically = true)
+        @Query("Update Car c Set c.isAvailable = false Where c.id = :id And c.isAvailable = true")
+        int claimCar(@Param("id") Long id);
+
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("Select c From Car c Where c.id In :ids And c.isAvailable = false And Exists "
+                + "(Select o From PlacedOrder o Where o.carId = c.id And o.endTime <= :now And o.startTime = "
+                + "(Select max(p.startTime) From PlacedOrder p Where p.carId = c.id And p.startTime <= :now))")
+        List<Car> findExpiredRentals(@Param("ids") Collection<Long> carIds, @Param("now") LocalDateTime now);
+
+        @Modifying(flushAutomatically = true)
+        @Query("Update Car c Set c.isAvailable = true Where c.id In :ids")
+        int releaseCars(@Param("ids") Collection<Long> carIds);
 
 }
@@ -0,0 +1,13 @@
+package com.example.carrentalproject.repository;
+
+import com.example.carrentalproject.dto.CarSearchCriteria;
+import com.example.carrentalproject.dto.CarView;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public interface CarSearchRepository {
+
+        List<CarView> searchCars(CarSearchCriteria criteria, Pageable page);
+
+}
@@ -0,0 +1,106 @@
+package com.example.carrentalproject.repository;
+
+import com.example.carrentalproject.domain.Car;
+import com.example.carrentalproject.domain.CarPackage;
+import com.example.carrentalproject.domain.CarParameters;
+import com.example.carrentalproject.dto.CarSearchCriteria;
+import com.example.carrentalproject.dto.CarView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CarSearchRepositoryImpl implements CarSearchRepository {
+
+        @PersistenceContext
+        private EntityManager entityManager;
+
+        @Override
+        public List<CarView> searchCars(CarSearchCriteria criteria, Pageable page) {
+                CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+                CriteriaQuery<CarView> query = cb.createQuery(CarView.class);
+                Root<Car> car = query.from(Car.class);
+                Join<Car, CarPackage> carPackage = car.join("carPackage", JoinType.LEFT);
+                Join<Car, CarParameters> carParameters = car.join("carParameters", JoinType.LEFT);
+                query.select(cb.construct(CarView.class,
+                                car.get("id"), car.get("registrationNr"), car.get("brand"), car.get("model"),
+                                car.get("isAvailable"), carPackage.get("id"), carPackage.get("packageName"),
+                                carPackage.get("pricePerHour"), carParameters.get("fuelType"),
+                                carParameters.get("gearBoxType"), carParameters.get("numberOfDoors"),
+                                carParameters.get("numberOfSeats"), carParameters.get("isAirConditioningAvailable")))
+                        .where(predicates(cb, car, carPackage, carParameters, criteria).toArray(new Predicate[0]))
+                        .orderBy(QueryUtils.toOrders(page.getSort(), car, cb));
+                return entityManager.createQuery(query)
+                        .setFirstResult((int) page.getOffset())
+                        .setMaxResults(page.getPageSize())
+                        .getResultList();
+        }
+
+        private static List<Predicate> predicates(CriteriaBuilder cb, Root<Car> car, Join<Car, CarPackage> carPackage,
+                                                  Join<Car, CarParameters> carParameters, CarSearchCriteria criteria) {
+                List<Predicate> predicates = new ArrayList<>();
+                if(criteria.getBrand() != null) {
+
+                        predicates.add(cb.equal(car.get("brand"), criteria.getBrand()));
+                }
+                if(criteria.getModel() != null) {
+
+                        predicates.add(cb.equal(car.get("model"), criteria.getModel()));
+                }
+                if(criteria.getAvailable() != null) {
+
+                        predicates.add(cb.equal(car.get("isAvailable"), criteria.getAvailable()));
+                }
+                if(criteria.getPackageName() != null) {
+
+                        predicates.add(cb.equal(carPackage.get("packageName"), criteria.getPackageName()));
+                }
+                if(criteria.getMinPrice() != null) {
+
+                        predicates.add(cb.greaterThanOrEqualTo(carPackage.<Integer>get("pricePerHour"), criteria.getMinPrice()));
+                }
+                if(criteria.getMaxPrice() != null) {
+
+                        predicates.add(cb.lessThanOrEqualTo(carPackage.<Integer>get("pricePerHour"), criteria.getMaxPrice()));
+                }
+                if(criteria.getFuelType() != null) {
+
+                        predicates.add(cb.equal(carParameters.get("fuelType"), criteria.getFuelType()));
+                }
+                if(criteria.getGearBoxType() != null) {
+
+                        predicates.add(cb.equal(carParameters.get("gearBoxType"), criteria.getGearBoxType()));
+                }
+                if(criteria.getMinSeats() != null) {
+
+                        predicates.add(cb.greaterThanOrEqualTo(carParameters.<Integer>get("numberOfSeats"), criteria.getMinSeats()));
+                }
+                if(criteria.getMaxSeats() != null) {
+
+                        predicates.add(cb.lessThanOrEqualTo(carParameters.<Integer>get("numberOfSeats"), criteria.getMaxSeats()));
+                }
+                if(criteria.getMinDoors() != null) {
+
+                        predicates.add(cb.greaterThanOrEqualTo(carParameters.<Integer>get("numberOfDoors"), criteria.getMinDoors()));
+                }
+                if(criteria.getMaxDoors() != null) {
+
+                        predicates.add(cb.lessThanOrEqualTo(carParameters.<Integer>get("numberOfDoors"), criteria.getMaxDoors()));
+                }
+                if(criteria.getAirConditioning() != null) {
+
+                        predicates.add(cb.equal(carParameters.get("isAirConditioningAvailable"), criteria.getAirConditioning()));
+                }
+                return predicates;
+        }
+
+}
@@ -0,0 +1,44 @@
+package com.example.carrentalproject.repository;
+
+import com.example.carrentalproject.domain.Car;
+import com.example.carrentalproject.dto.CarView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface CarViewRepository extends Repository<Car, Long>, CarSearchRepository {
+
+        String SELECT_VIEW = "Select new com.example.carrentalproject.dto.CarView(c.id, c.registrationNr, c.brand, c.model, "
+                + "c.isAvailable, p.id, p.packageName, p.pricePerHour, cp.fuelType, cp.gearBoxType, cp.numberOfDoors, "
+                + "cp.numberOfSeats, cp.isAirConditioningAvailable) "
+                + "From Car c Left Join c.carPackage p Left Join c.carParameters cp ";
+
+        @Query(SELECT_VIEW)
+        List<CarView> findCars(Pageable page);
+
+        @Query(SELECT_VIEW + "Where c.isAvailable = true")
+        List<CarView> findAvailableCars(Pageable page);
+
+        @Query(SELECT_VIEW + "Where c.id > :lastId")
+        List<CarView> findCarsAfter(@Param("lastId") Long lastId, Pageable page);
+
+        @Query(SELECT_VIEW + "Where c.id < :lastId")
+        List<CarView> findCarsBefore(@Param("lastId") Long lastId, Pageable page);
+
+        @Query(SELECT_VIEW + "Where c.isAvailable = true And c.id > :lastId")
+        List<CarView> findAvailableCarsAfter(@Param("lastId") Long lastId, Pageable page);
+
+        @Query(SELECT_VIEW + "Where c.isAvailable = true And c.id < :lastId")
+        List<CarView> findAvailableCarsBefore(@Param("lastId") Long lastId, Pageable page);
+
+        @Query(SELECT_VIEW + "Where p.packageName = :packageName Order By c.id")
+        List<CarView> findCarsByPackageName(@Param("packageName") String packageName);
+
+        @Query(SELECT_VIEW + "Where c.id = :id")
+        Optional<CarView> findCarById(@Param("id") Long id);
+
+}
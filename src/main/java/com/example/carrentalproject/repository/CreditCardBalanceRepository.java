@@ -0,0 +1,20 @@
+package com.example.carrentalproject.repository;
+
+import com.example.carrentalproject.domain.CreditCard;
+
+public interface CreditCardBalanceRepository {
+
+        boolean debit(CreditCard creditCard, long amount);
+
+        void credit(CreditCard creditCard, long amount);
+
+        void refund(CreditCard creditCard, long amount);
+
+        /**
+         * Writes out pending ledger entries and loads the card's current balance into it.
+         */
+        long balance(CreditCard creditCard);
+
+        int snapshot(Long creditCardId);
+
+}
@@ -0,0 +1,120 @@
+package com.example.carrentalproject.repository;
+
+import com.example.carrentalproject.constant.LedgerEntryType;
+import com.example.carrentalproject.domain.BalanceSnapshot;
+import com.example.carrentalproject.domain.CreditCard;
+import com.example.carrentalproject.domain.LedgerEntry;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+
+/**
+ * Card balances are kept as an append-only ledger. Credits and refunds are plain
+ * inserts that are flushed with the rest of the transaction, so they batch; a
+ * debit locks the card row so that the balance it checks cannot drop before its
+ * own entry is written. Snapshots fold the ledger tail into account_balance so
+ * reading a balance only sums the entries written since. Appends leave the card
+ * entity as loaded; callers that need the new balance read it with balance().
+ */
+@Transactional
+public class CreditCardBalanceRepositoryImpl implements CreditCardBalanceRepository {
+
+        @PersistenceContext
+        private EntityManager entityManager;
+
+        @Override
+        public boolean debit(CreditCard creditCard, long amount) {
+                if(lockedBalance(creditCard.getId()) < amount) {
+
+                        return false;
+                }
+                append(creditCard, LedgerEntryType.DEBIT, -amount);
+                return true;
+        }
+
+        @Override
+        public void credit(CreditCard creditCard, long amount) {
+                append(creditCard, LedgerEntryType.CREDIT, amount);
+        }
+
+        @Override
+        public void refund(CreditCard creditCard, long amount) {
+                append(creditCard, LedgerEntryType.REFUND, amount);
+        }
+
+        @Override
+        public long balance(CreditCard creditCard) {
+                entityManager.flush();
+                if(entityManager.contains(creditCard)) {
+
+                        entityManager.refresh(creditCard);
+                } else {
+
+                        creditCard.setAccountBalance(entityManager.createQuery(
+                                        "Select c.accountBalance From CreditCard c Where c.id = :id", Long.class)
+                                .setParameter("id", creditCard.getId())
+                                .getSingleResult());
+                }
+                return creditCard.getAccountBalance();
+        }
+
+        @Override
+        public int snapshot(Long creditCardId) {
+                lock(creditCardId);
+                BalanceSnapshot snapshot = BalanceSnapshot.builder()
+                        .creditCardId(creditCardId)
+                        .balance(0L)
+                        .entries(0)
+                        .takenAt(LocalDateTime.now())
+                        .build();
+                entityManager.persist(snapshot);
+                int entries = entityManager.createQuery("Update LedgerEntry l Set l.snapshotId = :snapshotId "
+                                + "Where l.creditCardId = :id And l.snapshotId Is Null")
+                        .setParameter("snapshotId", snapshot.getId())
+                        .setParameter("id", creditCardId)
+                        .executeUpdate();
+                if(entries == 0) {
+
+                        entityManager.remove(snapshot);
+                        return 0;
+                }
+                long folded = entityManager.createQuery(
+                                "Select coalesce(sum(l.amount), 0) From LedgerEntry l Where l.snapshotId = :snapshotId", Long.class)
+                        .setParameter("snapshotId", snapshot.getId())
+                        .getSingleResult();
+                entityManager.createNativeQuery("Update credit_card Set account_balance = account_balance + :folded Where id = :id")
+                        .setParameter("folded", folded)
+                        .setParameter("id", creditCardId)
+                        .executeUpdate();
+                snapshot.setBalance(lock(creditCardId));
+                snapshot.setEntries(entries);
+                return entries;
+        }
+
+        private void append(CreditCard creditCard, LedgerEntryType type, long amount) {
+                entityManager.persist(LedgerEntry.builder()
+                        .creditCardId(creditCard.getId())
+                        .type(type)
+                        .amount(amount)
+                        .createdAt(LocalDateTime.now())
+                        .build());
+        }
+
+        private long lockedBalance(Long creditCardId) {
+                long snapshot = lock(creditCardId);
+                Number tail = (Number) entityManager.createNativeQuery("Select coalesce(sum(amount), 0) From ledger_entry "
+                                + "Where credit_card_id = :id And snapshot_id Is Null For Share")
+                        .setParameter("id", creditCardId)
+                        .getSingleResult();
+                return snapshot + tail.longValue();
+        }
+
+        private long lock(Long creditCardId) {
+                return ((Number) entityManager.createNativeQuery("Select account_balance From credit_card Where id = :id For Update")
+                        .setParameter("id", creditCardId)
+                        .getSingleResult()).longValue();
+        }
+
+}
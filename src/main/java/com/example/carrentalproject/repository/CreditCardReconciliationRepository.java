@@ -0,0 +1,16 @@
+package com.example.carrentalproject.repository;
+
+import com.example.carrentalproject.dto.CardBalanceRow;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+public interface CreditCardReconciliationRepository {
+
+        /**
+         * Streams the balance data of cards in the id range. Only orders starting at
+         * or after ledgerCutover are counted, since older ones have no debit entry.
+         */
+        Stream<CardBalanceRow> streamBalances(long fromId, long toId, LocalDateTime ledgerCutover, int fetchSize);
+
+}
@@ -0,0 +1,40 @@
+package com.example.carrentalproject.repository;
+
+import com.example.carrentalproject.dto.CardBalanceRow;
+import org.hibernate.annotations.QueryHints;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+public class CreditCardReconciliationRepositoryImpl implements CreditCardReconciliationRepository {
+
+        @PersistenceContext
+        private EntityManager entityManager;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Stream<CardBalanceRow> streamBalances(long fromId, long toId, LocalDateTime ledgerCutover, int fetchSize) {
+                Stream<Object[]> rows = entityManager.createNativeQuery("Select c.id, c.account_balance, "
+                                + "(Select coalesce(sum(l.amount), 0) From ledger_entry l "
+                                + "Where l.credit_card_id = c.id And l.snapshot_id Is Null), "
+                                + "(Select s.balance From balance_snapshot s Where s.credit_card_id = c.id Order By s.id Desc Limit 1), "
+                                + "(Select count(*) From ledger_entry l Where l.credit_card_id = c.id And l.type = 'DEBIT'), "
+                                + "(Select count(*) From placed_order o Where o.user_id = c.user_id And o.start_time >= :cutover) "
+                                + "From credit_card c Where c.id Between :fromId And :toId Order By c.id")
+                        .setParameter("fromId", fromId)
+                        .setParameter("toId", toId)
+                        .setParameter("cutover", ledgerCutover)
+                        .setHint(QueryHints.FETCH_SIZE, fetchSize)
+                        .setHint(QueryHints.READ_ONLY, true)
+                        .getResultStream();
+                return rows.map(row -> new CardBalanceRow(
+                        toLong(row[0]), toLong(row[1]), toLong(row[2]), toLong(row[3]), toLong(row[4]), toLong(row[5])));
+        }
+
+        private static Long toLong(Object value) {
+                return value != null ? ((Number) value).longValue() : null;
+        }
+
+}
@@ -1,7 +1,35 @@
 package com.example.carrentalproject.repository;
 
 import com.example.carrentalproject.domain.CreditCard;
+import com.example.carrentalproject.dto.CreditCardRef;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface CreditCardRepository extends JpaRepository<CreditCard, Long>, CreditCardBalanceRepository,
+        CreditCardReconciliationRepository {
+
+        boolean existsByCardNumber(Long cardNumber);
+
+        @Query("Select c.cardNumber From CreditCard c")
+        Stream<Long> streamCardNumbers();
+
+        @Query("Select min(c.id) From CreditCard c")
+        Long findMinId();
+
+        @Query("Select max(c.id) From CreditCard c")
+        Long findMaxId();
+
+        @Query("Select new com.example.carrentalproject.dto.CreditCardRef(c.id, c.cardNumber, u.username) "
+                + "From CreditCard c Join c.user u Where u.username In :usernames")
+        List<CreditCardRef> findRefsByUsernames(@Param("usernames") Collection<String> usernames);
+
+        @Query("Select new com.example.carrentalproject.dto.CreditCardRef(c.id, c.cardNumber, u.username) "
+                + "From CreditCard c Left Join c.user u Where c.cardNumber In :cardNumbers")
+        List<CreditCardRef> findRefsByCardNumbers(@Param("cardNumbers") Collection<Long> cardNumbers);
 
-public interface CreditCardRepository extends JpaRepository<CreditCard, Long> {
 }
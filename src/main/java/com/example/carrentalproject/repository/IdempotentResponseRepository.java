@@ -0,0 +1,19 @@
+package com.example.carrentalproject.repository;
+
+import com.example.carrentalproject.domain.IdempotentResponse;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface IdempotentResponseRepository extends JpaRepository<IdempotentResponse, String> {
+
+        @Transactional
+        @Modifying
+        @Query("Delete From IdempotentResponse r Where r.createdAt < :time")
+        int deleteCreatedBefore(@Param("time") LocalDateTime time);
+
+}
@@ -0,0 +1,23 @@
+package com.example.carrentalproject.repository;
+
+import com.example.carrentalproject.domain.LedgerEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long> {
+
+        List<LedgerEntry> findByCreditCardIdOrderById(Long creditCardId);
+
+        @Query("Select l.creditCardId From LedgerEntry l Where l.snapshotId Is Null "
+                + "Group By l.creditCardId Having count(l) >= :minimum Order By count(l) Desc")
+        List<Long> findCardsWithTail(@Param("minimum") long minimum, Pageable page);
+
+        @Query("Select min(l.createdAt) From LedgerEntry l")
+        LocalDateTime findFirstCreatedAt();
+
+}
@@ -1,6 +1,25 @@
 package com.example.carrentalproject.repository;
 
 import com.example.carrentalproject.domain.PlacedOrder;
+import com.example.carrentalproject.dto.ActiveRental;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface OrderRepository extends JpaRepository<PlacedOrder, Long> {}
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderRepository extends JpaRepository<PlacedOrder, Long>, OrderSearchRepository {
+
+        List<PlacedOrder> findByEndTimeAfter(LocalDateTime time);
+
+        @Query("Select new com.example.carrentalproject.dto.ActiveRental(o.carId, o.startTime, o.endTime) "
+                + "From PlacedOrder o, Car c Where c.id = o.carId And c.isAvailable = false And o.endTime > :since "
+                + "And o.startTime = (Select max(p.startTime) From PlacedOrder p Where p.carId = o.carId And p.startTime <= :now)")
+        List<ActiveRental> findActiveRentals(@Param("now") LocalDateTime now, @Param("since") LocalDateTime since);
+
+        @Query("Select new com.example.carrentalproject.dto.ActiveRental(o.carId, o.startTime, o.endTime) "
+                + "From PlacedOrder o, Car c Where c.id = o.carId And c.isAvailable = true And o.endTime > :now")
+        List<ActiveRental> findUpcomingRentals(@Param("now") LocalDateTime now);
+
+}
@@ -0,0 +1,16 @@
+package com.example.carrentalproject.repository;
+
+import com.example.carrentalproject.domain.PlacedOrder;
+import com.example.carrentalproject.dto.OrderSearchCriteria;
+import com.example.carrentalproject.utils.PageCursor;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface OrderSearchRepository {
+
+        List<PlacedOrder> seekOrders(OrderSearchCriteria criteria, PageCursor cursor, int limit);
+
+        Stream<PlacedOrder> streamOrders(OrderSearchCriteria criteria, int fetchSize);
+
+}
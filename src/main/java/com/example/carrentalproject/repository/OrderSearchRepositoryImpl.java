@@ -0,0 +1,80 @@
+package com.example.carrentalproject.repository;
+
+import com.example.carrentalproject.domain.PlacedOrder;
+import com.example.carrentalproject.dto.OrderSearchCriteria;
+import com.example.carrentalproject.utils.PageCursor;
+import org.hibernate.annotations.QueryHints;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class OrderSearchRepositoryImpl implements OrderSearchRepository {
+
+        @PersistenceContext
+        private EntityManager entityManager;
+
+        @Override
+        public List<PlacedOrder> seekOrders(OrderSearchCriteria criteria, PageCursor cursor, int limit) {
+                CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+                CriteriaQuery<PlacedOrder> query = cb.createQuery(PlacedOrder.class);
+                Root<PlacedOrder> order = query.from(PlacedOrder.class);
+                List<Predicate> predicates = predicates(cb, order, criteria);
+                if(cursor.getDirection().isAscending()) {
+
+                        predicates.add(cb.greaterThan(order.get("id"), cursor.getLastId()));
+                        query.orderBy(cb.asc(order.get("id")));
+                } else {
+
+                        predicates.add(cb.lessThan(order.get("id"), cursor.getLastId()));
+                        query.orderBy(cb.desc(order.get("id")));
+                }
+                query.where(predicates.toArray(new Predicate[0]));
+                return entityManager.createQuery(query)
+                        .setMaxResults(limit)
+                        .getResultList();
+        }
+
+        @Override
+        public Stream<PlacedOrder> streamOrders(OrderSearchCriteria criteria, int fetchSize) {
+                CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+                CriteriaQuery<PlacedOrder> query = cb.createQuery(PlacedOrder.class);
+                Root<PlacedOrder> order = query.from(PlacedOrder.class);
+                query.where(predicates(cb, order, criteria).toArray(new Predicate[0]))
+                        .orderBy(cb.asc(order.get("id")));
+                return entityManager.createQuery(query)
+                        .setHint(QueryHints.FETCH_SIZE, fetchSize)
+                        .setHint(QueryHints.READ_ONLY, true)
+                        .getResultStream()
+                        .peek(entityManager::detach);
+        }
+
+        private static List<Predicate> predicates(CriteriaBuilder cb, Root<PlacedOrder> order, OrderSearchCriteria criteria) {
+                List<Predicate> predicates = new ArrayList<>();
+                if(criteria.getUserId() != null) {
+
+                        predicates.add(cb.equal(order.get("userId"), criteria.getUserId()));
+                }
+                if(criteria.getCarId() != null) {
+
+                        predicates.add(cb.equal(order.get("carId"), criteria.getCarId()));
+                }
+                if(criteria.getFrom() != null) {
+
+                        predicates.add(cb.greaterThan(order.<LocalDateTime>get("endTime"), criteria.getFrom()));
+                }
+                if(criteria.getTo() != null) {
+
+                        predicates.add(cb.lessThan(order.<LocalDateTime>get("startTime"), criteria.getTo()));
+                }
+                return predicates;
+        }
+
+}
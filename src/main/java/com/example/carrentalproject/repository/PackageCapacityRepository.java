@@ -0,0 +1,32 @@
+package com.example.carrentalproject.repository;
+
+import com.example.carrentalproject.domain.PackageCapacity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface PackageCapacityRepository extends JpaRepository<PackageCapacity, Long> {
+
+        @Query("Select p.available From PackageCapacity p Where p.carPackageId = :id")
+        Optional<Integer> findAvailable(@Param("id") Long carPackageId);
+
+        @Modifying(flushAutomatically = true)
+        @Query(value = "Insert Into package_capacity (car_package_id, available) Values (:id, :available)", nativeQuery = true)
+        void insert(@Param("id") Long carPackageId, @Param("available") int available);
+
+        @Modifying(flushAutomatically = true)
+        @Query("Update PackageCapacity p Set p.available = p.available - 1 Where p.carPackageId = :id And p.available > 0")
+        int reserve(@Param("id") Long carPackageId);
+
+        @Modifying(flushAutomatically = true)
+        @Query("Update PackageCapacity p Set p.available = p.available + :delta Where p.carPackageId = :id")
+        int adjust(@Param("id") Long carPackageId, @Param("delta") int delta);
+
+        @Modifying(flushAutomatically = true)
+        @Query("Delete From PackageCapacity p Where p.carPackageId = :id")
+        void remove(@Param("id") Long carPackageId);
+
+}
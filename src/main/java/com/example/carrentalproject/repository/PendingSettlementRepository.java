@@ -0,0 +1,17 @@
+package com.example.carrentalproject.repository;
+
+import com.example.carrentalproject.constant.SettlementAction;
+import com.example.carrentalproject.domain.PendingSettlement;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface PendingSettlementRepository extends JpaRepository<PendingSettlement, Long> {
+
+        @Query("Select s From PendingSettlement s Where s.action = :action Order By s.id")
+        List<PendingSettlement> findOldest(@Param("action") SettlementAction action, Pageable page);
+
+}
@@ -1,12 +1,55 @@
 package com.example.carrentalproject.repository;
 
 import com.example.carrentalproject.domain.Role;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
+import static com.example.carrentalproject.configuration.CacheConfiguration.ROLES_BY_NAME;
+
 public interface RoleRepository extends JpaRepository<Role, Long> {
 
         Optional<Role> findByName(String name);
 
+        @Cacheable(ROLES_BY_NAME)
+        @Query("Select r.id From Role r Where r.name = :name")
+        Optional<Long> findIdByName(@Param("name") String name);
+
+        @Override
+        @CacheEvict(cacheNames = ROLES_BY_NAME, allEntries = true)
+        <S extends Role> S save(S role);
+
+        @Override
+        @CacheEvict(cacheNames = ROLES_BY_NAME, allEntries = true)
+        <S extends Role> S saveAndFlush(S role);
+
+        @Override
+        @CacheEvict(cacheNames = ROLES_BY_NAME, allEntries = true)
+        <S extends Role> List<S> saveAll(Iterable<S> roles);
+
+        @Override
+        @CacheEvict(cacheNames = ROLES_BY_NAME, allEntries = true)
+        void delete(Role role);
+
+        @Override
+        @CacheEvict(cacheNames = ROLES_BY_NAME, allEntries = true)
+        void deleteById(Long id);
+
+        @Override
+        @CacheEvict(cacheNames = ROLES_BY_NAME, allEntries = true)
+        void deleteAll(Iterable<? extends Role> roles);
+
+        @Override
+        @CacheEvict(cacheNames = ROLES_BY_NAME, allEntries = true)
+        void deleteAll();
+
+        @Override
+        @CacheEvict(cacheNames = ROLES_BY_NAME, allEntries = true)
+        void deleteAllInBatch();
+
 }
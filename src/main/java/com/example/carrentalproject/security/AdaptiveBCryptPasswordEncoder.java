@@ -0,0 +1,29 @@
+package com.example.carrentalproject.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class AdaptiveBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+        private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2([ayb])?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+
+        private final int strength;
+
+        public AdaptiveBCryptPasswordEncoder(int strength) {
+                super(strength);
+                this.strength = strength;
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+                if(encodedPassword == null) {
+
+                        return false;
+                }
+                Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+                return matcher.matches() && Integer.parseInt(matcher.group(2)) != strength;
+        }
+
+}
@@ -0,0 +1,102 @@
+package com.example.carrentalproject.security;
+
+import com.example.carrentalproject.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+        private static final String BUSY_MESSAGE = "Server Is Busy, Try Again Later!";
+
+        private final PasswordEncoder delegate;
+        private final ThreadPoolExecutor executor;
+        private final long timeout;
+        private final Timer encodeTimer;
+        private final Timer matchesTimer;
+        private final Counter rejections;
+
+        public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long timeout,
+                                      MeterRegistry meterRegistry) {
+                this.delegate = delegate;
+                this.timeout = timeout;
+                this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hashing-"),
+                        new ThreadPoolExecutor.AbortPolicy());
+                this.encodeTimer = Timer.builder("password.hashing")
+                        .tag("operation", "encode")
+                        .register(meterRegistry);
+                this.matchesTimer = Timer.builder("password.hashing")
+                        .tag("operation", "matches")
+                        .register(meterRegistry);
+                this.rejections = Counter.builder("password.hashing.rejected")
+                        .register(meterRegistry);
+                Gauge.builder("password.hashing.queue.size", executor, e -> e.getQueue().size())
+                        .register(meterRegistry);
+                Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                        .register(meterRegistry);
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+                return execute(() -> delegate.encode(rawPassword), encodeTimer);
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return execute(() -> delegate.matches(rawPassword, encodedPassword), matchesTimer);
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+                return delegate.upgradeEncoding(encodedPassword);
+        }
+
+        public void shutdown() {
+                executor.shutdown();
+        }
+
+        private <T> T execute(Callable<T> task, Timer timer) {
+                Future<T> future;
+                try {
+                        future = executor.submit(timer.wrap(task));
+                } catch (RejectedExecutionException e) {
+                        rejections.increment();
+                        throw new PasswordHashingUnavailableException(BUSY_MESSAGE);
+                }
+                try {
+                        return future.get(timeout, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                        future.cancel(true);
+                        throw new PasswordHashingUnavailableException(BUSY_MESSAGE);
+                } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        future.cancel(true);
+                        throw new PasswordHashingUnavailableException(BUSY_MESSAGE);
+                } catch (ExecutionException e) {
+                        Throwable cause = e.getCause();
+                        if(cause instanceof RuntimeException) {
+
+                                throw (RuntimeException) cause;
+                        }
+                        if(cause instanceof Error) {
+
+                                throw (Error) cause;
+                        }
+                        throw new IllegalStateException(cause);
+                }
+        }
+
+}
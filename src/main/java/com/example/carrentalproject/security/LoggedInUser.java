@@ -5,21 +5,61 @@ import com.example.carrentalproject.repository.UserRepository;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 
 @Service
 public class LoggedInUser {
 
+        private static final String USER_ATTRIBUTE = LoggedInUser.class.getName() + ".USER";
+
         private final UserRepository userRepository;
+        private final UserIdCache userIdCache;
+
+        @PersistenceContext
+        private EntityManager entityManager;
 
-        public LoggedInUser(UserRepository userRepository) {
+        public LoggedInUser(UserRepository userRepository, UserIdCache userIdCache) {
                 this.userRepository = userRepository;
+                this.userIdCache = userIdCache;
         }
 
         public User getUser() {
 
                 Authentication principal = SecurityContextHolder.getContext().getAuthentication();
-                String username = principal.getName();
-                return userRepository.findByUsername(username).orElseThrow();
+                RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+                if(requestAttributes != null) {
+
+                        User user = (User) requestAttributes.getAttribute(USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+                        if(user != null && user.getUsername().equals(principal.getName()) && entityManager.contains(user)) {
+
+                                return user;
+                        }
+                }
+                User user = userRepository.findById(userId(principal)).orElseThrow();
+                if(requestAttributes != null) {
+
+                        requestAttributes.setAttribute(USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+                }
+                return user;
+
+        }
+
+        private Long userId(Authentication principal) {
+
+                if(principal.getDetails() instanceof Long) {
+
+                        return (Long) principal.getDetails();
+                }
+                if(principal.getPrincipal() instanceof AppUserDetails) {
+
+                        return ((AppUserDetails) principal.getPrincipal()).getId();
+                }
+                return userIdCache.getUserId(principal.getName(),
+                        username -> userRepository.findByUsername(username).orElseThrow().getId());
 
         }
 
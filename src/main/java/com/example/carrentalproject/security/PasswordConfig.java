@@ -1,16 +1,21 @@
 package com.example.carrentalproject.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 public class PasswordConfig {
 
         @Bean
-        public PasswordEncoder passwordEncoder() {
-                return new BCryptPasswordEncoder(10);
+        public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                               @Value("${password.bcrypt.strength:10}") int strength,
+                                               @Value("${password.hashing.threads:4}") int threads,
+                                               @Value("${password.hashing.queueCapacity:64}") int queueCapacity,
+                                               @Value("${password.hashing.timeout:5000}") long timeout) {
+                return new BoundedPasswordEncoder(new AdaptiveBCryptPasswordEncoder(strength), threads, queueCapacity, timeout, meterRegistry);
         }
 
 }
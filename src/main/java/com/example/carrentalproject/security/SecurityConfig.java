@@ -2,6 +2,9 @@ package com.example.carrentalproject.security;
 
 import com.example.carrentalproject.filter.CustomAuthenticationFilter;
 import com.example.carrentalproject.filter.CustomAuthorizationFilter;
+import com.example.carrentalproject.filter.IdempotencyFilter;
+import com.example.carrentalproject.filter.JwtTokenVerifier;
+import com.example.carrentalproject.service.IdempotencyService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,6 +16,7 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.access.intercept.FilterSecurityInterceptor;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.authentication.www.BasicAuthenticationEntryPoint;
 
@@ -26,15 +30,24 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
         private final PasswordEncoder passwordEncoder;
         private final long expirationTime;
         private final String secretKey;
+        private final long tokenCacheSize;
+        private final IdempotencyService idempotencyService;
+        private final long idempotencyWaitTimeout;
 
         public SecurityConfig(UserDetailsService userDetailsService,
                               PasswordEncoder passwordEncoder,
                               @Value("${jwt.expirationTime}") long expirationTime,
-                              @Value("${jwt.secretKey}") String secretKey) {
+                              @Value("${jwt.secretKey}") String secretKey,
+                              @Value("${jwt.tokenCacheSize:10000}") long tokenCacheSize,
+                              IdempotencyService idempotencyService,
+                              @Value("${idempotency.waitTimeout:10000}") long idempotencyWaitTimeout) {
                 this.userDetailsService = userDetailsService;
                 this.passwordEncoder = passwordEncoder;
                 this.expirationTime = expirationTime;
                 this.secretKey = secretKey;
+                this.tokenCacheSize = tokenCacheSize;
+                this.idempotencyService = idempotencyService;
+                this.idempotencyWaitTimeout = idempotencyWaitTimeout;
         }
 
         private static final String[] AUTH_WHITELIST = {
@@ -58,6 +71,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 http.authorizeRequests().antMatchers(AUTH_WHITELIST).permitAll()
                         .and().httpBasic().authenticationEntryPoint(swaggerAuthenticationEntryPoint());
                 http.authorizeRequests().antMatchers("/login").permitAll()
+                        .antMatchers("/actuator/**").hasAnyAuthority("ROLE_ADMIN")
                         .antMatchers(HttpMethod.DELETE, "/users/**").hasAnyAuthority("ROLE_ADMIN")
                         .antMatchers(HttpMethod.PUT, "/users/**").hasAnyAuthority("ROLE_ADMIN")
                         .antMatchers(HttpMethod.POST, "/users/**").hasAnyAuthority("ROLE_MANAGER")
@@ -66,14 +80,17 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                         .antMatchers(HttpMethod.PUT, "/cars/**").hasAnyAuthority("ROLE_ADMIN")
                         .antMatchers(HttpMethod.POST, "/cars/**").hasAnyAuthority("ROLE_MANAGER")
                         .antMatchers(HttpMethod.GET, "/cars/**").hasAnyAuthority("ROLE_USER")
-                        .antMatchers(HttpMethod.GET, "/orders").hasAnyAuthority("ROLE_MANAGER")
+                        .antMatchers(HttpMethod.GET, "/orders", "/orders/export").hasAnyAuthority("ROLE_MANAGER")
                         .antMatchers(HttpMethod.POST, "/orders").hasAnyAuthority("ROLE_USER")
+                        .antMatchers(HttpMethod.POST, "/payment/moneyTransfer/batch").hasAnyAuthority("ROLE_ADMIN")
+                        .antMatchers(HttpMethod.GET, "/payment/reconciliation").hasAnyAuthority("ROLE_ADMIN")
                         .antMatchers( "/payment/**", "/delivery/**").hasAnyAuthority("ROLE_USER")
                         .antMatchers("/registration/**").permitAll()
                         .anyRequest().authenticated()
                         .and().logout().logoutSuccessUrl("/login");
                 http.addFilter(new CustomAuthenticationFilter(authenticationManagerBean(), expirationTime, secretKey));
-                http.addFilterBefore(new CustomAuthorizationFilter(secretKey), UsernamePasswordAuthenticationFilter.class);
+                http.addFilterBefore(new CustomAuthorizationFilter(new JwtTokenVerifier(secretKey, tokenCacheSize)), UsernamePasswordAuthenticationFilter.class);
+                http.addFilterAfter(new IdempotencyFilter(idempotencyService, idempotencyWaitTimeout), FilterSecurityInterceptor.class);
         }
 
 
@@ -0,0 +1,74 @@
+package com.example.carrentalproject.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+@Component
+public class UserDetailsCache {
+
+        private final Cache<String, Entry> userDetails;
+        private final Counter invalidations;
+
+        public UserDetailsCache(MeterRegistry meterRegistry,
+                                @Value("${users.detailsCache.expirationTime:300000}") long expirationTime,
+                                @Value("${users.detailsCache.maximumSize:10000}") long maximumSize) {
+                this.userDetails = Caffeine.newBuilder()
+                        .maximumSize(maximumSize)
+                        .expireAfterWrite(Duration.ofMillis(expirationTime))
+                        .recordStats()
+                        .build();
+                this.invalidations = Counter.builder("cache.invalidations")
+                        .tag("cache", "userDetails")
+                        .register(meterRegistry);
+                CaffeineCacheMetrics.monitor(meterRegistry, userDetails, "userDetails");
+        }
+
+        public AppUserDetails get(String username) {
+                Entry entry = userDetails.getIfPresent(username);
+                return entry != null
+                        ? new AppUserDetails(entry.getId(), entry.getUsername(), entry.getPassword(), entry.getAuthorities())
+                        : null;
+        }
+
+        public void put(AppUserDetails appUserDetails) {
+                userDetails.put(appUserDetails.getUsername(), new Entry(appUserDetails.getId(), appUserDetails.getUsername(),
+                        appUserDetails.getPassword(), List.copyOf(appUserDetails.getAuthorities())));
+        }
+
+        public void evict(String username) {
+                if(userDetails.asMap().remove(username) != null) {
+
+                        invalidations.increment();
+                }
+        }
+
+        public void evict(Long userId) {
+                if(userDetails.asMap().values().removeIf(entry -> entry.getId().equals(userId))) {
+
+                        invalidations.increment();
+                }
+        }
+
+        @AllArgsConstructor
+        @Getter
+        private static class Entry {
+
+                private final Long id;
+                private final String username;
+                private final String password;
+                private final List<GrantedAuthority> authorities;
+
+        }
+
+}
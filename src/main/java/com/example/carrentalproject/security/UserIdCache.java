@@ -0,0 +1,36 @@
+package com.example.carrentalproject.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+@Component
+public class UserIdCache {
+
+        private final Cache<String, Long> userIds;
+
+        public UserIdCache(@Value("${users.idCache.expirationTime:0}") long expirationTime,
+                           @Value("${users.idCache.maximumSize:10000}") long maximumSize) {
+                this.userIds = expirationTime > 0
+                        ? Caffeine.newBuilder()
+                                .maximumSize(maximumSize)
+                                .expireAfterWrite(Duration.ofMillis(expirationTime))
+                                .build()
+                        : null;
+        }
+
+        public Long getUserId(String username, Function<String, Long> loader) {
+                return userIds != null ? userIds.get(username, loader) : loader.apply(username);
+        }
+
+        public void evict(Long userId) {
+                if(userIds != null) {
+                        userIds.asMap().values().removeIf(userId::equals);
+                }
+        }
+
+}
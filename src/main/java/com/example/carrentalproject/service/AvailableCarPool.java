@@ -0,0 +1,77 @@
+package com.example.carrentalproject.service;
+
+import com.example.carrentalproject.repository.CarRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Hands out ids of available cars per package. Ids are only candidates: the
+ * caller still has to claim the car, and an id that fails its claim is dropped.
+ * Refills page through the package by id, so cars that stay available but cannot
+ * be claimed (held or booked) do not hide the ones after them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AvailableCarPool {
+
+        /**
+         * Most ids a caller takes from the pool for one request, so a pool that keeps
+         * handing out ids that cannot be claimed does not spin the request forever.
+         */
+        public static final int MAX_POLLS = 100;
+
+        private final CarRepository carRepository;
+        private final Map<String, Deque<Long>> pools = new ConcurrentHashMap<>();
+        private final Map<String, Long> cursors = new ConcurrentHashMap<>();
+
+        @Value("${cars.pool.refillSize:50}")
+        private int refillSize = 50;
+
+        public Long poll(String packageName) {
+                return pool(packageName).pollFirst();
+        }
+
+        public void offer(String packageName, Long carId) {
+                pool(packageName).offerLast(carId);
+        }
+
+        /**
+         * Loads the next page of available cars after the last one loaded. Returns
+         * false once the end of the package is reached; the refill after that starts
+         * again from its first car.
+         */
+        public boolean refill(String packageName) {
+                Deque<Long> pool = pool(packageName);
+                synchronized (pool) {
+                        if(pool.isEmpty()) {
+
+                                List<Long> carIds = carRepository.findAvailableCarIds(packageName,
+                                        cursors.getOrDefault(packageName, 0L), PageRequest.of(0, refillSize));
+                                if(carIds.isEmpty()) {
+
+                                        cursors.remove(packageName);
+                                        return false;
+                                }
+                                cursors.put(packageName, carIds.get(carIds.size() - 1));
+                                log.info("Refilling pool of package {} with {} cars", packageName, carIds.size());
+                                pool.addAll(carIds);
+                        }
+                        return true;
+                }
+        }
+
+        private Deque<Long> pool(String packageName) {
+                return pools.computeIfAbsent(packageName, name -> new ConcurrentLinkedDeque<>());
+        }
+
+}
@@ -0,0 +1,242 @@
+package com.example.carrentalproject.service;
+
+import com.example.carrentalproject.constant.DiscrepancyType;
+import com.example.carrentalproject.dto.BalanceDiscrepancy;
+import com.example.carrentalproject.dto.CardBalanceRow;
+import com.example.carrentalproject.repository.CreditCardRepository;
+import com.example.carrentalproject.repository.LedgerEntryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Checks every credit card balance against its ledger, its latest snapshot and
+ * the orders its owner placed since the ledger was introduced. The card id
+ * range is split on a fork-join pool into partitions of at most partitionSize
+ * ids, each streamed in its own read-only transaction, so memory does not grow
+ * with the number of cards.
+ */
+@Service
+@Slf4j
+public class BalanceReconciliationService {
+
+        private final CreditCardRepository creditCardRepository;
+        private final LedgerEntryRepository ledgerEntryRepository;
+        private final ObjectMapper objectMapper;
+        private final TransactionTemplate transactionTemplate;
+        private final int parallelism;
+        private final long partitionSize;
+        private final int fetchSize;
+        private final Counter cards;
+        private final Map<DiscrepancyType, Counter> discrepancies = new EnumMap<>(DiscrepancyType.class);
+        private final Timer duration;
+        private final AtomicBoolean running = new AtomicBoolean();
+        private final AtomicLong idsCovered = new AtomicLong();
+        private final AtomicLong cardsChecked = new AtomicLong();
+        private volatile long idsTotal;
+        private volatile long startedAt;
+        private volatile long finishedAt;
+
+        public BalanceReconciliationService(CreditCardRepository creditCardRepository,
+                                            LedgerEntryRepository ledgerEntryRepository, ObjectMapper objectMapper,
+                                            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                            @Value("${reconciliation.parallelism:4}") int parallelism,
+                                            @Value("${reconciliation.partitionSize:10000}") long partitionSize,
+                                            @Value("${reconciliation.fetchSize:500}") int fetchSize) {
+                this.creditCardRepository = creditCardRepository;
+                this.ledgerEntryRepository = ledgerEntryRepository;
+                this.objectMapper = objectMapper;
+                this.transactionTemplate = new TransactionTemplate(transactionManager);
+                this.transactionTemplate.setReadOnly(true);
+                this.parallelism = parallelism;
+                this.partitionSize = partitionSize;
+                this.fetchSize = fetchSize;
+                this.cards = Counter.builder("reconciliation.cards")
+                        .register(meterRegistry);
+                for (DiscrepancyType type : DiscrepancyType.values()) {
+                        discrepancies.put(type, Counter.builder("reconciliation.discrepancies")
+                                .tag("type", type.name())
+                                .register(meterRegistry));
+                }
+                this.duration = Timer.builder("reconciliation.duration")
+                        .register(meterRegistry);
+                Gauge.builder("reconciliation.progress", this, BalanceReconciliationService::progress)
+                        .register(meterRegistry);
+                Gauge.builder("reconciliation.throughput", this, BalanceReconciliationService::throughput)
+                        .register(meterRegistry);
+        }
+
+        @Scheduled(cron = "${reconciliation.cron:0 0 3 * * *}")
+        public void reconcileNightly() {
+                reconcile(discrepancy -> log.warn("Balance discrepancy {}", discrepancy));
+        }
+
+        public long reconcile(OutputStream out) {
+                return reconcile(discrepancy -> writeLine(discrepancy, out));
+        }
+
+        public long reconcile(Consumer<BalanceDiscrepancy> sink) {
+                acquire();
+                return reconcileAcquired(sink);
+        }
+
+        /**
+         * Claims the single reconciliation run without starting it, so a streaming
+         * caller can reject a concurrent run before any output is written. The claim
+         * is released by the reconcileAcquired call that must follow.
+         */
+        public void acquire() {
+                if(!running.compareAndSet(false, true)) {
+
+                        throw new IllegalCallerException("Balance Reconciliation Is Already Running!");
+                }
+        }
+
+        public long reconcileAcquired(OutputStream out) {
+                return reconcileAcquired(discrepancy -> writeLine(discrepancy, out));
+        }
+
+        private long reconcileAcquired(Consumer<BalanceDiscrepancy> sink) {
+                ForkJoinPool pool = new ForkJoinPool(parallelism);
+                try {
+                        Long minId = creditCardRepository.findMinId();
+                        Long maxId = creditCardRepository.findMaxId();
+                        if(minId == null) {
+
+                                return 0;
+                        }
+                        // orders placed before the first ledger entry were never debited through it
+                        LocalDateTime firstEntry = ledgerEntryRepository.findFirstCreatedAt();
+                        LocalDateTime cutover = firstEntry != null ? firstEntry : LocalDateTime.now();
+                        idsTotal = maxId - minId + 1;
+                        idsCovered.set(0);
+                        cardsChecked.set(0);
+                        startedAt = System.nanoTime();
+                        finishedAt = 0;
+                        Consumer<BalanceDiscrepancy> serialSink = discrepancy -> {
+                                synchronized (sink) {
+                                        sink.accept(discrepancy);
+                                }
+                        };
+                        long found = pool.invoke(new Partition(minId, maxId, cutover, serialSink));
+                        finishedAt = System.nanoTime();
+                        duration.record(finishedAt - startedAt, TimeUnit.NANOSECONDS);
+                        log.info("Reconciled {} credit cards, found {} discrepancies", cardsChecked.get(), found);
+                        return found;
+                } finally {
+                        pool.shutdown();
+                        running.set(false);
+                }
+        }
+
+        private long reconcileRange(long fromId, long toId, LocalDateTime cutover, Consumer<BalanceDiscrepancy> sink) {
+                Long found = transactionTemplate.execute(status -> {
+                        try (Stream<CardBalanceRow> rows = creditCardRepository.streamBalances(fromId, toId, cutover, fetchSize)) {
+                                return rows.mapToLong(row -> check(row, sink)).sum();
+                        }
+                });
+                idsCovered.addAndGet(toId - fromId + 1);
+                return found;
+        }
+
+        private long check(CardBalanceRow row, Consumer<BalanceDiscrepancy> sink) {
+                cards.increment();
+                cardsChecked.incrementAndGet();
+                long found = 0;
+                long balance = row.getAccountBalance() + row.getTail();
+                if(balance < 0) {
+
+                        found += report(sink, new BalanceDiscrepancy(row.getCreditCardId(), DiscrepancyType.NEGATIVE_BALANCE, 0L, balance));
+                }
+                if(row.getSnapshotBalance() != null && !row.getSnapshotBalance().equals(row.getAccountBalance())) {
+
+                        found += report(sink, new BalanceDiscrepancy(row.getCreditCardId(), DiscrepancyType.SNAPSHOT_MISMATCH,
+                                row.getSnapshotBalance(), row.getAccountBalance()));
+                }
+                if(row.getOrders() > row.getDebits()) {
+
+                        found += report(sink, new BalanceDiscrepancy(row.getCreditCardId(), DiscrepancyType.UNPAID_ORDERS,
+                                row.getDebits(), row.getOrders()));
+                }
+                return found;
+        }
+
+        private long report(Consumer<BalanceDiscrepancy> sink, BalanceDiscrepancy discrepancy) {
+                discrepancies.get(discrepancy.getType()).increment();
+                sink.accept(discrepancy);
+                return 1;
+        }
+
+        private double progress() {
+                return idsTotal == 0 ? 0 : (double) idsCovered.get() / idsTotal;
+        }
+
+        private double throughput() {
+                if(startedAt == 0) {
+
+                        return 0;
+                }
+                long end = finishedAt != 0 ? finishedAt : System.nanoTime();
+                return cardsChecked.get() / Math.max(1e-9, (end - startedAt) / 1e9);
+        }
+
+        private void writeLine(BalanceDiscrepancy discrepancy, OutputStream out) {
+                try {
+                        out.write(objectMapper.writeValueAsBytes(discrepancy));
+                        out.write('\n');
+                } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                }
+        }
+
+        private class Partition extends RecursiveTask<Long> {
+
+                private final long fromId;
+                private final long toId;
+                private final LocalDateTime cutover;
+                private final Consumer<BalanceDiscrepancy> sink;
+
+                Partition(long fromId, long toId, LocalDateTime cutover, Consumer<BalanceDiscrepancy> sink) {
+                        this.fromId = fromId;
+                        this.toId = toId;
+                        this.cutover = cutover;
+                        this.sink = sink;
+                }
+
+                @Override
+                protected Long compute() {
+                        if(toId - fromId + 1 <= partitionSize) {
+
+                                return reconcileRange(fromId, toId, cutover, sink);
+                        }
+                        long middle = fromId + (toId - fromId) / 2;
+                        Partition lower = new Partition(fromId, middle, cutover, sink);
+                        lower.fork();
+                        return new Partition(middle + 1, toId, cutover, sink).compute() + lower.join();
+                }
+
+        }
+
+}
@@ -0,0 +1,114 @@
+package com.example.carrentalproject.service;
+
+import com.example.carrentalproject.dto.CarSearchCriteria;
+import com.example.carrentalproject.dto.CarView;
+import com.example.carrentalproject.dto.CursorPage;
+import com.example.carrentalproject.exception.InvalidTimeWindowException;
+import com.example.carrentalproject.repository.CarViewRepository;
+import com.example.carrentalproject.utils.PageCursor;
+import com.example.carrentalproject.utils.PageValidator;
+import com.example.carrentalproject.utils.SortValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityNotFoundException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional(readOnly = true)
+@Slf4j
+public class CarCatalogService {
+
+        private final CarViewRepository carViewRepository;
+        private final CarScheduleService carScheduleService;
+        private final int pageSize;
+
+        public CarCatalogService(CarViewRepository carViewRepository, CarScheduleService carScheduleService,
+                                 @Value("${cars.pageSize:10}") int pageSize) {
+                if(pageSize <= 0) {
+
+                        throw new IllegalArgumentException("Car page size must be positive, got " + pageSize);
+                }
+                this.carViewRepository = carViewRepository;
+                this.carScheduleService = carScheduleService;
+                this.pageSize = pageSize;
+        }
+
+        public List<CarView> getAllCars(Integer page, Sort.Direction sort) {
+                log.info("Fetching all cars");
+                int pageNumber = PageValidator.pageNumber(page);
+                Sort.Direction sortDirection = SortValidator.sortDirection(sort);
+                return carViewRepository.findCars(PageRequest.of(pageNumber - 1, pageSize, Sort.by(sortDirection, "id")));
+        }
+
+        public List<CarView> getAvailableCars(Integer page, Sort.Direction sort) {
+                log.info("Fetching available cars");
+                int pageNumber = PageValidator.pageNumber(page);
+                Sort.Direction sortDirection = SortValidator.sortDirection(sort);
+                return carViewRepository.findAvailableCars(PageRequest.of(pageNumber - 1, pageSize, Sort.by(sortDirection, "id")));
+        }
+
+        public CursorPage<CarView> seekCars(String cursor, Sort.Direction sort) {
+                log.info("Fetching cars from cursor {}", cursor);
+                PageCursor pageCursor = cursor != null ? PageCursor.decode(cursor) : PageCursor.first(sort);
+                List<CarView> cars = pageCursor.getDirection().isAscending()
+                        ? carViewRepository.findCarsAfter(pageCursor.getLastId(), seekPage(pageCursor))
+                        : carViewRepository.findCarsBefore(pageCursor.getLastId(), seekPage(pageCursor));
+                return cursorPage(cars, pageCursor.getDirection());
+        }
+
+        public CursorPage<CarView> seekAvailableCars(String cursor, Sort.Direction sort) {
+                log.info("Fetching available cars from cursor {}", cursor);
+                PageCursor pageCursor = cursor != null ? PageCursor.decode(cursor) : PageCursor.first(sort);
+                List<CarView> cars = pageCursor.getDirection().isAscending()
+                        ? carViewRepository.findAvailableCarsAfter(pageCursor.getLastId(), seekPage(pageCursor))
+                        : carViewRepository.findAvailableCarsBefore(pageCursor.getLastId(), seekPage(pageCursor));
+                return cursorPage(cars, pageCursor.getDirection());
+        }
+
+        public List<CarView> searchCars(CarSearchCriteria criteria, Integer page, Sort.Direction sort) {
+                log.info("Searching cars matching {}", criteria);
+                int pageNumber = PageValidator.pageNumber(page);
+                Sort.Direction sortDirection = SortValidator.sortDirection(sort);
+                return carViewRepository.searchCars(criteria, PageRequest.of(pageNumber - 1, pageSize, Sort.by(sortDirection, "id")));
+        }
+
+        public List<CarView> getFreeCars(String carPackage, LocalDateTime from, LocalDateTime to) {
+                log.info("Fetching cars of package {} free between {} and {}", carPackage, from, to);
+                if(!from.isBefore(to)) {
+
+                        throw new InvalidTimeWindowException("Start Of The Time Window Must Be Before Its End!");
+                }
+                return carViewRepository.findCarsByPackageName(carPackage).stream()
+                        .filter(car -> carScheduleService.isFree(car.getId(), from, to))
+                        .collect(Collectors.toList());
+        }
+
+        public CarView getCar(Long id) {
+                log.info("Fetching car with id {}", id);
+                return carViewRepository.findCarById(id)
+                        .orElseThrow(() -> new EntityNotFoundException("Car With This ID Does Not Exists!"));
+        }
+
+        private PageRequest seekPage(PageCursor pageCursor) {
+                return PageRequest.of(0, pageSize + 1, Sort.by(pageCursor.getDirection(), "id"));
+        }
+
+        private CursorPage<CarView> cursorPage(List<CarView> cars, Sort.Direction direction) {
+                if(cars.size() <= pageSize) {
+
+                        return new CursorPage<>(cars, null);
+                }
+                List<CarView> content = new ArrayList<>(cars.subList(0, pageSize));
+                Long lastId = content.get(pageSize - 1).getId();
+                return new CursorPage<>(content, new PageCursor(direction, lastId).encode());
+        }
+
+}
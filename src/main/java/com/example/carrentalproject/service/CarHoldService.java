@@ -0,0 +1,170 @@
+package com.example.carrentalproject.service;
+
+import com.example.carrentalproject.domain.CarHold;
+import com.example.carrentalproject.domain.User;
+import com.example.carrentalproject.repository.CarHoldRepository;
+import com.example.carrentalproject.repository.CarRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds a concrete car for a user between placing an order and picking the car
+ * up. Holds are kept in memory by car id and mirrored in the car_hold table, from
+ * which they are restored on startup and swept once they expire.
+ */
+@Service
+@Slf4j
+public class CarHoldService {
+
+        private final CarHoldRepository carHoldRepository;
+        private final CarRepository carRepository;
+        private final AvailableCarPool availableCarPool;
+        private final WaitlistService waitlistService;
+        private final Duration holdTime;
+        private final int batchSize;
+        private final Map<Long, CarHold> holds = new ConcurrentHashMap<>();
+        private final Map<Long, Long> heldCars = new ConcurrentHashMap<>();
+
+        public CarHoldService(CarHoldRepository carHoldRepository, CarRepository carRepository,
+                              AvailableCarPool availableCarPool, WaitlistService waitlistService,
+                              @Value("${holds.holdTime:900000}") long holdTime,
+                              @Value("${holds.batchSize:100}") int batchSize) {
+                this.carHoldRepository = carHoldRepository;
+                this.carRepository = carRepository;
+                this.availableCarPool = availableCarPool;
+                this.waitlistService = waitlistService;
+                this.holdTime = Duration.ofMillis(holdTime);
+                this.batchSize = batchSize;
+        }
+
+        @EventListener(ApplicationReadyEvent.class)
+        @Transactional(readOnly = true)
+        public void rebuild() {
+                holds.clear();
+                heldCars.clear();
+                List<CarHold> active = carHoldRepository.findByExpiresAtAfter(LocalDateTime.now());
+                active.forEach(hold -> {
+                        holds.put(hold.getCarId(), hold);
+                        heldCars.put(hold.getUserId(), hold.getCarId());
+                });
+                log.info("Restored {} car holds", active.size());
+        }
+
+        public CarHold place(User user, String packageName) {
+                release(user.getId(), null);
+                int ends = 0;
+                for (int polls = 0; polls < AvailableCarPool.MAX_POLLS; polls++) {
+                        Long carId = availableCarPool.poll(packageName);
+                        if(carId == null) {
+
+                                if(!availableCarPool.refill(packageName) && ++ends > 1) {
+
+                                        break;
+                                }
+                        } else if(!waitlistService.isHeldForAnother(carId, user.getId())
+                                && carRepository.existsByIdAndIsAvailableTrue(carId)) {
+
+                                CarHold hold = new CarHold(carId, user.getId(), packageName, LocalDateTime.now().plus(holdTime));
+                                if(holds.putIfAbsent(carId, hold) == null) {
+
+                                        heldCars.put(user.getId(), carId);
+                                        reclaimOnRollback(hold);
+                                        carHoldRepository.save(hold);
+                                        log.info("Car with id {} is held for user {} until {}", carId, user.getId(), hold.getExpiresAt());
+                                        return hold;
+                                }
+                        }
+                }
+                return null;
+        }
+
+        public Long heldCarOf(Long userId) {
+                return heldCars.get(userId);
+        }
+
+        public boolean isHeldForAnother(Long carId, Long userId) {
+                CarHold hold = holds.get(carId);
+                return hold != null && hold.getExpiresAt().isAfter(LocalDateTime.now()) && !hold.getUserId().equals(userId);
+        }
+
+        /**
+         * Drops the hold of a user who has just rented a car or is about to place a
+         * new hold. A hold on a different car than the one rented is handed on as if
+         * it had expired.
+         */
+        public void release(Long userId, Long rentedCarId) {
+                Long carId = heldCars.remove(userId);
+                if(carId == null) {
+
+                        return;
+                }
+                CarHold hold = holds.remove(carId);
+                carHoldRepository.remove(carId);
+                if(hold != null && !carId.equals(rentedCarId)) {
+
+                        reoffer(hold);
+                }
+        }
+
+        @Scheduled(fixedDelayString = "${holds.sweepInterval:10000}")
+        public void sweep() {
+                List<CarHold> expired;
+                do {
+                        expired = carHoldRepository.findExpired(LocalDateTime.now(), PageRequest.of(0, batchSize));
+                        if(!expired.isEmpty()) {
+
+                                carHoldRepository.deleteAllInBatch(expired);
+                                expired.forEach(this::reclaim);
+                                log.info("Reclaimed {} expired car holds", expired.size());
+                        }
+                } while (expired.size() == batchSize);
+        }
+
+        private void reclaim(CarHold hold) {
+                if(holds.remove(hold.getCarId(), hold)) {
+
+                        heldCars.remove(hold.getUserId(), hold.getCarId());
+                        reoffer(hold);
+                }
+        }
+
+        private void reoffer(CarHold hold) {
+                if(!waitlistService.offer(hold.getPackageName(), hold.getCarId())) {
+
+                        availableCarPool.offer(hold.getPackageName(), hold.getCarId());
+                }
+        }
+
+        private void reclaimOnRollback(CarHold hold) {
+                if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+
+                        return;
+                }
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                        @Override
+                        public void afterCompletion(int status) {
+                                if(status != STATUS_COMMITTED) {
+
+                                        reclaim(hold);
+                                }
+                        }
+
+                });
+        }
+
+}
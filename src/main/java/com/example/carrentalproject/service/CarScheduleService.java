@@ -0,0 +1,117 @@
+package com.example.carrentalproject.service;
+
+import com.example.carrentalproject.domain.PlacedOrder;
+import com.example.carrentalproject.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CarScheduleService {
+
+        private final OrderRepository orderRepository;
+        private final Map<Long, NavigableMap<LocalDateTime, LocalDateTime>> schedules = new ConcurrentHashMap<>();
+
+        @EventListener(ApplicationReadyEvent.class)
+        @Transactional(readOnly = true)
+        public void rebuild() {
+                log.info("Rebuilding car schedules from placed orders");
+                schedules.clear();
+                for (PlacedOrder order : orderRepository.findByEndTimeAfter(LocalDateTime.now())) {
+                        NavigableMap<LocalDateTime, LocalDateTime> schedule = schedule(order.getCarId());
+                        synchronized (schedule) {
+                                schedule.put(order.getStartTime(), order.getEndTime());
+                        }
+                }
+        }
+
+        public boolean isFree(Long carId, LocalDateTime from, LocalDateTime to) {
+                NavigableMap<LocalDateTime, LocalDateTime> schedule = schedules.get(carId);
+                if(schedule == null) {
+
+                        return true;
+                }
+                synchronized (schedule) {
+                        return isFree(schedule, from, to);
+                }
+        }
+
+        public boolean tryBook(Long carId, LocalDateTime from, LocalDateTime to) {
+                NavigableMap<LocalDateTime, LocalDateTime> schedule = schedule(carId);
+                synchronized (schedule) {
+                        if(!isFree(schedule, from, to)) {
+
+                                return false;
+                        }
+                        schedule.put(from, to);
+                }
+                if(TransactionSynchronizationManager.isSynchronizationActive()) {
+
+                        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                                @Override
+                                public void afterCompletion(int status) {
+                                        if(status != STATUS_COMMITTED) {
+
+                                                release(carId, from);
+                                        }
+                                }
+
+                        });
+                }
+                return true;
+        }
+
+        @Scheduled(fixedDelayString = "${cars.schedule.evictInterval:600000}")
+        public void evictEnded() {
+                LocalDateTime now = LocalDateTime.now();
+                int evicted = 0;
+                for (NavigableMap<LocalDateTime, LocalDateTime> schedule : schedules.values()) {
+                        synchronized (schedule) {
+                                // intervals never overlap, so the ended ones are the first by start time
+                                while (!schedule.isEmpty() && !schedule.firstEntry().getValue().isAfter(now)) {
+                                        schedule.pollFirstEntry();
+                                        evicted++;
+                                }
+                        }
+                }
+                if(evicted > 0) {
+
+                        log.info("Evicted {} ended intervals from car schedules", evicted);
+                }
+        }
+
+        public void release(Long carId, LocalDateTime from) {
+                NavigableMap<LocalDateTime, LocalDateTime> schedule = schedules.get(carId);
+                if(schedule != null) {
+
+                        synchronized (schedule) {
+                                schedule.remove(from);
+                        }
+                }
+        }
+
+        private NavigableMap<LocalDateTime, LocalDateTime> schedule(Long carId) {
+                return schedules.computeIfAbsent(carId, id -> new TreeMap<>());
+        }
+
+        private static boolean isFree(NavigableMap<LocalDateTime, LocalDateTime> schedule, LocalDateTime from, LocalDateTime to) {
+                Map.Entry<LocalDateTime, LocalDateTime> previous = schedule.lowerEntry(to);
+                return previous == null || !previous.getValue().isAfter(from);
+        }
+
+}
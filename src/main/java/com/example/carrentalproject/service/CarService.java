@@ -5,22 +5,20 @@ import com.example.carrentalproject.domain.CarPackage;
 import com.example.carrentalproject.domain.CarParameters;
 import com.example.carrentalproject.dto.CarDto;
 import com.example.carrentalproject.dto.CarPackageDto;
+import com.example.carrentalproject.dto.CarPackageView;
 import com.example.carrentalproject.repository.CarPackageRepository;
 import com.example.carrentalproject.repository.CarParametersRepository;
 import com.example.carrentalproject.repository.CarRepository;
 import com.example.carrentalproject.exception.ExistingEntityException;
-import com.example.carrentalproject.utils.PageValidator;
-import com.example.carrentalproject.utils.SortValidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static com.example.carrentalproject.mapper.CarPackageDtoMapper.mapToCarPackage;
 import static com.example.carrentalproject.mapper.CarDtoMapper.mapToCar;
@@ -31,34 +29,20 @@ import static com.example.carrentalproject.mapper.CarDtoMapper.mapToCar;
 @Slf4j
 public class CarService {
 
-        public static final int DEFAULT_PAGE_SIZE = 10;
         private final CarRepository carRepository;
         private final CarPackageRepository carPackageRepository;
         private final CarParametersRepository carParametersRepository;
-
-        public List<Car> getAllCars(Integer page, Sort.Direction sort) {
-                log.info("Fetching all cars");
-                int pageNumber = PageValidator.pageNumber(page);
-                Sort.Direction sortDirection = SortValidator.sortDirection(sort);
-                return carRepository.findCars(PageRequest.of(pageNumber - 1, DEFAULT_PAGE_SIZE, Sort.by(sortDirection, "id")));
-        }
+        private final PackageCapacityService packageCapacityService;
 
         public List<CarPackage> getCarPackages() {
                 log.info("Fetching all car packages");
-                return carPackageRepository.findAll();
-        }
-
-        public List<Car> getAvailableCars(Integer page, Sort.Direction sort) {
-                log.info("Fetching available cars");
-                int pageNumber = PageValidator.pageNumber(page);
-                Sort.Direction sortDirection = SortValidator.sortDirection(sort);
-                return carRepository.findAvailableCars(PageRequest.of(pageNumber - 1, DEFAULT_PAGE_SIZE, Sort.by(sortDirection, "id")));
-        }
-
-        public Car getCar(Long id) {
-                log.info("Fetching car with id {}", id);
-                return carRepository.findById(id)
-                        .orElseThrow(() -> new EntityNotFoundException("Car With This ID Does Not Exists!"));
+                return carPackageRepository.findAllViews().stream()
+                        .map(view -> CarPackage.builder()
+                                .id(view.getId())
+                                .packageName(view.getPackageName())
+                                .pricePerHour(view.getPricePerHour())
+                                .build())
+                        .collect(Collectors.toList());
         }
 
         public Car saveCar(CarDto carDto) {
@@ -71,10 +55,12 @@ public class CarService {
                 Car carEdited = carRepository.findById(id)
                         .orElseThrow(() -> new EntityNotFoundException("This Car Does Not Exists!"));
                 log.info("Edition car with id {}", id);
+                int wasAvailable = availability(carEdited.getIsAvailable());
                 carEdited.setRegistrationNr(carDto.getRegistrationNr());
                 carEdited.setBrand(carDto.getBrand());
                 carEdited.setModel(carDto.getModel());
                 carEdited.setIsAvailable(carDto.getIsAvailable());
+                packageCapacityService.adjust(carEdited.getCarPackage(), availability(carDto.getIsAvailable()) - wasAvailable);
                 return carRepository.save(carEdited);
         }
 
@@ -94,24 +80,29 @@ public class CarService {
         public Car setCarPackage(Long id, String packageName) {
                 Car car = carRepository.findById(id)
                         .orElseThrow(() -> new EntityNotFoundException("This Car Does Not Exists!"));
-                CarPackage carPackage = carPackageRepository.findByPackageName(packageName)
+                CarPackageView view = carPackageRepository.findViewByPackageName(packageName)
                         .orElseThrow(() -> new EntityNotFoundException("This Package Does Not Exists!"));
+                CarPackage carPackage = carPackageRepository.getById(view.getId());
                 log.info("Setting package of car with id {}", id);
+                if(availability(car.getIsAvailable()) == 1) {
+
+                        packageCapacityService.adjust(car.getCarPackage(), -1);
+                        packageCapacityService.adjust(carPackage, 1);
+                }
                 car.setCarPackage(carPackage);
                 return carRepository.save(car);
         }
 
         public void deleteCar(Long id) {
                 log.info("Deleting car with id {}", id);
-                if(!carRepository.existsById(id)) {
-
-                        throw new EntityNotFoundException("This Car Does Not Exists!");
-                }
+                Car car = carRepository.findById(id)
+                        .orElseThrow(() -> new EntityNotFoundException("This Car Does Not Exists!"));
+                packageCapacityService.adjust(car.getCarPackage(), -availability(car.getIsAvailable()));
                 carRepository.deleteById(id);
         }
 
         public CarPackage saveCarPackage(CarPackageDto carPackageDto) {
-                if(carPackageRepository.findByPackageName(carPackageDto.getPackageName()).isPresent()) {
+                if(carPackageRepository.findViewByPackageName(carPackageDto.getPackageName()).isPresent()) {
 
                         throw new ExistingEntityException("This Package Already Exists!");
                 }
@@ -130,7 +121,12 @@ public class CarService {
                 for (Car car : cars) {
                         car.setCarPackage(null);
                 }
+                packageCapacityService.remove(carPackage);
                 carPackageRepository.delete(carPackage);
         }
 
+        private static int availability(Boolean isAvailable) {
+                return Boolean.TRUE.equals(isAvailable) ? 1 : 0;
+        }
+
 }
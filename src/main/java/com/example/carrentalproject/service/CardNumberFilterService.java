@@ -0,0 +1,97 @@
+package com.example.carrentalproject.service;
+
+import com.example.carrentalproject.exception.ExistingEntityException;
+import com.example.carrentalproject.repository.CreditCardRepository;
+import com.example.carrentalproject.utils.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Stream;
+
+/**
+ * Keeps a Bloom filter of registered card numbers so that adding a card with a
+ * new number does not have to query the database. Only numbers the filter may
+ * contain are checked against the card_number unique index. Until the startup
+ * load has finished every number is checked, since the filter may still miss
+ * existing cards.
+ */
+@Service
+@Slf4j
+public class CardNumberFilterService {
+
+        private final CreditCardRepository creditCardRepository;
+        private final BloomFilter cardNumbers;
+        private final Counter negatives;
+        private final Counter duplicates;
+        private final Counter falsePositives;
+        private volatile boolean loaded;
+
+        public CardNumberFilterService(CreditCardRepository creditCardRepository, MeterRegistry meterRegistry,
+                                       @Value("${cards.bloom.expectedInsertions:1000000}") long expectedInsertions,
+                                       @Value("${cards.bloom.falsePositiveRate:0.01}") double falsePositiveRate) {
+                this.creditCardRepository = creditCardRepository;
+                this.cardNumbers = new BloomFilter(expectedInsertions, falsePositiveRate);
+                this.negatives = Counter.builder("cards.bloom.checks")
+                        .tag("result", "negative")
+                        .register(meterRegistry);
+                this.duplicates = Counter.builder("cards.bloom.checks")
+                        .tag("result", "duplicate")
+                        .register(meterRegistry);
+                this.falsePositives = Counter.builder("cards.bloom.checks")
+                        .tag("result", "false_positive")
+                        .register(meterRegistry);
+                Gauge.builder("cards.bloom.false.positive.rate", this, CardNumberFilterService::observedFalsePositiveRate)
+                        .register(meterRegistry);
+                Gauge.builder("cards.bloom.expected.false.positive.rate", this,
+                                service -> service.cardNumbers.expectedFalsePositiveRate())
+                        .register(meterRegistry);
+        }
+
+        @EventListener(ApplicationReadyEvent.class)
+        @Transactional(readOnly = true)
+        public void load() {
+                // cards added while loading go into the same filter, so none of them is lost
+                try (Stream<Long> numbers = creditCardRepository.streamCardNumbers()) {
+                        numbers.forEach(cardNumbers::put);
+                }
+                loaded = true;
+                log.info("Loaded {} credit card numbers into Bloom filter", cardNumbers.getInsertions());
+        }
+
+        public void checkUnique(Long cardNumber) {
+                if(cardNumber == null || loaded && !cardNumbers.mightContain(cardNumber)) {
+
+                        negatives.increment();
+                        return;
+                }
+                if(creditCardRepository.existsByCardNumber(cardNumber)) {
+
+                        duplicates.increment();
+                        throw new ExistingEntityException("Credit Card With Given Number Already Exists!");
+                }
+                if(loaded) {
+
+                        falsePositives.increment();
+                }
+        }
+
+        public void add(Long cardNumber) {
+                if(cardNumber != null) {
+
+                        cardNumbers.put(cardNumber);
+                }
+        }
+
+        private double observedFalsePositiveRate() {
+                double absent = negatives.count() + falsePositives.count();
+                return absent == 0 ? 0 : falsePositives.count() / absent;
+        }
+
+}
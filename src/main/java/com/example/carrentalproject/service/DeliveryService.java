@@ -3,6 +3,8 @@ package com.example.carrentalproject.service;
 import com.example.carrentalproject.domain.Car;
 import com.example.carrentalproject.domain.PlacedOrder;
 import com.example.carrentalproject.domain.User;
+import com.example.carrentalproject.dto.CarOffer;
+import com.example.carrentalproject.exception.InvalidTimeWindowException;
 import com.example.carrentalproject.exception.UnavailableCarException;
 import com.example.carrentalproject.repository.CarRepository;
 import com.example.carrentalproject.repository.OrderRepository;
@@ -12,11 +14,14 @@ import com.example.carrentalproject.exception.NoAccessKeyException;
 import com.example.carrentalproject.repository.AccessKeyRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import javax.persistence.EntityNotFoundException;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -29,35 +34,148 @@ public class DeliveryService {
         private final OrderRepository orderRepository;
         private final AccessKeyRepository accessKeyRepository;
         private final LoggedInUser loggedInUser;
+        private final CarScheduleService carScheduleService;
+        private final RentalExpiryService rentalExpiryService;
+        private final AvailableCarPool availableCarPool;
+        private final WaitlistService waitlistService;
+        private final CarHoldService carHoldService;
+        private final PackageCapacityService packageCapacityService;
 
         public Car pickUpTheCar(Long carId) {
 
                 Car car = carRepository.findById(carId)
                         .orElseThrow(() -> new EntityNotFoundException("Car With This ID Does Not Exists!"));
                 User user = loggedInUser.getUser();
+                checkAccessKey(user, car);
+                LocalDateTime start = LocalDateTime.now();
+                LocalDateTime end = start.plusHours(user.getAccessKey().getHours());
+                if(!car.getIsAvailable() || waitlistService.isHeldForAnother(carId, user.getId())
+                        || carHoldService.isHeldForAnother(carId, user.getId()) || carRepository.claimCar(carId) == 0
+                        || !carScheduleService.tryBook(carId, start, end)) {
+
+                        throw new UnavailableCarException("This Car Is Not Available!");
+                } else {
+
+                        rent(user, car, start, end);
+                }
+                return car;
+        }
+
+        public Car pickUpAnyCar() {
+
+                User user = loggedInUser.getUser();
                 if(user.getAccessKey() == null) {
 
                         throw new NoAccessKeyException("You Do Not Have An Access Key!");
                 }
-                else if(!user.getAccessKey().getCarPackage().equals(car.getCarPackage().getPackageName())) {
+                String packageName = user.getAccessKey().getCarPackage();
+                LocalDateTime start = LocalDateTime.now();
+                LocalDateTime end = start.plusHours(user.getAccessKey().getHours());
+                Long heldCarId = carHoldService.heldCarOf(user.getId());
+                if(heldCarId != null && claim(heldCarId, user.getId(), start, end)) {
 
-                        throw new InvalidPackageException("You Cannot Pick Car From This Package!");
+                        return rentClaimed(user, heldCarId, start, end);
                 }
-                else if(!car.getIsAvailable()) {
+                int ends = 0;
+                for (int polls = 0; polls < AvailableCarPool.MAX_POLLS; polls++) {
+                        Long carId = availableCarPool.poll(packageName);
+                        if(carId == null) {
 
-                        throw new UnavailableCarException("This Car Is Not Available!");
-                } else {
+                                if(!availableCarPool.refill(packageName) && ++ends > 1) {
+
+                                        break;
+                                }
+                        } else if(claim(carId, user.getId(), start, end)) {
+
+                                return rentClaimed(user, carId, start, end);
+                        }
+                }
+                throw new UnavailableCarException("No Car Is Available In This Package!");
+        }
+
+        public PlacedOrder reserveCar(Long carId, LocalDateTime start) {
+
+                Car car = carRepository.findById(carId)
+                        .orElseThrow(() -> new EntityNotFoundException("Car With This ID Does Not Exists!"));
+                User user = loggedInUser.getUser();
+                checkAccessKey(user, car);
+                if(!start.isAfter(LocalDateTime.now())) {
+
+                        throw new InvalidTimeWindowException("Reservation Must Start In The Future!");
+                }
+                LocalDateTime end = start.plusHours(user.getAccessKey().getHours());
+                if(!carScheduleService.tryBook(carId, start, end)) {
+
+                        throw new UnavailableCarException("This Car Is Already Booked In This Time!");
+                }
+                accessKeyRepository.delete(user.getAccessKey());
+                // the key no longer counts against the package; the car does once the reservation starts
+                packageCapacityService.adjust(car.getCarPackage(), 1);
+                PlacedOrder order = orderRepository.save(
+                        new PlacedOrder(ID, user.getId(), car.getId(), car.getBrand(), car.getModel(), start, end));
+                rentalExpiryService.schedule(order);
+                // the car stays available until the reservation starts, so holds on it are handed on too
+                waitlistService.claimed(null, user);
+                carHoldService.release(user.getId(), null);
 
-                        accessKeyRepository.delete(user.getAccessKey());
-                        car.setIsAvailable(false);
-                        LocalDateTime start = LocalDateTime.now();
-                        LocalDateTime end = LocalDateTime.now().plusHours(user.getAccessKey().getHours());
-                        PlacedOrder order = new PlacedOrder(ID, user.getId(), car.getId(), car.getBrand(), car.getModel(), start, end);
-                        orderRepository.save(order);
+                log.info("Car with id {} reserved from {} to {}", carId, start, end);
+                return order;
+        }
+
+        public int joinWaitlist() {
+                return waitlistService.join(loggedInUser.getUser());
+        }
+
+        public DeferredResult<ResponseEntity<CarOffer>> awaitCarOffer() {
+                return waitlistService.poll(loggedInUser.getUser());
+        }
+
+        public void leaveWaitlist() {
+                waitlistService.leave(loggedInUser.getUser());
+        }
 
-                        log.info("You rented a car, have a nice trip!");
+        private boolean claim(Long carId, Long userId, LocalDateTime start, LocalDateTime end) {
+                if(waitlistService.isHeldForAnother(carId, userId) || carHoldService.isHeldForAnother(carId, userId)
+                        || !carScheduleService.isFree(carId, start, end) || carRepository.claimCar(carId) == 0) {
+
+                        return false;
+                }
+                if(!carScheduleService.tryBook(carId, start, end)) {
+
+                        carRepository.releaseCars(List.of(carId));
+                        return false;
                 }
+                return true;
+        }
+
+        private Car rentClaimed(User user, Long carId, LocalDateTime start, LocalDateTime end) {
+                Car car = carRepository.findById(carId)
+                        .orElseThrow(() -> new EntityNotFoundException("Car With This ID Does Not Exists!"));
+                rent(user, car, start, end);
                 return car;
         }
 
+        private void rent(User user, Car car, LocalDateTime start, LocalDateTime end) {
+                accessKeyRepository.delete(user.getAccessKey());
+                car.setIsAvailable(false);
+                PlacedOrder order = new PlacedOrder(ID, user.getId(), car.getId(), car.getBrand(), car.getModel(), start, end);
+                orderRepository.save(order);
+                rentalExpiryService.schedule(order);
+                waitlistService.claimed(car.getId(), user);
+                carHoldService.release(user.getId(), car.getId());
+
+                log.info("You rented a car, have a nice trip!");
+        }
+
+        private void checkAccessKey(User user, Car car) {
+                if(user.getAccessKey() == null) {
+
+                        throw new NoAccessKeyException("You Do Not Have An Access Key!");
+                }
+                else if(!user.getAccessKey().getCarPackage().equals(car.getCarPackage().getPackageName())) {
+
+                        throw new InvalidPackageException("You Cannot Pick Car From This Package!");
+                }
+        }
+
 }
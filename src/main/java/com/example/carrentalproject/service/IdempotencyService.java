@@ -0,0 +1,95 @@
+package com.example.carrentalproject.service;
+
+import com.example.carrentalproject.domain.IdempotentResponse;
+import com.example.carrentalproject.repository.IdempotentResponseRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the first response given to each idempotency key. Responses live in
+ * a bounded in-memory cache backed by the idempotent_response table, so a retry
+ * routed to another node is still answered from the stored response.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+        private final IdempotentResponseRepository idempotentResponseRepository;
+        private final Cache<String, IdempotentResponse> responses;
+        private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+        private final Duration expirationTime;
+
+        public IdempotencyService(IdempotentResponseRepository idempotentResponseRepository, MeterRegistry meterRegistry,
+                                  @Value("${idempotency.expirationTime:86400000}") long expirationTime,
+                                  @Value("${idempotency.maximumSize:10000}") long maximumSize) {
+                this.idempotentResponseRepository = idempotentResponseRepository;
+                this.expirationTime = Duration.ofMillis(expirationTime);
+                this.responses = Caffeine.newBuilder()
+                        .maximumSize(maximumSize)
+                        .expireAfterWrite(this.expirationTime)
+                        .recordStats()
+                        .build();
+                CaffeineCacheMetrics.monitor(meterRegistry, responses, "idempotentResponses");
+        }
+
+        public Optional<IdempotentResponse> find(String idempotencyKey) {
+                IdempotentResponse response = responses.getIfPresent(idempotencyKey);
+                if(response != null) {
+
+                        return Optional.of(response);
+                }
+                return idempotentResponseRepository.findById(idempotencyKey)
+                        .filter(stored -> stored.getCreatedAt().isAfter(LocalDateTime.now().minus(expirationTime)))
+                        .map(stored -> {
+                                responses.put(idempotencyKey, stored);
+                                return stored;
+                        });
+        }
+
+        /**
+         * Claims the key for the calling request. Returns null when the caller owns
+         * the key, or the future of the request that is already processing it.
+         */
+        public CompletableFuture<Void> claim(String idempotencyKey) {
+                return inFlight.putIfAbsent(idempotencyKey, new CompletableFuture<>());
+        }
+
+        public void complete(IdempotentResponse response) {
+                responses.put(response.getIdempotencyKey(), response);
+                try {
+                        idempotentResponseRepository.save(response);
+                } catch (DataAccessException e) {
+                        log.warn("Could not persist response for idempotency key {}", response.getIdempotencyKey(), e);
+                }
+                release(response.getIdempotencyKey());
+        }
+
+        public void release(String idempotencyKey) {
+                CompletableFuture<Void> claimed = inFlight.remove(idempotencyKey);
+                if(claimed != null) {
+
+                        claimed.complete(null);
+                }
+        }
+
+        @Scheduled(fixedDelayString = "${idempotency.purgeInterval:3600000}")
+        public void purgeExpired() {
+                int purged = idempotentResponseRepository.deleteCreatedBefore(LocalDateTime.now().minus(expirationTime));
+                log.info("Purged {} expired idempotent responses", purged);
+        }
+
+}
@@ -0,0 +1,53 @@
+package com.example.carrentalproject.service;
+
+import com.example.carrentalproject.repository.CreditCardRepository;
+import com.example.carrentalproject.repository.LedgerEntryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Periodically folds the ledger tail of busy cards into a balance snapshot, so
+ * that reading a balance never has to sum more than a short tail of entries.
+ */
+@Service
+@Slf4j
+public class LedgerSnapshotService {
+
+        private final LedgerEntryRepository ledgerEntryRepository;
+        private final CreditCardRepository creditCardRepository;
+        private final int tailSize;
+        private final int batchSize;
+
+        public LedgerSnapshotService(LedgerEntryRepository ledgerEntryRepository, CreditCardRepository creditCardRepository,
+                                     @Value("${ledger.snapshot.tailSize:100}") int tailSize,
+                                     @Value("${ledger.snapshot.batchSize:100}") int batchSize) {
+                this.ledgerEntryRepository = ledgerEntryRepository;
+                this.creditCardRepository = creditCardRepository;
+                this.tailSize = tailSize;
+                this.batchSize = batchSize;
+        }
+
+        @Scheduled(fixedDelayString = "${ledger.snapshot.interval:60000}")
+        public int snapshot() {
+                List<Long> creditCardIds = ledgerEntryRepository.findCardsWithTail(tailSize, PageRequest.of(0, batchSize));
+                int folded = 0;
+                for (Long creditCardId : creditCardIds) {
+                        try {
+                                folded += creditCardRepository.snapshot(creditCardId);
+                        } catch (RuntimeException e) {
+                                log.warn("Could not snapshot balance of credit card {}", creditCardId, e);
+                        }
+                }
+                if(folded > 0) {
+
+                        log.info("Folded {} ledger entries of {} credit cards into snapshots", folded, creditCardIds.size());
+                }
+                return folded;
+        }
+
+}
@@ -0,0 +1,171 @@
+package com.example.carrentalproject.service;
+
+import com.example.carrentalproject.constant.LedgerEntryType;
+import com.example.carrentalproject.constant.TransferStatus;
+import com.example.carrentalproject.domain.LedgerEntry;
+import com.example.carrentalproject.dto.CreditCardRef;
+import com.example.carrentalproject.dto.MoneyTransferResult;
+import com.example.carrentalproject.dto.MoneyTransferRow;
+import com.example.carrentalproject.repository.CreditCardRepository;
+import com.example.carrentalproject.repository.LedgerEntryRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Applies month-end top-ups read as NDJSON rows of (username or cardNumber, amount).
+ * Rows are resolved and credited a chunk at a time, each chunk in its own
+ * transaction, and a result line is written for every input row.
+ */
+@Service
+@Slf4j
+public class MoneyTransferBatchService {
+
+        private final CreditCardRepository creditCardRepository;
+        private final LedgerEntryRepository ledgerEntryRepository;
+        private final ObjectMapper objectMapper;
+        private final TransactionTemplate transactionTemplate;
+        private final int chunkSize;
+
+        public MoneyTransferBatchService(CreditCardRepository creditCardRepository, LedgerEntryRepository ledgerEntryRepository,
+                                         ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                                         @Value("${payments.batch.chunkSize:1000}") int chunkSize) {
+                this.creditCardRepository = creditCardRepository;
+                this.ledgerEntryRepository = ledgerEntryRepository;
+                this.objectMapper = objectMapper;
+                this.transactionTemplate = new TransactionTemplate(transactionManager);
+                this.chunkSize = chunkSize;
+        }
+
+        public void transfer(InputStream rows, OutputStream report) throws IOException {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(rows, StandardCharsets.UTF_8));
+                List<MoneyTransferResult> chunk = new ArrayList<>(chunkSize);
+                long line = 0;
+                long applied = 0;
+                String text;
+                while ((text = reader.readLine()) != null) {
+                        line++;
+                        if(text.isBlank()) {
+
+                                continue;
+                        }
+                        chunk.add(parse(line, text));
+                        if(chunk.size() == chunkSize) {
+
+                                applied += apply(chunk, report);
+                                chunk.clear();
+                        }
+                }
+                applied += apply(chunk, report);
+                log.info("Applied {} of {} batch money transfer rows", applied, line);
+        }
+
+        private MoneyTransferResult parse(long line, String text) {
+                MoneyTransferRow row;
+                try {
+                        row = objectMapper.readValue(text, MoneyTransferRow.class);
+                } catch (JsonProcessingException e) {
+                        return new MoneyTransferResult(line, null, null, null, TransferStatus.REJECTED, "Malformed Row!");
+                }
+                MoneyTransferResult result = new MoneyTransferResult(line, row.getUsername(), row.getCardNumber(),
+                        row.getAmount(), null, null);
+                if((row.getUsername() == null) == (row.getCardNumber() == null)) {
+
+                        reject(result, "Either Username Or Card Number Is Required!");
+                } else if(row.getAmount() == null || row.getAmount() <= 0) {
+
+                        reject(result, "Amount Must Be Positive!");
+                }
+                return result;
+        }
+
+        private int apply(List<MoneyTransferResult> chunk, OutputStream report) throws IOException {
+                List<MoneyTransferResult> pending = chunk.stream()
+                        .filter(result -> result.getStatus() == null)
+                        .collect(Collectors.toList());
+                int applied = 0;
+                if(!pending.isEmpty()) {
+
+                        try {
+                                applied = transactionTemplate.execute(status -> credit(pending));
+                        } catch (RuntimeException e) {
+                                log.warn("Batch money transfer chunk failed", e);
+                                pending.forEach(result -> {
+                                        result.setStatus(TransferStatus.FAILED);
+                                        result.setMessage("Chunk Could Not Be Applied!");
+                                });
+                                applied = 0;
+                        }
+                }
+                for (MoneyTransferResult result : chunk) {
+                        report.write(objectMapper.writeValueAsBytes(result));
+                        report.write('\n');
+                }
+                report.flush();
+                return applied;
+        }
+
+        private int credit(List<MoneyTransferResult> pending) {
+                Map<String, Long> byUsername = lookUp(pending.stream().map(MoneyTransferResult::getUsername),
+                        creditCardRepository::findRefsByUsernames, CreditCardRef::getUsername);
+                Map<Long, Long> byCardNumber = lookUp(pending.stream().map(MoneyTransferResult::getCardNumber),
+                        creditCardRepository::findRefsByCardNumbers, CreditCardRef::getCardNumber);
+                LocalDateTime now = LocalDateTime.now();
+                List<LedgerEntry> entries = new ArrayList<>(pending.size());
+                for (MoneyTransferResult result : pending) {
+                        Long creditCardId = result.getUsername() != null
+                                ? byUsername.get(result.getUsername())
+                                : byCardNumber.get(result.getCardNumber());
+                        if(creditCardId == null) {
+
+                                reject(result, "Credit Card Not Found!");
+                                continue;
+                        }
+                        entries.add(LedgerEntry.builder()
+                                .creditCardId(creditCardId)
+                                .type(LedgerEntryType.CREDIT)
+                                .amount(result.getAmount())
+                                .createdAt(now)
+                                .build());
+                        result.setStatus(TransferStatus.APPLIED);
+                }
+                ledgerEntryRepository.saveAll(entries);
+                return entries.size();
+        }
+
+        private <K> Map<K, Long> lookUp(Stream<K> keys, Function<List<K>, List<CreditCardRef>> query,
+                                        Function<CreditCardRef, K> key) {
+                List<K> distinct = keys.filter(Objects::nonNull).distinct().collect(Collectors.toList());
+                if(distinct.isEmpty()) {
+
+                        return Map.of();
+                }
+                return query.apply(distinct).stream()
+                        .collect(Collectors.toMap(key, CreditCardRef::getId, (first, second) -> first));
+        }
+
+        private void reject(MoneyTransferResult result, String message) {
+                result.setStatus(TransferStatus.REJECTED);
+                result.setMessage(message);
+        }
+
+}
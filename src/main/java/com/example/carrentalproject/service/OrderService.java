@@ -1,30 +1,44 @@
 package com.example.carrentalproject.service;
 
 import com.example.carrentalproject.domain.AccessKey;
+import com.example.carrentalproject.domain.CarHold;
 import com.example.carrentalproject.domain.CarPackage;
 import com.example.carrentalproject.domain.PlacedOrder;
 import com.example.carrentalproject.domain.User;
 import com.example.carrentalproject.dto.AccessKeyDto;
+import com.example.carrentalproject.dto.CarPackageView;
+import com.example.carrentalproject.dto.CursorPage;
+import com.example.carrentalproject.dto.OrderSearchCriteria;
 import com.example.carrentalproject.exception.ExistingOrderException;
+import com.example.carrentalproject.exception.UnavailableCarException;
 import com.example.carrentalproject.repository.CarPackageRepository;
+import com.example.carrentalproject.repository.CreditCardRepository;
 import com.example.carrentalproject.repository.OrderRepository;
 import com.example.carrentalproject.security.LoggedInUser;
 import com.example.carrentalproject.exception.InsufficientFundsException;
 import com.example.carrentalproject.exception.NoCreditCardException;
 import com.example.carrentalproject.repository.AccessKeyRepository;
-import lombok.RequiredArgsConstructor;
+import com.example.carrentalproject.utils.PageCursor;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static com.example.carrentalproject.mapper.AccessKeyDtoMapper.mapToAccessKeyDto;
+import static com.example.carrentalproject.utils.TimeWindowValidator.checkTimeWindow;
 
 @Service
-@RequiredArgsConstructor
 @Transactional
 @Slf4j
 public class OrderService {
@@ -33,14 +47,69 @@ public class OrderService {
         private final CarPackageRepository carPackageRepository;
         private final OrderRepository orderRepository;
         private final AccessKeyRepository accessKeyRepository;
+        private final CreditCardRepository creditCardRepository;
+        private final PackageCapacityService packageCapacityService;
         private final LoggedInUser loggedInUser;
+        private final ObjectMapper objectMapper;
+        private final CarHoldService carHoldService;
+        private final int pageSize;
+        private final int fetchSize;
+
+        public OrderService(CarPackageRepository carPackageRepository, OrderRepository orderRepository,
+                            AccessKeyRepository accessKeyRepository, CreditCardRepository creditCardRepository,
+                            PackageCapacityService packageCapacityService, LoggedInUser loggedInUser,
+                            ObjectMapper objectMapper, CarHoldService carHoldService,
+                            @Value("${orders.pageSize:10}") int pageSize,
+                            @Value("${orders.export.fetchSize:500}") int fetchSize) {
+                if(pageSize <= 0) {
+
+                        throw new IllegalArgumentException("Order page size must be positive, got " + pageSize);
+                }
+                if(fetchSize <= 0) {
+
+                        throw new IllegalArgumentException("Order export fetch size must be positive, got " + fetchSize);
+                }
+                this.carPackageRepository = carPackageRepository;
+                this.orderRepository = orderRepository;
+                this.accessKeyRepository = accessKeyRepository;
+                this.creditCardRepository = creditCardRepository;
+                this.packageCapacityService = packageCapacityService;
+                this.loggedInUser = loggedInUser;
+                this.objectMapper = objectMapper;
+                this.carHoldService = carHoldService;
+                this.pageSize = pageSize;
+                this.fetchSize = fetchSize;
+        }
+
+        @Transactional(readOnly = true)
+        public CursorPage<PlacedOrder> getOrders(OrderSearchCriteria criteria, String cursor, Sort.Direction sort) {
+                log.info("Fetching orders matching {} from cursor {}", criteria, cursor);
+                checkTimeWindow(criteria.getFrom(), criteria.getTo());
+                PageCursor pageCursor = cursor != null ? PageCursor.decode(cursor) : PageCursor.first(sort);
+                List<PlacedOrder> orders = orderRepository.seekOrders(criteria, pageCursor, pageSize + 1);
+                if(orders.size() <= pageSize) {
 
-        public List<PlacedOrder> getOrders() {
-                log.info("Fetching all orders");
-                return orderRepository.findAll();
+                        return new CursorPage<>(orders, null);
+                }
+                List<PlacedOrder> content = new ArrayList<>(orders.subList(0, pageSize));
+                Long lastId = content.get(pageSize - 1).getId();
+                return new CursorPage<>(content, new PageCursor(pageCursor.getDirection(), lastId).encode());
+        }
+
+        @Transactional(readOnly = true)
+        public void exportOrders(OrderSearchCriteria criteria, OutputStream out) {
+                log.info("Exporting orders matching {}", criteria);
+                checkTimeWindow(criteria.getFrom(), criteria.getTo());
+                try (Stream<PlacedOrder> orders = orderRepository.streamOrders(criteria, fetchSize)) {
+                        orders.forEach(order -> writeLine(order, out));
+                }
         }
 
         public AccessKeyDto submitOrder(String carPackage, Integer hours) {
+                return submitOrder(carPackage, hours, false);
+        }
+
+        public AccessKeyDto submitOrder(String carPackage, Integer hours, boolean hold) {
 
                 User user = loggedInUser.getUser();
 
@@ -52,19 +121,22 @@ public class OrderService {
 
                         throw new ExistingOrderException("You Have Already Placed An Order!");
                 }
-                Long money = user.getCreditCard().getAccountBalance();
-                CarPackage carPackageSearch = carPackageRepository.findByPackageName(carPackage)
+                CarPackageView carPackageView = carPackageRepository.findViewByPackageName(carPackage)
                         .orElseThrow(() -> new EntityNotFoundException("This Package Does Not Exists!"));
-                Integer price = carPackageSearch.getPricePerHour();
+                Integer price = carPackageView.getPricePerHour();
+                CarPackage carPackageSearch = carPackageRepository.getById(carPackageView.getId());
+                if(!packageCapacityService.tryReserve(carPackageSearch)) {
+
+                        throw new UnavailableCarException("No Car Is Available In This Package!");
+                }
 
                 AccessKey accessKey;
 
-                if (money < (long) price * hours) {
+                if (!creditCardRepository.debit(user.getCreditCard(), (long) price * hours)) {
 
                         throw new InsufficientFundsException("You Do Not Have Enough Money!");
                 } else {
 
-                        user.getCreditCard().setAccountBalance(money - (long) price * hours);
                         accessKey = new AccessKey(ID, carPackage, hours, null);
                         accessKeyRepository.save(accessKey);
                         user.setAccessKey(accessKey);
@@ -74,7 +146,25 @@ public class OrderService {
 
                 }
                 AccessKeyDto accessKeyDto = mapToAccessKeyDto(accessKey);
+                if(hold) {
+
+                        CarHold carHold = carHoldService.place(user, carPackage);
+                        if(carHold != null) {
+
+                                accessKeyDto.setHeldCarId(carHold.getCarId());
+                                accessKeyDto.setHoldExpiresAt(carHold.getExpiresAt());
+                        }
+                }
                 return accessKeyDto;
         }
 
+        private void writeLine(PlacedOrder order, OutputStream out) {
+                try {
+                        out.write(objectMapper.writeValueAsBytes(order));
+                        out.write('\n');
+                } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                }
+        }
+
 }
@@ -0,0 +1,111 @@
+package com.example.carrentalproject.service;
+
+import com.example.carrentalproject.domain.CarPackage;
+import com.example.carrentalproject.repository.AccessKeyRepository;
+import com.example.carrentalproject.repository.CarPackageRepository;
+import com.example.carrentalproject.repository.CarRepository;
+import com.example.carrentalproject.repository.PackageCapacityRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class PackageCapacityService {
+
+        private final PackageCapacityRepository packageCapacityRepository;
+        private final CarPackageRepository carPackageRepository;
+        private final CarRepository carRepository;
+        private final AccessKeyRepository accessKeyRepository;
+        private final Map<Long, AtomicInteger> counters = new ConcurrentHashMap<>();
+
+        @EventListener(ApplicationReadyEvent.class)
+        public void rebuild() {
+                log.info("Rebuilding car package capacity counters");
+                packageCapacityRepository.deleteAllInBatch();
+                counters.clear();
+                for (CarPackage carPackage : carPackageRepository.findAll()) {
+                        counters.put(carPackage.getId(), new AtomicInteger(initialize(carPackage)));
+                }
+        }
+
+        public boolean tryReserve(CarPackage carPackage) {
+                AtomicInteger counter = counters.computeIfAbsent(carPackage.getId(), id -> new AtomicInteger(load(carPackage)));
+                int available;
+                do {
+                        available = counter.get();
+                        if(available <= 0) {
+
+                                return false;
+                        }
+                } while (!counter.compareAndSet(available, available - 1));
+                invalidateOnRollback(carPackage.getId());
+                if(packageCapacityRepository.reserve(carPackage.getId()) == 0) {
+
+                        counters.remove(carPackage.getId());
+                        return false;
+                }
+                return true;
+        }
+
+        public void adjust(CarPackage carPackage, int delta) {
+                if(carPackage == null || delta == 0) {
+
+                        return;
+                }
+                packageCapacityRepository.adjust(carPackage.getId(), delta);
+                AtomicInteger counter = counters.get(carPackage.getId());
+                if(counter != null) {
+
+                        counter.addAndGet(delta);
+                }
+                invalidateOnRollback(carPackage.getId());
+        }
+
+        public void remove(CarPackage carPackage) {
+                packageCapacityRepository.remove(carPackage.getId());
+                counters.remove(carPackage.getId());
+        }
+
+        private int load(CarPackage carPackage) {
+                return packageCapacityRepository.findAvailable(carPackage.getId())
+                        .orElseGet(() -> initialize(carPackage));
+        }
+
+        private int initialize(CarPackage carPackage) {
+                int available = (int) (carRepository.countAvailableCars(carPackage.getId())
+                        - accessKeyRepository.countByCarPackage(carPackage.getPackageName()));
+                packageCapacityRepository.insert(carPackage.getId(), available);
+                return available;
+        }
+
+        private void invalidateOnRollback(Long carPackageId) {
+                if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+
+                        return;
+                }
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                        @Override
+                        public void afterCompletion(int status) {
+                                if(status != STATUS_COMMITTED) {
+
+                                        counters.remove(carPackageId);
+                                }
+                        }
+
+                });
+        }
+
+}
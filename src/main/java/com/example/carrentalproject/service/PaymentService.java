@@ -3,19 +3,28 @@ package com.example.carrentalproject.service;
 import com.example.carrentalproject.domain.CreditCard;
 import com.example.carrentalproject.domain.User;
 import com.example.carrentalproject.dto.CreditCardDto;
+import com.example.carrentalproject.dto.PaymentRequest;
 import com.example.carrentalproject.exception.NoCreditCardException;
+import com.example.carrentalproject.exception.PaymentDeclinedException;
+import com.example.carrentalproject.gateway.PaymentGateway;
 import com.example.carrentalproject.repository.CreditCardRepository;
 import com.example.carrentalproject.repository.UserRepository;
 import com.example.carrentalproject.security.LoggedInUser;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.annotation.PreDestroy;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import static com.example.carrentalproject.mapper.CreditCardDtoMapper.mapToCreditCard;
 
 @Service
-@RequiredArgsConstructor
 @Transactional
 @Slf4j
 public class PaymentService {
@@ -23,6 +32,28 @@ public class PaymentService {
         private final UserRepository userRepository;
         private final CreditCardRepository creditCardRepository;
         private final LoggedInUser loggedInUser;
+        private final PaymentGateway paymentGateway;
+        private final PaymentSettlementService paymentSettlementService;
+        private final CardNumberFilterService cardNumberFilterService;
+        private final ExecutorService transferExecutor;
+
+        public PaymentService(UserRepository userRepository, CreditCardRepository creditCardRepository,
+                              LoggedInUser loggedInUser, PaymentGateway paymentGateway,
+                              PaymentSettlementService paymentSettlementService, CardNumberFilterService cardNumberFilterService,
+                              @Value("${payments.transfer.poolSize:8}") int poolSize) {
+                this.userRepository = userRepository;
+                this.creditCardRepository = creditCardRepository;
+                this.loggedInUser = loggedInUser;
+                this.paymentGateway = paymentGateway;
+                this.paymentSettlementService = paymentSettlementService;
+                this.cardNumberFilterService = cardNumberFilterService;
+                this.transferExecutor = Executors.newFixedThreadPool(poolSize, new CustomizableThreadFactory("money-transfer-"));
+        }
+
+        @PreDestroy
+        public void shutdown() {
+                transferExecutor.shutdown();
+        }
 
         public void addCreditCard(CreditCardDto creditCardDto) {
 
@@ -33,13 +64,15 @@ public class PaymentService {
 
                         throw new IllegalCallerException("You Already Have Credit Card!");
                 }
+                cardNumberFilterService.checkUnique(creditCardDto.getCardNumber());
                 CreditCard card = creditCardRepository.save(mapToCreditCard(creditCardDto));
+                cardNumberFilterService.add(creditCardDto.getCardNumber());
                 user.setCreditCard(card);
                 card.setUser(user);
                 userRepository.save(user);
         }
 
-        public void moneyTransfer(Long moneyAmount) {
+        public CompletableFuture<Void> moneyTransfer(Long moneyAmount) {
 
                 User user = loggedInUser.getUser();
 
@@ -50,9 +83,29 @@ public class PaymentService {
                 } else {
 
                         log.info("Transfer for the amount of {}", moneyAmount);
-                        CreditCard creditCard = user.getCreditCard();
-                        creditCard.setAccountBalance(creditCard.getAccountBalance() + moneyAmount);
-                        userRepository.save(user);
+                        CreditCard card = user.getCreditCard();
+                        PaymentRequest request = new PaymentRequest(UUID.randomUUID().toString(), card.getId(),
+                                card.getCardNumber(), moneyAmount);
+                        // the gateway may have approved a call that timed out or failed on our side
+                        return paymentGateway.authorize(request)
+                                .whenCompleteAsync((authorization, failure) -> {
+                                        if(failure != null) {
+
+                                                paymentSettlementService.voidLater(request);
+                                        }
+                                }, transferExecutor)
+                                .thenAcceptAsync(authorization -> {
+                                        if(!authorization.isApproved()) {
+
+                                                throw new PaymentDeclinedException(authorization.getDeclineReason());
+                                        }
+                                        try {
+                                                paymentSettlementService.credit(card, request, authorization);
+                                        } catch (RuntimeException e) {
+                                                paymentSettlementService.voidLater(request);
+                                                throw e;
+                                        }
+                                }, transferExecutor);
 
                 }
         }
@@ -0,0 +1,119 @@
+package com.example.carrentalproject.service;
+
+import com.example.carrentalproject.constant.SettlementAction;
+import com.example.carrentalproject.domain.CreditCard;
+import com.example.carrentalproject.domain.PendingSettlement;
+import com.example.carrentalproject.dto.PaymentAuthorization;
+import com.example.carrentalproject.dto.PaymentRequest;
+import com.example.carrentalproject.gateway.PaymentGateway;
+import com.example.carrentalproject.repository.CreditCardRepository;
+import com.example.carrentalproject.repository.PendingSettlementRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Credits approved authorizations and settles them with the gateway in batches.
+ * Captures are stored in the pending_settlement table with the credit, and voids
+ * of authorizations that could not be credited next to them, so a restart does
+ * not lose either; a batch the gateway fails to process stays there for the next run.
+ */
+@Service
+@Slf4j
+public class PaymentSettlementService {
+
+        private final PaymentGateway paymentGateway;
+        private final CreditCardRepository creditCardRepository;
+        private final PendingSettlementRepository pendingSettlementRepository;
+        private final int batchSize;
+
+        public PaymentSettlementService(PaymentGateway paymentGateway, CreditCardRepository creditCardRepository,
+                                        PendingSettlementRepository pendingSettlementRepository, MeterRegistry meterRegistry,
+                                        @Value("${payments.settlement.batchSize:500}") int batchSize) {
+                this.paymentGateway = paymentGateway;
+                this.creditCardRepository = creditCardRepository;
+                this.pendingSettlementRepository = pendingSettlementRepository;
+                this.batchSize = batchSize;
+                Gauge.builder("payments.settlement.pending", pendingSettlementRepository, PendingSettlementRepository::count)
+                        .register(meterRegistry);
+        }
+
+        @Transactional
+        public void credit(CreditCard creditCard, PaymentRequest request, PaymentAuthorization authorization) {
+                creditCardRepository.credit(creditCard, authorization.getAmount());
+                pendingSettlementRepository.save(PendingSettlement.builder()
+                        .action(SettlementAction.CAPTURE)
+                        .reference(request.getReference())
+                        .authorizationId(authorization.getAuthorizationId())
+                        .creditCardId(authorization.getCreditCardId())
+                        .amount(authorization.getAmount())
+                        .createdAt(LocalDateTime.now())
+                        .build());
+        }
+
+        @Transactional
+        public void voidLater(PaymentRequest request) {
+                log.warn("Authorization of transfer {} could not be credited, voiding it", request.getReference());
+                pendingSettlementRepository.save(PendingSettlement.builder()
+                        .action(SettlementAction.VOID)
+                        .reference(request.getReference())
+                        .creditCardId(request.getCreditCardId())
+                        .amount(request.getAmount())
+                        .createdAt(LocalDateTime.now())
+                        .build());
+        }
+
+        @Scheduled(fixedDelayString = "${payments.settlement.interval:5000}")
+        public int settle() {
+                int settled = drain(SettlementAction.CAPTURE, batch -> paymentGateway.settle(batch.stream()
+                        .map(PaymentSettlementService::toAuthorization)
+                        .collect(Collectors.toList())));
+                int voided = drain(SettlementAction.VOID, batch -> paymentGateway.voidAuthorizations(batch.stream()
+                        .map(PendingSettlement::getReference)
+                        .collect(Collectors.toList())));
+                if(settled > 0 || voided > 0) {
+
+                        log.info("Settled {} payments, voided {} authorizations", settled, voided);
+                }
+                return settled;
+        }
+
+        private int drain(SettlementAction action, Function<List<PendingSettlement>, CompletableFuture<Void>> call) {
+                int drained = 0;
+                List<PendingSettlement> batch;
+                do {
+                        batch = pendingSettlementRepository.findOldest(action, PageRequest.of(0, batchSize));
+                        if(batch.isEmpty()) {
+
+                                break;
+                        }
+                        try {
+                                call.apply(batch).join();
+                        } catch (CompletionException e) {
+                                log.warn("Could not {} {} payments, retrying later", action, batch.size());
+                                break;
+                        }
+                        pendingSettlementRepository.deleteAllInBatch(batch);
+                        drained += batch.size();
+                } while (batch.size() == batchSize);
+                return drained;
+        }
+
+        private static PaymentAuthorization toAuthorization(PendingSettlement settlement) {
+                return new PaymentAuthorization(settlement.getAuthorizationId(), settlement.getCreditCardId(),
+                        settlement.getAmount(), true, null);
+        }
+
+}
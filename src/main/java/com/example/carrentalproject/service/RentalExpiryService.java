@@ -0,0 +1,287 @@
+package com.example.carrentalproject.service;
+
+import com.example.carrentalproject.domain.Car;
+import com.example.carrentalproject.domain.CarPackage;
+import com.example.carrentalproject.domain.PlacedOrder;
+import com.example.carrentalproject.dto.ActiveRental;
+import com.example.carrentalproject.repository.CarRepository;
+import com.example.carrentalproject.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Takes reserved cars out of service when their order starts and frees rented
+ * cars once it has ended. Both events wait in a delay queue, so the worker sleeps
+ * until the next one is due instead of polling the database.
+ */
+@Service
+@Slf4j
+public class RentalExpiryService {
+
+        private final OrderRepository orderRepository;
+        private final CarRepository carRepository;
+        private final PackageCapacityService packageCapacityService;
+        private final CarScheduleService carScheduleService;
+        private final AvailableCarPool availableCarPool;
+        private final WaitlistService waitlistService;
+        private final TransactionTemplate transactionTemplate;
+        private final int batchSize;
+        private final long retryDelay;
+        private final Duration grace;
+        private final Counter releasedCars;
+        private final DelayQueue<Expiry> expiries = new DelayQueue<>();
+        private Thread worker;
+
+        public RentalExpiryService(OrderRepository orderRepository, CarRepository carRepository,
+                                   PackageCapacityService packageCapacityService, CarScheduleService carScheduleService,
+                                   AvailableCarPool availableCarPool, WaitlistService waitlistService,
+                                   PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                   @Value("${rentals.expiry.batchSize:500}") int batchSize,
+                                   @Value("${rentals.expiry.retryDelay:30000}") long retryDelay,
+                                   @Value("${rentals.expiry.grace:86400000}") long grace) {
+                this.orderRepository = orderRepository;
+                this.carRepository = carRepository;
+                this.packageCapacityService = packageCapacityService;
+                this.carScheduleService = carScheduleService;
+                this.availableCarPool = availableCarPool;
+                this.waitlistService = waitlistService;
+                this.transactionTemplate = new TransactionTemplate(transactionManager);
+                this.batchSize = batchSize;
+                this.retryDelay = retryDelay;
+                this.grace = Duration.ofMillis(grace);
+                this.releasedCars = Counter.builder("rentals.expiry.released")
+                        .register(meterRegistry);
+                Gauge.builder("rentals.expiry.pending", expiries, DelayQueue::size)
+                        .register(meterRegistry);
+        }
+
+        @EventListener(ApplicationReadyEvent.class)
+        public void start() {
+                LocalDateTime now = LocalDateTime.now();
+                List<ActiveRental> rentals = orderRepository.findActiveRentals(now, now.minus(grace));
+                rentals.forEach(rental -> expiries.put(new Expiry(rental, false, dueAt(rental.getEndTime()))));
+                List<ActiveRental> reservations = orderRepository.findUpcomingRentals(now);
+                reservations.forEach(rental -> expiries.put(new Expiry(rental, true, dueAt(rental.getStartTime()))));
+                log.info("Scheduled expiry of {} active rentals and start of {} reservations", rentals.size(), reservations.size());
+                worker = new Thread(this::run, "rental-expiry");
+                worker.setDaemon(true);
+                worker.start();
+        }
+
+        @PreDestroy
+        public void stop() {
+                if(worker != null) {
+
+                        worker.interrupt();
+                }
+        }
+
+        /**
+         * Queues the end of an order, or its start first when it is a reservation
+         * that has not started yet.
+         */
+        public void schedule(PlacedOrder order) {
+                ActiveRental rental = new ActiveRental(order.getCarId(), order.getStartTime(), order.getEndTime());
+                Expiry expiry = order.getStartTime().isAfter(LocalDateTime.now())
+                        ? new Expiry(rental, true, dueAt(order.getStartTime()))
+                        : new Expiry(rental, false, dueAt(order.getEndTime()));
+                afterCommit(() -> expiries.put(expiry));
+        }
+
+        public int startReserved(List<ActiveRental> rentals) {
+                List<ActiveRental> started = transactionTemplate.execute(status -> {
+                        List<ActiveRental> claimed = new ArrayList<>();
+                        for (ActiveRental rental : rentals) {
+                                if(carRepository.claimCar(rental.getCarId()) == 0) {
+
+                                        log.warn("Car with id {} is not available for the reservation starting at {}",
+                                                rental.getCarId(), rental.getStartTime());
+                                } else {
+
+                                        claimed.add(rental);
+                                }
+                        }
+                        Map<Long, CarPackage> packages = new HashMap<>();
+                        Map<Long, Integer> taken = new HashMap<>();
+                        carRepository.findAllById(claimed.stream().map(ActiveRental::getCarId).collect(Collectors.toList()))
+                                .forEach(car -> {
+                                        CarPackage carPackage = car.getCarPackage();
+                                        if(carPackage != null) {
+
+                                                packages.putIfAbsent(carPackage.getId(), carPackage);
+                                                taken.merge(carPackage.getId(), -1, Integer::sum);
+                                        }
+                                });
+                        taken.forEach((id, count) -> packageCapacityService.adjust(packages.get(id), count));
+                        return claimed;
+                });
+                started.forEach(rental -> expiries.put(new Expiry(rental, false, dueAt(rental.getEndTime()))));
+                if(!started.isEmpty()) {
+
+                        log.info("Took {} reserved cars out of service", started.size());
+                }
+                return started.size();
+        }
+
+        public int releaseExpired(List<ActiveRental> rentals) {
+                Map<Long, ActiveRental> byCar = rentals.stream()
+                        .collect(Collectors.toMap(ActiveRental::getCarId, rental -> rental, (first, second) -> second));
+                List<Car> released = transactionTemplate.execute(status -> {
+                        List<Car> cars = carRepository.findExpiredRentals(byCar.keySet(), LocalDateTime.now());
+                        if(cars.isEmpty()) {
+
+                                return cars;
+                        }
+                        carRepository.releaseCars(cars.stream().map(Car::getId).collect(Collectors.toList()));
+                        Map<Long, CarPackage> packages = new HashMap<>();
+                        Map<Long, Integer> freed = new HashMap<>();
+                        Map<Long, String> offers = new LinkedHashMap<>();
+                        for (Car car : cars) {
+                                CarPackage carPackage = car.getCarPackage();
+                                if(carPackage != null) {
+
+                                        packages.putIfAbsent(carPackage.getId(), carPackage);
+                                        freed.merge(carPackage.getId(), 1, Integer::sum);
+                                        offers.put(car.getId(), carPackage.getPackageName());
+                                }
+                        }
+                        freed.forEach((id, count) -> packageCapacityService.adjust(packages.get(id), count));
+                        afterCommit(() -> offers.forEach((carId, packageName) -> offer(packageName, carId)));
+                        return cars;
+                });
+                Set<Long> releasedIds = released.stream().map(Car::getId).collect(Collectors.toSet());
+                byCar.values().stream()
+                        .filter(rental -> releasedIds.contains(rental.getCarId()))
+                        .forEach(rental -> carScheduleService.release(rental.getCarId(), rental.getStartTime()));
+                releasedCars.increment(released.size());
+                if(!released.isEmpty()) {
+
+                        log.info("Released {} cars after their rental ended", released.size());
+                }
+                return released.size();
+        }
+
+        private void run() {
+                List<Expiry> batch = new ArrayList<>(batchSize);
+                while (!Thread.currentThread().isInterrupted()) {
+                        try {
+                                batch.add(expiries.take());
+                                expiries.drainTo(batch, batchSize - 1);
+                                Map<Boolean, List<ActiveRental>> due = batch.stream().collect(Collectors.partitioningBy(
+                                        Expiry::isStart, Collectors.mapping(Expiry::getRental, Collectors.toList())));
+                                process(due.get(true), true);
+                                process(due.get(false), false);
+                        } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                        } finally {
+                                batch.clear();
+                        }
+                }
+        }
+
+        private void process(List<ActiveRental> rentals, boolean start) {
+                if(rentals.isEmpty()) {
+
+                        return;
+                }
+                try {
+                        if(start) {
+
+                                startReserved(rentals);
+                        } else {
+
+                                releaseExpired(rentals);
+                        }
+                } catch (RuntimeException e) {
+                        log.error("Could not {} {} rentals, retrying in {} ms", start ? "start" : "release",
+                                rentals.size(), retryDelay, e);
+                        long retryAt = System.currentTimeMillis() + retryDelay;
+                        rentals.forEach(rental -> expiries.put(new Expiry(rental, start, retryAt)));
+                }
+        }
+
+        private void offer(String packageName, Long carId) {
+                if(!waitlistService.offer(packageName, carId)) {
+
+                        availableCarPool.offer(packageName, carId);
+                }
+        }
+
+        private void afterCommit(Runnable action) {
+                if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+
+                        action.run();
+                        return;
+                }
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                        @Override
+                        public void afterCommit() {
+                                action.run();
+                        }
+
+                });
+        }
+
+        private static long dueAt(LocalDateTime time) {
+                return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+
+        private static class Expiry implements Delayed {
+
+                private final ActiveRental rental;
+                private final boolean start;
+                private final long dueAt;
+
+                Expiry(ActiveRental rental, boolean start, long dueAt) {
+                        this.rental = rental;
+                        this.start = start;
+                        this.dueAt = dueAt;
+                }
+
+                ActiveRental getRental() {
+                        return rental;
+                }
+
+                boolean isStart() {
+                        return start;
+                }
+
+                @Override
+                public long getDelay(TimeUnit unit) {
+                        return unit.convert(dueAt - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+                }
+
+                @Override
+                public int compareTo(Delayed other) {
+                        return Long.compare(dueAt, ((Expiry) other).dueAt);
+                }
+
+        }
+
+}
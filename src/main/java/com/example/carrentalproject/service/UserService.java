@@ -14,20 +14,27 @@ import com.example.carrentalproject.exception.AssignedRoleException;
 import com.example.carrentalproject.exception.ExistingEntityException;
 import com.example.carrentalproject.exception.NoCreditCardException;
 import com.example.carrentalproject.repository.UserRepository;
+import com.example.carrentalproject.security.AppUserDetails;
+import com.example.carrentalproject.security.UserDetailsCache;
+import com.example.carrentalproject.security.UserIdCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.persistence.EntityNotFoundException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 
 import static com.example.carrentalproject.mapper.CreditCardDtoMapper.mapToCreditCard;
 
@@ -35,15 +42,23 @@ import static com.example.carrentalproject.mapper.CreditCardDtoMapper.mapToCredi
 @RequiredArgsConstructor
 @Transactional
 @Slf4j
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
 
         private final UserRepository userRepository;
         private final RoleRepository roleRepository;
         private final CreditCardRepository creditCardRepository;
         private final PasswordEncoder passwordEncoder;
+        private final UserIdCache userIdCache;
+        private final UserDetailsCache userDetailsCache;
+        private final CardNumberFilterService cardNumberFilterService;
 
         @Override
         public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+                AppUserDetails cached = userDetailsCache.get(username);
+                if(cached != null) {
+
+                        return cached;
+                }
                 User user = userRepository.findByUsername(username)
                         .orElseThrow(() -> new UsernameNotFoundException("Username Not Found!"));
 
@@ -53,7 +68,20 @@ public class UserService implements UserDetailsService {
                 user.getRoles().forEach(role -> {
                         authorities.add(new SimpleGrantedAuthority(role.getName()));
                 });
-                return new org.springframework.security.core.userdetails.User(user.getUsername(), user.getPassword(), authorities);
+                AppUserDetails userDetails = new AppUserDetails(user.getId(), user.getUsername(), user.getPassword(), authorities);
+                userDetailsCache.put(userDetails);
+                return userDetails;
+        }
+
+        @Override
+        public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+                User user = userRepository.findByUsername(userDetails.getUsername())
+                        .orElseThrow(() -> new UsernameNotFoundException("Username Not Found!"));
+                log.info("Rehashing password of user {}", user.getUsername());
+                user.setPassword(newPassword);
+                userRepository.save(user);
+                afterCommit(() -> userDetailsCache.evict(user.getUsername()));
+                return new AppUserDetails(user.getId(), user.getUsername(), newPassword, userDetails.getAuthorities());
         }
 
         public UserInDto saveUser(UserInDto userInDto) {
@@ -77,6 +105,10 @@ public class UserService implements UserDetailsService {
                 userEdited.setPassword(passwordEncoder.encode(userInDto.getPassword()));
                 userEdited.setEmail(userInDto.getEmail());
                 userEdited.setPhone(userInDto.getPhone());
+                afterCommit(() -> {
+                        userIdCache.evict(id);
+                        userDetailsCache.evict(id);
+                });
                 return userRepository.save(userEdited);
         }
 
@@ -87,11 +119,15 @@ public class UserService implements UserDetailsService {
                         throw new UsernameNotFoundException("This User Does Not Exists!");
                 }
                 userRepository.deleteById(id);
+                afterCommit(() -> {
+                        userIdCache.evict(id);
+                        userDetailsCache.evict(id);
+                });
         }
 
         public Role saveRole(Role role) {
                 log.info("Saving new role {} to the database", role.getName());
-                if(roleRepository.findByName(role.getName()).isPresent()) {
+                if(roleRepository.findIdByName(role.getName()).isPresent()) {
 
                         throw new ExistingEntityException("Role With Given Name Already Exists!");
                 }
@@ -102,14 +138,16 @@ public class UserService implements UserDetailsService {
                 log.info("Adding role {} to user {}", roleName, username);
                 User user = userRepository.findByUsername(username)
                         .orElseThrow(() -> new UsernameNotFoundException("This User Does Not Exists!"));
-                Role role = roleRepository.findByName(roleName)
+                Long roleId = roleRepository.findIdByName(roleName)
                         .orElseThrow(() -> new EntityNotFoundException("This Role Does Not Exists!"));
-                if(user.getRoles().contains(role)) {
+                if(user.getRoles().stream().anyMatch(assigned -> Objects.equals(assigned.getId(), roleId))) {
 
                         throw new AssignedRoleException("User Already Has This Role");
                 }
+                Role role = roleRepository.getById(roleId);
                 user.getRoles().add(role);
                 role.getUsers().add(user);
+                afterCommit(() -> userDetailsCache.evict(username));
                 return userRepository.save(user);
         }
 
@@ -117,10 +155,11 @@ public class UserService implements UserDetailsService {
                 log.info("Deleting role {} of user {}", roleName, username);
                 User user = userRepository.findByUsername(username)
                         .orElseThrow(() -> new UsernameNotFoundException("This User Does Not Exists!"));
-                Role role = roleRepository.findByName(roleName)
+                Long roleId = roleRepository.findIdByName(roleName)
                         .orElseThrow(() -> new EntityNotFoundException("This Role Does Not Exists!"));
-                user.getRoles().remove(role);
-                role.getUsers().remove(user);
+                user.getRoles().removeIf(assigned -> Objects.equals(assigned.getId(), roleId));
+                roleRepository.getById(roleId).getUsers().remove(user);
+                afterCommit(() -> userDetailsCache.evict(username));
         }
 
         public User addCreditCardToUser(String username, CreditCardDto creditCardDto) {
@@ -132,7 +171,9 @@ public class UserService implements UserDetailsService {
 
                         throw new IllegalCallerException("User Already Has Credit Card!");
                 }
+                cardNumberFilterService.checkUnique(creditCardDto.getCardNumber());
                 CreditCard card = creditCardRepository.save(mapToCreditCard(creditCardDto));
+                cardNumberFilterService.add(creditCardDto.getCardNumber());
                 user.setCreditCard(card);
                 card.setUser(user);
                 return userRepository.save(user);
@@ -154,4 +195,21 @@ public class UserService implements UserDetailsService {
                 return UserDtoMapper.mapUserToUserDto(userRepository.findAll());
         }
 
+        private void afterCommit(Runnable eviction) {
+                if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+
+                        eviction.run();
+                        return;
+                }
+                // evicting before commit lets a concurrent login cache the old row again
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                        @Override
+                        public void afterCommit() {
+                                eviction.run();
+                        }
+
+                });
+        }
+
 }
@@ -0,0 +1,184 @@
+package com.example.carrentalproject.service;
+
+import com.example.carrentalproject.domain.User;
+import com.example.carrentalproject.dto.CarOffer;
+import com.example.carrentalproject.exception.NoAccessKeyException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queues users with an access key for a sold-out package. A freed car is held
+ * for the head of the queue and handed to them through a long-poll; if they do
+ * not pick it up in time, it moves on to the next user in line. Holds are kept
+ * per user, so each user holds at most one car at a time.
+ */
+@Service
+@Slf4j
+public class WaitlistService {
+
+        private final AvailableCarPool availableCarPool;
+        private final long holdTime;
+        private final long pollTimeout;
+        private final Map<String, Deque<Long>> waitlists = new ConcurrentHashMap<>();
+        private final Map<Long, Hold> holds = new ConcurrentHashMap<>(); // by user id
+        private final Map<Long, DeferredResult<ResponseEntity<CarOffer>>> pollers = new ConcurrentHashMap<>();
+        private final ScheduledExecutorService expirer =
+                Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("waitlist-hold-"));
+
+        public WaitlistService(AvailableCarPool availableCarPool,
+                               @Value("${waitlist.holdTime:120000}") long holdTime,
+                               @Value("${waitlist.pollTimeout:30000}") long pollTimeout) {
+                this.availableCarPool = availableCarPool;
+                this.holdTime = holdTime;
+                this.pollTimeout = pollTimeout;
+        }
+
+        @PreDestroy
+        public void shutdown() {
+                expirer.shutdownNow();
+        }
+
+        public int join(User user) {
+                if(user.getAccessKey() == null) {
+
+                        throw new NoAccessKeyException("You Do Not Have An Access Key!");
+                }
+                Deque<Long> waitlist = waitlist(user.getAccessKey().getCarPackage());
+                synchronized (waitlist) {
+                        if(!waitlist.contains(user.getId())) {
+
+                                waitlist.addLast(user.getId());
+                        }
+                        int position = new ArrayList<>(waitlist).indexOf(user.getId()) + 1;
+                        log.info("User {} is number {} on the waitlist of package {}", user.getId(), position,
+                                user.getAccessKey().getCarPackage());
+                        return position;
+                }
+        }
+
+        public void leave(User user) {
+                waitlists.values().forEach(waitlist -> {
+                        synchronized (waitlist) {
+                                waitlist.remove(user.getId());
+                        }
+                });
+                DeferredResult<ResponseEntity<CarOffer>> poller = pollers.remove(user.getId());
+                if(poller != null) {
+
+                        poller.setResult(ResponseEntity.noContent().build());
+                }
+        }
+
+        public DeferredResult<ResponseEntity<CarOffer>> poll(User user) {
+                DeferredResult<ResponseEntity<CarOffer>> result = new DeferredResult<>(pollTimeout, ResponseEntity.noContent().build());
+                DeferredResult<ResponseEntity<CarOffer>> previous = pollers.put(user.getId(), result);
+                if(previous != null) {
+
+                        previous.setResult(ResponseEntity.noContent().build());
+                }
+                result.onCompletion(() -> pollers.remove(user.getId(), result));
+                Hold hold = holds.get(user.getId());
+                if(hold != null) {
+
+                        notify(hold);
+                }
+                return result;
+        }
+
+        public boolean offer(String packageName, Long carId) {
+                Deque<Long> waitlist = waitlist(packageName);
+                CarOffer offer = new CarOffer(carId, packageName, LocalDateTime.now().plus(Duration.ofMillis(holdTime)));
+                Hold hold;
+                do {
+                        Long userId;
+                        synchronized (waitlist) {
+                                userId = waitlist.pollFirst();
+                        }
+                        if(userId == null) {
+
+                                return false;
+                        }
+                        hold = new Hold(userId, offer);
+                } while (holds.putIfAbsent(hold.getUserId(), hold) != null); // users already holding a car are skipped
+                Hold placed = hold;
+                expirer.schedule(() -> expire(placed), holdTime, TimeUnit.MILLISECONDS);
+                log.info("Car with id {} is held for user {}", carId, hold.getUserId());
+                notify(hold);
+                return true;
+        }
+
+        public boolean isHeldForAnother(Long carId, Long userId) {
+                return holds.values().stream()
+                        .anyMatch(hold -> hold.getOffer().getCarId().equals(carId) && !hold.getUserId().equals(userId));
+        }
+
+        /**
+         * Takes the user off the waitlists once they used their access key. A car
+         * they held other than {@code carId} (null when nothing was taken out of
+         * service) is handed on.
+         */
+        public void claimed(Long carId, User user) {
+                Hold hold = holds.remove(user.getId());
+                leave(user);
+                if(hold != null && !hold.getOffer().getCarId().equals(carId)) {
+
+                        handOn(hold);
+                }
+        }
+
+        private void expire(Hold hold) {
+                if(holds.remove(hold.getUserId(), hold)) {
+
+                        log.info("Hold of car with id {} for user {} expired", hold.getOffer().getCarId(), hold.getUserId());
+                        handOn(hold);
+                }
+        }
+
+        private void handOn(Hold hold) {
+                String packageName = hold.getOffer().getPackageName();
+                if(!offer(packageName, hold.getOffer().getCarId())) {
+
+                        availableCarPool.offer(packageName, hold.getOffer().getCarId());
+                }
+        }
+
+        private void notify(Hold hold) {
+                DeferredResult<ResponseEntity<CarOffer>> poller = pollers.remove(hold.getUserId());
+                if(poller != null) {
+
+                        poller.setResult(ResponseEntity.ok(hold.getOffer()));
+                }
+        }
+
+        private Deque<Long> waitlist(String packageName) {
+                return waitlists.computeIfAbsent(packageName, name -> new LinkedList<>());
+        }
+
+        @AllArgsConstructor
+        @Getter
+        private static class Hold {
+
+                private final Long userId;
+                private final CarOffer offer;
+
+        }
+
+}
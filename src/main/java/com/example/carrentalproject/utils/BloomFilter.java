@@ -0,0 +1,70 @@
+package com.example.carrentalproject.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter of long keys, sized for an expected number of keys
+ * and a target false-positive rate. Bit positions come from double hashing of
+ * two murmur3 finalizer mixes of the key.
+ */
+public class BloomFilter {
+
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashCount;
+        private final AtomicLong insertions = new AtomicLong();
+
+        public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+                if(!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+
+                        throw new IllegalArgumentException("False positive rate must be between 0 and 1, got " + falsePositiveRate);
+                }
+                long expected = Math.max(1, expectedInsertions);
+                long optimalBits = (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+                this.bits = new AtomicLongArray((int) Math.max(1, (optimalBits + 63) / 64));
+                this.bitCount = bits.length() * 64L;
+                this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expected * Math.log(2)));
+        }
+
+        public void put(long key) {
+                long first = mix(key);
+                long second = mix(first ^ 0x9e3779b97f4a7c15L);
+                for (int i = 0; i < hashCount; i++) {
+                        long index = Math.floorMod(first + i * second, bitCount);
+                        bits.getAndAccumulate((int) (index >>> 6), 1L << index, (word, mask) -> word | mask);
+                }
+                insertions.incrementAndGet();
+        }
+
+        public boolean mightContain(long key) {
+                long first = mix(key);
+                long second = mix(first ^ 0x9e3779b97f4a7c15L);
+                for (int i = 0; i < hashCount; i++) {
+                        long index = Math.floorMod(first + i * second, bitCount);
+                        if((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+
+                                return false;
+                        }
+                }
+                return true;
+        }
+
+        public double expectedFalsePositiveRate() {
+                return Math.pow(1 - Math.exp(-(double) hashCount * insertions.get() / bitCount), hashCount);
+        }
+
+        public long getInsertions() {
+                return insertions.get();
+        }
+
+        private static long mix(long key) {
+                key ^= key >>> 33;
+                key *= 0xff51afd7ed558ccdL;
+                key ^= key >>> 33;
+                key *= 0xc4ceb9fe1a85ec53L;
+                key ^= key >>> 33;
+                return key;
+        }
+
+}
@@ -0,0 +1,41 @@
+package com.example.carrentalproject.utils;
+
+import com.example.carrentalproject.exception.InvalidCursorException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+@Getter
+@AllArgsConstructor
+public class PageCursor {
+
+        private final Sort.Direction direction;
+        private final Long lastId;
+
+        public static PageCursor first(Sort.Direction sort) {
+                Sort.Direction direction = SortValidator.sortDirection(sort);
+                return new PageCursor(direction, direction.isAscending() ? 0L : Long.MAX_VALUE);
+        }
+
+        public static PageCursor decode(String cursor) {
+                try {
+                        String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII).split(":");
+                        if(parts.length != 2) {
+
+                                throw new InvalidCursorException("Invalid Page Cursor!");
+                        }
+                        return new PageCursor(Sort.Direction.fromString(parts[0]), Long.valueOf(parts[1]));
+                } catch (IllegalArgumentException e) {
+                        throw new InvalidCursorException("Invalid Page Cursor!");
+                }
+        }
+
+        public String encode() {
+                String cursor = direction.name() + ":" + lastId;
+                return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.US_ASCII));
+        }
+
+}
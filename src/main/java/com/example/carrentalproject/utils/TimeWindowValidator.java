@@ -0,0 +1,19 @@
+package com.example.carrentalproject.utils;
+
+import com.example.carrentalproject.exception.InvalidTimeWindowException;
+
+import java.time.LocalDateTime;
+
+public class TimeWindowValidator {
+
+        private TimeWindowValidator() {
+        }
+
+        public static void checkTimeWindow(LocalDateTime from, LocalDateTime to) {
+                if(from != null && to != null && !from.isBefore(to)) {
+
+                        throw new InvalidTimeWindowException("Start Of The Time Window Must Be Before Its End!");
+                }
+        }
+
+}
@@ -0,0 +1,83 @@
+package com.example.carrentalproject.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.example.carrentalproject.filter.JwtTokenVerifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-request cost of bearer token authorization before and after the verified-token cache.
+ * Run {@link #main(String[])} from the IDE; the GC profiler reports allocations per operation (gc.alloc.rate.norm).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtVerificationBenchmark {
+
+        private static final String SECRET_KEY = "apple-banana-orange-grapefruit22";
+
+        private String token;
+        private JwtTokenVerifier tokenVerifier;
+
+        @Setup
+        public void setUp() {
+                token = JWT.create()
+                        .withSubject("user")
+                        .withExpiresAt(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                        .withIssuer("http://localhost:8080/login")
+                        .withClaim("roles", List.of("ROLE_USER", "ROLE_MANAGER"))
+                        .sign(Algorithm.HMAC256(SECRET_KEY.getBytes()));
+                tokenVerifier = new JwtTokenVerifier(SECRET_KEY, 10_000);
+        }
+
+        @Benchmark
+        public Collection<SimpleGrantedAuthority> verifierPerRequest() {
+                Algorithm algorithm = Algorithm.HMAC256(SECRET_KEY.getBytes());
+                JWTVerifier verifier = JWT.require(algorithm).build();
+                DecodedJWT decodedJWT = verifier.verify(token);
+                String[] roles = decodedJWT.getClaim("roles").asArray(String.class);
+                Collection<SimpleGrantedAuthority> authorities = new ArrayList<>();
+                for (String role : roles) {
+                        authorities.add(new SimpleGrantedAuthority(role));
+                }
+                return authorities;
+        }
+
+        @Benchmark
+        public Collection<SimpleGrantedAuthority> cachedVerifiedToken() {
+                return tokenVerifier.verify(token).getAuthorities();
+        }
+
+        public static void main(String[] args) throws RunnerException {
+                new Runner(new OptionsBuilder()
+                        .include(JwtVerificationBenchmark.class.getSimpleName())
+                        .addProfiler(GCProfiler.class)
+                        .build()).run();
+        }
+
+}
@@ -5,6 +5,10 @@ import com.example.carrentalproject.domain.CarPackage;
 import com.example.carrentalproject.domain.CarParameters;
 import com.example.carrentalproject.dto.CarDto;
 import com.example.carrentalproject.dto.CarPackageDto;
+import com.example.carrentalproject.dto.CarSearchCriteria;
+import com.example.carrentalproject.dto.CarView;
+import com.example.carrentalproject.dto.CursorPage;
+import com.example.carrentalproject.service.CarCatalogService;
 import com.example.carrentalproject.service.CarService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -27,10 +31,14 @@ class CarControllerTest {
     @Mock
     private CarService carService;
 
+    @Mock
+    private CarCatalogService carCatalogService;
+
     @InjectMocks
     private CarController carController;
 
     private Car testCar;
+    private CarView testCarView;
     private CarDto testCarDto;
     private CarPackage testPackage;
 
@@ -43,6 +51,14 @@ class CarControllerTest {
         testCar.setRegistrationNr("ABC1234");
         testCar.setIsAvailable(true);
 
+        testCarView = CarView.builder()
+                .id(1L)
+                .registrationNr("ABC1234")
+                .brand("Toyota")
+                .model("Corolla")
+                .isAvailable(true)
+                .build();
+
         testCarDto = new CarDto("ABC1234", "Toyota", "Corolla", true);
 
         testPackage = new CarPackage();
@@ -54,16 +70,16 @@ class CarControllerTest {
     @Test
     void itShouldGetAllCars() {
         // Given
-        List<Car> cars = Arrays.asList(testCar);
-        when(carService.getAllCars(anyInt(), any(Sort.Direction.class))).thenReturn(cars);
+        List<CarView> cars = Arrays.asList(testCarView);
+        when(carCatalogService.getAllCars(anyInt(), any(Sort.Direction.class))).thenReturn(cars);
 
         // When
-        List<Car> result = carController.getAllCars(0, Sort.Direction.ASC);
+        List<CarView> result = carController.getAllCars(0, Sort.Direction.ASC);
 
         // Then
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(carService).getAllCars(0, Sort.Direction.ASC);
+        verify(carCatalogService).getAllCars(0, Sort.Direction.ASC);
     }
 
     @Test
@@ -84,31 +100,60 @@ class CarControllerTest {
     @Test
     void itShouldGetAvailableCars() {
         // Given
-        List<Car> cars = Arrays.asList(testCar);
-        when(carService.getAvailableCars(anyInt(), any(Sort.Direction.class))).thenReturn(cars);
+        List<CarView> cars = Arrays.asList(testCarView);
+        when(carCatalogService.getAvailableCars(anyInt(), any(Sort.Direction.class))).thenReturn(cars);
 
         // When
-        List<Car> result = carController.getAvailableCars(0, Sort.Direction.ASC);
+        List<CarView> result = carController.getAvailableCars(0, Sort.Direction.ASC);
 
         // Then
         assertNotNull(result);
         assertEquals(1, result.size());
         assertTrue(result.get(0).getIsAvailable());
-        verify(carService).getAvailableCars(0, Sort.Direction.ASC);
+        verify(carCatalogService).getAvailableCars(0, Sort.Direction.ASC);
+    }
+
+    @Test
+    void itShouldSeekAvailableCars() {
+        // Given
+        CursorPage<CarView> page = new CursorPage<>(Arrays.asList(testCarView), "QVNDOjE");
+        when(carCatalogService.seekAvailableCars("QVNDOjA", Sort.Direction.ASC)).thenReturn(page);
+
+        // When
+        CursorPage<CarView> result = carController.seekAvailableCars("QVNDOjA", Sort.Direction.ASC);
+
+        // Then
+        assertEquals(page, result);
+        verify(carCatalogService).seekAvailableCars("QVNDOjA", Sort.Direction.ASC);
+    }
+
+    @Test
+    void itShouldSearchCars() {
+        // Given
+        CarSearchCriteria criteria = CarSearchCriteria.builder().brand("Toyota").available(true).build();
+        List<CarView> cars = Arrays.asList(testCarView);
+        when(carCatalogService.searchCars(criteria, 1, Sort.Direction.ASC)).thenReturn(cars);
+
+        // When
+        List<CarView> result = carController.searchCars(criteria, 1, Sort.Direction.ASC);
+
+        // Then
+        assertEquals(cars, result);
+        verify(carCatalogService).searchCars(criteria, 1, Sort.Direction.ASC);
     }
 
     @Test
     void itShouldGetCarById() {
         // Given
-        when(carService.getCar(1L)).thenReturn(testCar);
+        when(carCatalogService.getCar(1L)).thenReturn(testCarView);
 
         // When
-        Car result = carController.getCar(1L);
+        CarView result = carController.getCar(1L);
 
         // Then
         assertNotNull(result);
         assertEquals("Toyota", result.getBrand());
-        verify(carService).getCar(1L);
+        verify(carCatalogService).getCar(1L);
     }
 
     @Test
@@ -1,6 +1,7 @@
 package com.example.carrentalproject.controller;
 
 import com.example.carrentalproject.domain.Car;
+import com.example.carrentalproject.domain.PlacedOrder;
 import com.example.carrentalproject.exception.InvalidPackageException;
 import com.example.carrentalproject.exception.NoAccessKeyException;
 import com.example.carrentalproject.exception.UnavailableCarException;
@@ -13,6 +14,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import javax.persistence.EntityNotFoundException;
+import java.time.LocalDateTime;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -99,4 +101,54 @@ class DeliveryControllerTest {
                 () -> deliveryController.pickUpTheCar(1L));
         verify(deliveryService).pickUpTheCar(1L);
     }
+
+    @Test
+    void itShouldPickUpAnyCarFromPackage() {
+        // Given
+        Car car = Car.builder()
+                .id(3L)
+                .brand("Audi")
+                .model("RS3")
+                .build();
+        when(deliveryService.pickUpAnyCar()).thenReturn(car);
+
+        // When
+        Car result = deliveryController.pickUpAnyCar();
+
+        // Then
+        assertEquals(3L, result.getId());
+        verify(deliveryService).pickUpAnyCar();
+    }
+
+    @Test
+    void itShouldJoinTheWaitlist() {
+        // Given
+        when(deliveryService.joinWaitlist()).thenReturn(2);
+
+        // When
+        int position = deliveryController.joinWaitlist();
+
+        // Then
+        assertEquals(2, position);
+        verify(deliveryService).joinWaitlist();
+    }
+
+    @Test
+    void itShouldReserveTheCar() {
+        // Given
+        LocalDateTime start = LocalDateTime.of(2030, 5, 1, 10, 0);
+        PlacedOrder order = PlacedOrder.builder()
+                .carId(1L)
+                .startTime(start)
+                .endTime(start.plusHours(2))
+                .build();
+        when(deliveryService.reserveCar(1L, start)).thenReturn(order);
+
+        // When
+        PlacedOrder result = deliveryController.reserveCar(1L, start);
+
+        // Then
+        assertEquals(start, result.getStartTime());
+        verify(deliveryService).reserveCar(1L, start);
+    }
 }
@@ -2,7 +2,10 @@ package com.example.carrentalproject.controller;
 
 import com.example.carrentalproject.domain.PlacedOrder;
 import com.example.carrentalproject.dto.AccessKeyDto;
+import com.example.carrentalproject.dto.CursorPage;
+import com.example.carrentalproject.dto.OrderSearchCriteria;
 import com.example.carrentalproject.exception.ExistingOrderException;
+import com.example.carrentalproject.exception.InvalidTimeWindowException;
 import com.example.carrentalproject.service.OrderService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -48,16 +51,17 @@ class OrderControllerTest {
     void itShouldGetAllOrders() {
         // Given
         List<PlacedOrder> orders = Arrays.asList(testOrder);
-        when(orderService.getOrders()).thenReturn(orders);
+        OrderSearchCriteria criteria = new OrderSearchCriteria();
+        when(orderService.getOrders(criteria, null, null)).thenReturn(new CursorPage<>(orders, null));
 
         // When
-        List<PlacedOrder> result = orderController.getOrders();
+        List<PlacedOrder> result = orderController.getOrders(criteria, null, null).getContent();
 
         // Then
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("Toyota", result.get(0).getBrand());
-        verify(orderService).getOrders();
+        verify(orderService).getOrders(criteria, null, null);
     }
 
     @Test
@@ -75,6 +79,25 @@ class OrderControllerTest {
         verify(orderService).submitOrder("Basic", 5);
     }
 
+    @Test
+    void itShouldSubmitOrderWithHold() {
+        // Given
+        AccessKeyDto heldAccessKey = AccessKeyDto.builder()
+                .id(1L)
+                .carPackage("Basic")
+                .hours(5)
+                .heldCarId(3L)
+                .build();
+        when(orderService.submitOrder("Basic", 5, true)).thenReturn(heldAccessKey);
+
+        // When
+        AccessKeyDto result = orderController.submitOrder("Basic", 5, true);
+
+        // Then
+        assertEquals(3L, result.getHeldCarId());
+        verify(orderService).submitOrder("Basic", 5, true);
+    }
+
     @Test
     void itShouldThrowExistingOrderException() {
         // Given
@@ -98,4 +121,15 @@ class OrderControllerTest {
         // Then
         verify(orderService).submitOrder("Premium", 10);
     }
+
+    @Test
+    void itShouldRejectInvalidExportWindowBeforeStreaming() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        OrderSearchCriteria criteria = OrderSearchCriteria.builder().from(now).to(now.minusHours(1)).build();
+
+        // When & Then
+        assertThrows(InvalidTimeWindowException.class, () -> orderController.exportOrders(criteria));
+        verifyNoInteractions(orderService);
+    }
 }
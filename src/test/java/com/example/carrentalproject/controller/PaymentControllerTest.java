@@ -3,6 +3,8 @@ package com.example.carrentalproject.controller;
 import com.example.carrentalproject.dto.CreditCardDto;
 import com.example.carrentalproject.exception.InsufficientFundsException;
 import com.example.carrentalproject.exception.NoCreditCardException;
+import com.example.carrentalproject.service.BalanceReconciliationService;
+import com.example.carrentalproject.service.MoneyTransferBatchService;
 import com.example.carrentalproject.service.PaymentService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,6 +12,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -21,6 +29,12 @@ class PaymentControllerTest {
     @Mock
     private PaymentService paymentService;
 
+    @Mock
+    private MoneyTransferBatchService moneyTransferBatchService;
+
+    @Mock
+    private BalanceReconciliationService balanceReconciliationService;
+
     @InjectMocks
     private PaymentController paymentController;
 
@@ -51,7 +65,7 @@ class PaymentControllerTest {
     @Test
     void itShouldPerformMoneyTransfer() {
         // Given
-        doNothing().when(paymentService).moneyTransfer(500L);
+        when(paymentService.moneyTransfer(500L)).thenReturn(CompletableFuture.completedFuture(null));
 
         // When
         assertDoesNotThrow(() -> paymentController.moneyTransfer(500L));
@@ -87,7 +101,7 @@ class PaymentControllerTest {
     @Test
     void itShouldCallServiceWithCorrectAmount() {
         // Given
-        doNothing().when(paymentService).moneyTransfer(anyLong());
+        when(paymentService.moneyTransfer(anyLong())).thenReturn(CompletableFuture.completedFuture(null));
 
         // When
         paymentController.moneyTransfer(750L);
@@ -95,4 +109,42 @@ class PaymentControllerTest {
         // Then
         verify(paymentService).moneyTransfer(750L);
     }
+
+    @Test
+    void itShouldStreamBatchMoneyTransferReport() throws Exception {
+        // Given
+        InputStream transfers = new ByteArrayInputStream("{\"username\":\"jan\",\"amount\":500}\n".getBytes());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        paymentController.moneyTransferBatch(transfers, response);
+
+        // Then
+        verify(moneyTransferBatchService).transfer(transfers, response.getOutputStream());
+        assertEquals(OrderController.NDJSON, response.getContentType());
+    }
+
+    @Test
+    void itShouldStreamBalanceReconciliationReport() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        paymentController.reconcileBalances().writeTo(out);
+
+        // Then
+        verify(balanceReconciliationService).acquire();
+        verify(balanceReconciliationService).reconcileAcquired(out);
+    }
+
+    @Test
+    void itShouldRejectReconciliationBeforeStreamingWhenOneIsRunning() {
+        // Given
+        doThrow(new IllegalCallerException("Balance Reconciliation Is Already Running!"))
+                .when(balanceReconciliationService).acquire();
+
+        // When & Then
+        assertThrows(IllegalCallerException.class, () -> paymentController.reconcileBalances());
+        verify(balanceReconciliationService, never()).reconcileAcquired(any());
+    }
 }
@@ -0,0 +1,150 @@
+package com.example.carrentalproject.filter;
+
+import com.example.carrentalproject.domain.IdempotentResponse;
+import com.example.carrentalproject.repository.IdempotentResponseRepository;
+import com.example.carrentalproject.service.IdempotencyService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyFilterTest {
+
+        @Mock
+        IdempotentResponseRepository idempotentResponseRepository;
+
+        private IdempotencyFilter idempotencyFilter;
+        private final AtomicInteger calls = new AtomicInteger();
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        private final FilterChain chain = (request, response) -> {
+                calls.incrementAndGet();
+                response.setContentType("application/json");
+                response.getWriter().write("{\"id\":" + calls.get() + "}");
+        };
+
+        @BeforeEach
+        void setUp() {
+                IdempotencyService idempotencyService = new IdempotencyService(idempotentResponseRepository,
+                        new SimpleMeterRegistry(), 60_000, 100);
+                idempotencyFilter = new IdempotencyFilter(idempotencyService, 5_000);
+        }
+
+        private MockHttpServletRequest request(String idempotencyKey, String hours) {
+                MockHttpServletRequest request = new MockHttpServletRequest("POST", "/orders");
+                request.setServletPath("/orders");
+                request.addParameter("carPackage", "Sporty");
+                request.addParameter("hours", hours);
+                if(idempotencyKey != null) {
+
+                        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, idempotencyKey);
+                }
+                return request;
+        }
+
+        @Test
+        void itShouldReplayStoredResponseWithoutCallingService() throws Exception {
+                MockHttpServletResponse first = new MockHttpServletResponse();
+                MockHttpServletResponse retry = new MockHttpServletResponse();
+
+                idempotencyFilter.doFilter(request("a1", "2"), first, chain);
+                idempotencyFilter.doFilter(request("a1", "2"), retry, chain);
+
+                assertThat(calls.get()).isEqualTo(1);
+                assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString()).isEqualTo("{\"id\":1}");
+                assertThat(retry.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED)).isEqualTo("true");
+                verify(idempotentResponseRepository).save(any());
+        }
+
+        @Test
+        void itShouldRejectKeyReusedForAnotherRequest() throws Exception {
+                MockHttpServletResponse retry = new MockHttpServletResponse();
+
+                idempotencyFilter.doFilter(request("a1", "2"), new MockHttpServletResponse(), chain);
+                idempotencyFilter.doFilter(request("a1", "5"), retry, chain);
+
+                assertThat(calls.get()).isEqualTo(1);
+                assertThat(retry.getStatus()).isEqualTo(422);
+        }
+
+        @Test
+        void itShouldPassThroughRequestsWithoutKey() throws Exception {
+                idempotencyFilter.doFilter(request(null, "2"), new MockHttpServletResponse(), chain);
+                idempotencyFilter.doFilter(request(null, "2"), new MockHttpServletResponse(), chain);
+
+                assertThat(calls.get()).isEqualTo(2);
+        }
+
+        @Test
+        void itShouldMakeInFlightDuplicateWaitForFirstResponse() throws Exception {
+                CountDownLatch started = new CountDownLatch(1);
+                FilterChain slowChain = (request, response) -> {
+                        started.countDown();
+                        try {
+                                release.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                        }
+                        chain.doFilter(request, response);
+                };
+                MockHttpServletResponse first = new MockHttpServletResponse();
+                MockHttpServletResponse duplicate = new MockHttpServletResponse();
+
+                CompletableFuture<Void> firstCall = CompletableFuture.runAsync(() -> filter(request("a1", "2"), first, slowChain));
+                assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+                CompletableFuture<Void> duplicateCall = CompletableFuture.runAsync(() -> filter(request("a1", "2"), duplicate, slowChain));
+                Thread.sleep(100);
+                assertThat(duplicateCall).isNotDone();
+                release.countDown();
+                firstCall.get(5, TimeUnit.SECONDS);
+                duplicateCall.get(5, TimeUnit.SECONDS);
+
+                assertThat(calls.get()).isEqualTo(1);
+                assertThat(duplicate.getContentAsString()).isEqualTo("{\"id\":1}");
+        }
+
+        @Test
+        void itShouldReplayResponseCompletedBetweenFindAndClaim() throws Exception {
+                IdempotencyService idempotencyService = mock(IdempotencyService.class);
+                MockHttpServletResponse first = new MockHttpServletResponse();
+                idempotencyFilter.doFilter(request("a1", "2"), first, chain);
+                ArgumentCaptor<IdempotentResponse> stored = ArgumentCaptor.forClass(IdempotentResponse.class);
+                verify(idempotentResponseRepository).save(stored.capture());
+                when(idempotencyService.find(any())).thenReturn(Optional.empty(), Optional.of(stored.getValue()));
+                MockHttpServletResponse retry = new MockHttpServletResponse();
+
+                new IdempotencyFilter(idempotencyService, 5_000).doFilter(request("a1", "2"), retry, chain);
+
+                assertThat(calls.get()).isEqualTo(1);
+                assertThat(retry.getContentAsString()).isEqualTo("{\"id\":1}");
+                verify(idempotencyService).release(any());
+        }
+
+        private void filter(MockHttpServletRequest request, MockHttpServletResponse response, FilterChain filterChain) {
+                try {
+                        idempotencyFilter.doFilter(request, response, filterChain);
+                } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                }
+        }
+
+}
@@ -0,0 +1,56 @@
+package com.example.carrentalproject.filter;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtTokenVerifierTest {
+
+        private static final String SECRET_KEY = "test-secret-key-for-integration-tests";
+
+        private final JwtTokenVerifier tokenVerifier = new JwtTokenVerifier(SECRET_KEY, 100);
+
+        private String token(String secretKey, long expiresInMillis) {
+                return JWT.create()
+                        .withSubject("BlackJohn32")
+                        .withExpiresAt(new Date(System.currentTimeMillis() + expiresInMillis))
+                        .withClaim("roles", List.of("ROLE_USER"))
+                        .sign(Algorithm.HMAC256(secretKey.getBytes()));
+        }
+
+        @Test
+        void itShouldVerifyTokenAndReuseCachedResult() {
+                String token = token(SECRET_KEY, 60_000);
+
+                VerifiedToken verifiedToken = tokenVerifier.verify(token);
+
+                assertThat(verifiedToken.getUsername()).isEqualTo("BlackJohn32");
+                assertThat(verifiedToken.getAuthorities()).containsExactly(new SimpleGrantedAuthority("ROLE_USER"));
+                assertThat(tokenVerifier.verify(token)).isSameAs(verifiedToken);
+                assertThat(tokenVerifier.cachedTokens()).isEqualTo(1);
+        }
+
+        @Test
+        void itShouldRejectTokenSignedWithAnotherSecret() {
+                String token = token("another-secret", 60_000);
+
+                assertThrows(JWTVerificationException.class, () -> tokenVerifier.verify(token));
+                assertThat(tokenVerifier.cachedTokens()).isZero();
+        }
+
+        @Test
+        void itShouldRejectExpiredToken() {
+                String token = token(SECRET_KEY, -60_000);
+
+                assertThrows(JWTVerificationException.class, () -> tokenVerifier.verify(token));
+        }
+
+}
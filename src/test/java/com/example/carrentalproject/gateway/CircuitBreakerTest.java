@@ -0,0 +1,63 @@
+package com.example.carrentalproject.gateway;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+        private final AtomicLong now = new AtomicLong();
+        private final CircuitBreaker circuitBreaker = new CircuitBreaker(3, 1000, now::get);
+
+        @Test
+        void itShouldOpenAfterConsecutiveFailures() {
+                circuitBreaker.onFailure();
+                circuitBreaker.onFailure();
+                circuitBreaker.onSuccess();
+                circuitBreaker.onFailure();
+                circuitBreaker.onFailure();
+                assertThat(circuitBreaker.tryAcquire()).isTrue();
+
+                circuitBreaker.onFailure();
+
+                assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+                assertThat(circuitBreaker.tryAcquire()).isFalse();
+        }
+
+        @Test
+        void itShouldLetSingleTrialThroughAfterOpenDuration() {
+                open();
+                now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+
+                assertThat(circuitBreaker.tryAcquire()).isTrue();
+                assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+                assertThat(circuitBreaker.tryAcquire()).isFalse();
+
+                circuitBreaker.onSuccess();
+
+                assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+                assertThat(circuitBreaker.tryAcquire()).isTrue();
+        }
+
+        @Test
+        void itShouldReopenWhenTrialFails() {
+                open();
+                now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+                assertThat(circuitBreaker.tryAcquire()).isTrue();
+
+                circuitBreaker.onFailure();
+
+                assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+                assertThat(circuitBreaker.tryAcquire()).isFalse();
+        }
+
+        private void open() {
+                for (int i = 0; i < 3; i++) {
+                        circuitBreaker.onFailure();
+                }
+        }
+
+}
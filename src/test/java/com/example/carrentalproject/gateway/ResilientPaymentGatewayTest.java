@@ -0,0 +1,107 @@
+package com.example.carrentalproject.gateway;
+
+import com.example.carrentalproject.dto.PaymentAuthorization;
+import com.example.carrentalproject.dto.PaymentRequest;
+import com.example.carrentalproject.exception.PaymentGatewayException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ResilientPaymentGatewayTest {
+
+        private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        private final PaymentRequest request = new PaymentRequest("transfer-1", 1L, 4111111111111111L, 500L);
+        private StubPaymentGateway stub;
+
+        @AfterEach
+        void tearDown() {
+                if(stub != null) {
+
+                        stub.shutdown();
+                }
+        }
+
+        @Test
+        void itShouldAuthorizeThroughDelegate() {
+                stub = new StubPaymentGateway(0, 0.0);
+                ResilientPaymentGateway gateway = gateway(stub, 1, 1000, 5);
+
+                PaymentAuthorization authorization = gateway.authorize(request).join();
+
+                assertThat(authorization.isApproved()).isTrue();
+                assertThat(authorization.getAmount()).isEqualTo(500L);
+                assertThat(meterRegistry.get("payments.gateway").tag("operation", "authorize").timer().count()).isEqualTo(1);
+                assertThat(meterRegistry.get("payments.gateway.active").gauge().value()).isZero();
+        }
+
+        @Test
+        void itShouldRejectWhenBulkheadIsFull() {
+                PaymentGateway hanging = new PaymentGateway() {
+
+                        @Override
+                        public CompletableFuture<PaymentAuthorization> authorize(PaymentRequest request) {
+                                return new CompletableFuture<>();
+                        }
+
+                        @Override
+                        public CompletableFuture<Void> settle(List<PaymentAuthorization> authorizations) {
+                                return new CompletableFuture<>();
+                        }
+
+                        @Override
+                        public CompletableFuture<Void> voidAuthorizations(List<String> references) {
+                                return new CompletableFuture<>();
+                        }
+
+                };
+                ResilientPaymentGateway gateway = gateway(hanging, 1, 5000, 5);
+
+                gateway.authorize(request);
+
+                assertFailsWith(gateway.authorize(request), "Payment Gateway Is Busy, Try Again Later!");
+                assertThat(meterRegistry.get("payments.gateway.rejected").counter().count()).isEqualTo(1);
+        }
+
+        @Test
+        void itShouldTimeOutSlowCalls() {
+                stub = new StubPaymentGateway(5000, 0.0);
+                ResilientPaymentGateway gateway = gateway(stub, 1, 50, 5);
+
+                assertFailsWith(gateway.authorize(request), "Payment Gateway Is Unavailable, Try Again Later!");
+                assertThat(meterRegistry.get("payments.gateway.failed").counter().count()).isEqualTo(1);
+                assertThat(meterRegistry.get("payments.gateway.active").gauge().value()).isZero();
+        }
+
+        @Test
+        void itShouldOpenCircuitAfterRepeatedFailures() {
+                stub = new StubPaymentGateway(0, 1.0);
+                ResilientPaymentGateway gateway = gateway(stub, 1, 1000, 2);
+
+                assertFailsWith(gateway.authorize(request), "Payment Gateway Is Unavailable, Try Again Later!");
+                assertFailsWith(gateway.settle(List.of()), "Payment Gateway Is Unavailable, Try Again Later!");
+                assertFailsWith(gateway.authorize(request), "Payment Gateway Is Unavailable, Try Again Later!");
+
+                assertThat(meterRegistry.get("payments.gateway.failed").counter().count()).isEqualTo(2);
+                assertThat(meterRegistry.get("payments.gateway.rejected").counter().count()).isEqualTo(1);
+                assertThat(meterRegistry.get("payments.gateway.circuit.open").gauge().value()).isEqualTo(1);
+        }
+
+        private ResilientPaymentGateway gateway(PaymentGateway delegate, int maxConcurrentCalls, long timeout, int failureThreshold) {
+                return new ResilientPaymentGateway(delegate, maxConcurrentCalls, timeout,
+                        new CircuitBreaker(failureThreshold, 60000), meterRegistry);
+        }
+
+        private void assertFailsWith(CompletableFuture<?> response, String message) {
+                CompletionException exception = assertThrows(CompletionException.class, response::join);
+                assertThat(exception).hasCauseInstanceOf(PaymentGatewayException.class);
+                assertThat(exception.getCause()).hasMessage(message);
+        }
+
+}
@@ -8,6 +8,7 @@ import com.example.carrentalproject.domain.CarParameters;
 import com.example.carrentalproject.domain.PlacedOrder;
 import com.example.carrentalproject.domain.Role;
 import com.example.carrentalproject.domain.User;
+import com.example.carrentalproject.dto.CarView;
 import com.example.carrentalproject.dto.CreditCardDto;
 import com.example.carrentalproject.dto.UserInDto;
 import com.example.carrentalproject.repository.CarPackageRepository;
@@ -16,6 +17,7 @@ import com.example.carrentalproject.repository.CarRepository;
 import com.example.carrentalproject.repository.OrderRepository;
 import com.example.carrentalproject.repository.RoleRepository;
 import com.example.carrentalproject.repository.UserRepository;
+import com.example.carrentalproject.service.CarCatalogService;
 import com.example.carrentalproject.service.DeliveryService;
 import com.example.carrentalproject.service.OrderService;
 import com.example.carrentalproject.service.PaymentService;
@@ -64,6 +66,9 @@ class IT01_JornadaCompletaUsuarioNovoTest {
     @Autowired
     private CarService carService;
 
+    @Autowired
+    private CarCatalogService carCatalogService;
+
     @Autowired
     private OrderService orderService;
 
@@ -165,7 +170,7 @@ class IT01_JornadaCompletaUsuarioNovoTest {
 
         // ===== ETAPA 4: CONSULTAR CARROS DISPONÍVEIS =====
         System.out.println("\n=== ETAPA 4: Consultando carros disponíveis ===");
-        List<Car> carrosDisponiveis = carService.getAvailableCars(1, Sort.Direction.ASC);
+        List<CarView> carrosDisponiveis = carCatalogService.getAvailableCars(1, Sort.Direction.ASC);
         
         assertNotNull(carrosDisponiveis, "Deve retornar lista de carros");
         assertTrue(carrosDisponiveis.size() > 0, "Deve existir pelo menos um carro disponível");
@@ -310,10 +315,10 @@ class IT01_JornadaCompletaUsuarioNovoTest {
     @DisplayName("Deve consultar carros disponíveis e validar filtros")
     void deveConsultarCarrosDisponiveisEValidarFiltros() {
         // Consultar carros disponíveis
-        List<Car> todosCarros = carService.getAvailableCars(1, Sort.Direction.ASC);
+        List<CarView> todosCarros = carCatalogService.getAvailableCars(1, Sort.Direction.ASC);
 
         // Verificar que todos os carros retornados estão disponíveis
-        assertTrue(todosCarros.stream().allMatch(Car::getIsAvailable),
+        assertTrue(todosCarros.stream().allMatch(CarView::getIsAvailable),
                 "Todos os carros retornados devem estar disponíveis");
 
         // Contar carros no banco manualmente
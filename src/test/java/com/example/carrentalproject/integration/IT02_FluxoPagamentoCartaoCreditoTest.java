@@ -172,7 +172,23 @@ class IT02_FluxoPagamentoCartaoCreditoTest {
                 .build();
             carRepository.save(testCar);
 
-            System.out.println("✓ Carro de teste criado: Ford Fiesta");
+            // Um carro disponível por pacote: o pedido reserva capacidade do pacote
+            carRepository.save(Car.builder()
+                .brand("Mazda")
+                .model("MX-5")
+                .registrationNr("ABC1235")
+                .isAvailable(true)
+                .carPackage(sporty)
+                .build());
+            carRepository.save(Car.builder()
+                .brand("Audi")
+                .model("A8")
+                .registrationNr("ABC1236")
+                .isAvailable(true)
+                .carPackage(luxury)
+                .build());
+
+            System.out.println("✓ Carros de teste criados: Ford Fiesta, Mazda MX-5, Audi A8");
         }
     }
 
@@ -204,7 +220,7 @@ class IT02_FluxoPagamentoCartaoCreditoTest {
 
         // Verificar que o saldo foi deduzido
         testUser = userRepository.findByUsername(testUsername).orElseThrow();
-        Long saldoFinal = testUser.getCreditCard().getAccountBalance();
+        Long saldoFinal = creditCardRepository.balance(testUser.getCreditCard());
         Long custoEsperado = 500L; // 10h * 50 centavos/h = 500 centavos = R$ 5,00
         Long saldoEsperado = saldoInicial - custoEsperado;
         
@@ -242,7 +258,7 @@ class IT02_FluxoPagamentoCartaoCreditoTest {
         orderService.submitOrder("Ordinary", 2);
         
         testUser = userRepository.findByUsername(testUsername).orElseThrow();
-        Long saldoApos1 = testUser.getCreditCard().getAccountBalance();
+        Long saldoApos1 = creditCardRepository.balance(testUser.getCreditCard());
         
         assertEquals(saldoInicial - 100L, saldoApos1, "Deve deduzir R$ 1,00");
     }
@@ -276,6 +292,6 @@ class IT02_FluxoPagamentoCartaoCreditoTest {
         
         assertNotNull(cardDepois);
         assertEquals(cardIdAntes, cardDepois.getId());
-        assertTrue(cardDepois.getAccountBalance() < 100000L, "Saldo deve ter sido deduzido");
+        assertTrue(creditCardRepository.balance(cardDepois) < 100000L, "Saldo deve ter sido deduzido");
     }
 }
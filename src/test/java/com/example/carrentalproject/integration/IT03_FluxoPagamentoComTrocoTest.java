@@ -173,7 +173,18 @@ class IT03_FluxoPagamentoComTrocoTest {
                 .build();
             carRepository.save(testCar);
 
-            System.out.println("✓ Carro de teste criado: Volkswagen Gol");
+            // Pedidos reservam capacidade do pacote: Ordinary recebe dois pedidos seguidos
+            for (String registrationNr : new String[]{"XYZ9877", "XYZ9878"}) {
+                carRepository.save(Car.builder()
+                    .brand("Fiat")
+                    .model("Uno")
+                    .registrationNr(registrationNr)
+                    .isAvailable(true)
+                    .carPackage(ordinary)
+                    .build());
+            }
+
+            System.out.println("✓ Carros de teste criados: Volkswagen Gol e dois Fiat Uno");
         }
     }
 
@@ -207,7 +218,7 @@ class IT03_FluxoPagamentoComTrocoTest {
 
         // Verificar que R$ 5,00 foi deduzido (troco de R$ 995,00 permanece)
         testUser = userRepository.findByUsername(testUsername).orElseThrow();
-        Long saldoFinal = testUser.getCreditCard().getAccountBalance();
+        Long saldoFinal = creditCardRepository.balance(testUser.getCreditCard());
         Long trocoEsperado = saldoInicial - custoEsperado;
         
         assertEquals(trocoEsperado, saldoFinal, "Troco deve permanecer no cartão");
@@ -230,7 +241,7 @@ class IT03_FluxoPagamentoComTrocoTest {
         orderService.submitOrder("Ordinary", 6);
         
         testUser = userRepository.findByUsername(testUsername).orElseThrow();
-        Long saldoApos1 = testUser.getCreditCard().getAccountBalance();
+        Long saldoApos1 = creditCardRepository.balance(testUser.getCreditCard());
         
         // Deve sobrar R$ 997,00 (R$ 1000 - R$ 3,00)
         assertEquals(99700L, saldoApos1, "Troco deve ser R$ 997,00");
@@ -244,7 +255,7 @@ class IT03_FluxoPagamentoComTrocoTest {
         orderService.submitOrder("Ordinary", 4);
         
         testUser = userRepository.findByUsername(testUsername).orElseThrow();
-        Long saldoFinal = testUser.getCreditCard().getAccountBalance();
+        Long saldoFinal = creditCardRepository.balance(testUser.getCreditCard());
         
         // Deve sobrar R$ 995,00 (R$ 997 - R$ 2)
         assertEquals(99500L, saldoFinal, "Saldo final deve ser R$ 995,00");
@@ -257,7 +268,7 @@ class IT03_FluxoPagamentoComTrocoTest {
         orderService.submitOrder("Ordinary", 3);
         
         testUser = userRepository.findByUsername(testUsername).orElseThrow();
-        Long saldoFinal = testUser.getCreditCard().getAccountBalance();
+        Long saldoFinal = creditCardRepository.balance(testUser.getCreditCard());
         
         // Troco: R$ 1000 - R$ 1,50 = R$ 998,50
         assertEquals(99850L, saldoFinal, "Troco deve ser R$ 998,50");
@@ -282,7 +293,7 @@ class IT03_FluxoPagamentoComTrocoTest {
         orderService.submitOrder("Sporty", 5);
         
         testUser = userRepository.findByUsername(testUsername).orElseThrow();
-        Long saldoFinal = testUser.getCreditCard().getAccountBalance();
+        Long saldoFinal = creditCardRepository.balance(testUser.getCreditCard());
         
         // Saldo deve ser zero (sem troco)
         assertEquals(0L, saldoFinal, "Saldo deve ser zero após pagamento exato");
@@ -296,7 +307,7 @@ class IT03_FluxoPagamentoComTrocoTest {
         orderService.submitOrder("Ordinary", 1);
         
         testUser = userRepository.findByUsername(testUsername).orElseThrow();
-        assertEquals(99950L, testUser.getCreditCard().getAccountBalance(), "Saldo deve ser R$ 999,50");
+        assertEquals(99950L, creditCardRepository.balance(testUser.getCreditCard()), "Saldo deve ser R$ 999,50");
         
         System.out.println("✓ Cenário 1: Pedido barato - troco de R$ 999,50 validado");
     }
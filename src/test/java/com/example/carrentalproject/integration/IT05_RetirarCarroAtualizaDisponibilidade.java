@@ -4,9 +4,10 @@ import com.example.carrentalproject.constant.FuelType;
 import com.example.carrentalproject.constant.GearBoxType;
 import com.example.carrentalproject.domain.*;
 import com.example.carrentalproject.dto.AccessKeyDto;
+import com.example.carrentalproject.dto.CarView;
 import com.example.carrentalproject.repository.*;
 import com.example.carrentalproject.security.LoggedInUser;
-import com.example.carrentalproject.service.CarService;
+import com.example.carrentalproject.service.CarCatalogService;
 import com.example.carrentalproject.service.DeliveryService;
 import com.example.carrentalproject.service.OrderService;
 import org.junit.jupiter.api.BeforeEach;
@@ -67,7 +68,7 @@ public class IT05_RetirarCarroAtualizaDisponibilidade {
     private DeliveryService deliveryService;
 
     @Autowired
-    private CarService carService;
+    private CarCatalogService carCatalogService;
 
     @MockBean
     private LoggedInUser loggedInUser;
@@ -235,7 +236,7 @@ public class IT05_RetirarCarroAtualizaDisponibilidade {
         System.out.println("\n=== TESTE: Remover Carro da Lista de Disponíveis ===");
 
         // Consultar lista ANTES da retirada
-        List<Car> availableAntes = carService.getAvailableCars(1, Sort.Direction.ASC);
+        List<CarView> availableAntes = carCatalogService.getAvailableCars(1, Sort.Direction.ASC);
         System.out.println("➊ Carros disponíveis ANTES: " + availableAntes.size());
         assertTrue(availableAntes.stream().anyMatch(c -> c.getId().equals(testCar.getId())),
                 "Carro deve estar na lista ANTES da retirada");
@@ -249,7 +250,7 @@ public class IT05_RetirarCarroAtualizaDisponibilidade {
         System.out.println("➋ Carro retirado");
 
         // Consultar lista DEPOIS da retirada
-        List<Car> availableDepois = carService.getAvailableCars(1, Sort.Direction.ASC);
+        List<CarView> availableDepois = carCatalogService.getAvailableCars(1, Sort.Direction.ASC);
         System.out.println("➌ Carros disponíveis DEPOIS: " + availableDepois.size());
 
         assertEquals(availableAntes.size() - 1, availableDepois.size(),
@@ -258,7 +259,7 @@ public class IT05_RetirarCarroAtualizaDisponibilidade {
                 "Carro NÃO deve aparecer na lista DEPOIS da retirada");
         System.out.println("   ✓ Carro removido da lista de disponíveis");
 
-        System.out.println("\n=== ✅ SINCRONIZAÇÃO CARSERVICE ↔ CARREPOSITORY VALIDADA ===\n");
+        System.out.println("\n=== ✅ SINCRONIZAÇÃO CARCATALOGSERVICE ↔ CARREPOSITORY VALIDADA ===\n");
     }
 
     @Test
@@ -336,7 +337,7 @@ public class IT05_RetirarCarroAtualizaDisponibilidade {
         System.out.println("   Toyota Corolla (não retirado): isAvailable=" + carroNaoRetirado.getIsAvailable() + " ✓");
 
         // Consultar lista de disponíveis - apenas Toyota deve aparecer
-        List<Car> availableCars = carService.getAvailableCars(1, Sort.Direction.ASC);
+        List<CarView> availableCars = carCatalogService.getAvailableCars(1, Sort.Direction.ASC);
         assertEquals(1, availableCars.size(), "Deve haver apenas 1 carro disponível");
         assertEquals(car2.getId(), availableCars.get(0).getId(), "Toyota Corolla deve estar na lista");
         System.out.println("➍ Lista de disponíveis contém apenas Toyota Corolla");
@@ -13,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.transaction.TestTransaction;
 import org.springframework.transaction.annotation.Transactional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -114,37 +115,54 @@ public class IT09_PagamentoSemCartaoCadastrado {
     void devePermitirAdicionarCartaoETransferir() {
         System.out.println("\n--- Teste: Adicionar Cartão e Transferir ---");
 
-        // Mockar LoggedInUser
-        when(loggedInUser.getUser()).thenReturn(userSemCartao);
-
-        // Passo 1: Adicionar cartão
-        CreditCardDto creditCardDto = CreditCardDto.builder()
-                .cardNumber(9999888877776666L)
-                .month(12)
-                .year(2028)
-                .CVV(555)
-                .build();
-
-        paymentService.addCreditCard(creditCardDto);
-        System.out.println("✓ Cartão adicionado");
-
-        // Recarregar usuário
-        User userAtualizado = userRepository.findById(userSemCartao.getId()).orElseThrow();
-        assertNotNull(userAtualizado.getCreditCard(), "Usuário deve ter cartão");
-        assertEquals(0L, userAtualizado.getCreditCard().getAccountBalance());
-        System.out.println("✓ Cartão confirmado com saldo = 0");
-
-        // Atualizar mock
-        when(loggedInUser.getUser()).thenReturn(userAtualizado);
-
-        // Passo 2: Transferir dinheiro
-        paymentService.moneyTransfer(500L);
-        System.out.println("✓ Transferência realizada");
-
-        // Verificar saldo
-        User userFinal = userRepository.findById(userSemCartao.getId()).orElseThrow();
-        assertEquals(500L, userFinal.getCreditCard().getAccountBalance());
-        System.out.println("✓ Saldo atualizado para 500");
+        // O crédito da transferência roda em outra thread e transação, então os
+        // dados deste teste precisam estar commitados (e são removidos no final)
+        TestTransaction.end();
+        User usuario = userRepository.save(User.builder()
+                .firstName("Charlie")
+                .lastName("CardlessUser")
+                .username("user_no_card_it09")
+                .password("password123")
+                .email("charlie.it09@example.com")
+                .phone(777888999)
+                .build());
+
+        try {
+            // Mockar LoggedInUser
+            when(loggedInUser.getUser()).thenReturn(usuario);
+
+            // Passo 1: Adicionar cartão
+            CreditCardDto creditCardDto = CreditCardDto.builder()
+                    .cardNumber(9999888877776666L)
+                    .month(12)
+                    .year(2028)
+                    .CVV(555)
+                    .build();
+
+            paymentService.addCreditCard(creditCardDto);
+            System.out.println("✓ Cartão adicionado");
+
+            // Recarregar usuário
+            User userAtualizado = userRepository.findById(usuario.getId()).orElseThrow();
+            assertNotNull(userAtualizado.getCreditCard(), "Usuário deve ter cartão");
+            assertEquals(0L, userAtualizado.getCreditCard().getAccountBalance());
+            System.out.println("✓ Cartão confirmado com saldo = 0");
+
+            // Atualizar mock
+            when(loggedInUser.getUser()).thenReturn(userAtualizado);
+
+            // Passo 2: Transferir dinheiro
+            paymentService.moneyTransfer(500L).join();
+            System.out.println("✓ Transferência realizada");
+
+            // Verificar saldo
+            User userFinal = userRepository.findById(usuario.getId()).orElseThrow();
+            assertEquals(500L, userFinal.getCreditCard().getAccountBalance());
+            System.out.println("✓ Saldo atualizado para 500");
+        } finally {
+            userRepository.findById(usuario.getId()).map(User::getCreditCard).ifPresent(creditCardRepository::delete);
+            userRepository.deleteById(usuario.getId());
+        }
     }
 
     @Test
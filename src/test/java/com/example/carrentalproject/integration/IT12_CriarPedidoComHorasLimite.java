@@ -37,6 +37,9 @@ public class IT12_CriarPedidoComHorasLimite {
     @Autowired
     private CarPackageRepository carPackageRepository;
 
+    @Autowired
+    private CarRepository carRepository;
+
     @Autowired
     private AccessKeyRepository accessKeyRepository;
 
@@ -90,7 +93,11 @@ public class IT12_CriarPedidoComHorasLimite {
                 .build();
         testPackage = carPackageRepository.save(testPackage);
 
-        System.out.println("✓ Setup completo: Usuário com saldo 100000, pacote BASIC (100/hora)");
+        // Carros disponíveis: cada pedido reserva capacidade do pacote
+        criarCarroDisponivel("IT12BAS1", testPackage);
+        criarCarroDisponivel("IT12BAS2", testPackage);
+
+        System.out.println("✓ Setup completo: Usuário com saldo 100000, pacote BASIC (100/hora) com 2 carros");
     }
 
     @Test
@@ -113,7 +120,7 @@ public class IT12_CriarPedidoComHorasLimite {
         // Verificar débito no cartão
         User userAtualizado = userRepository.findById(testUser.getId()).orElseThrow();
         Long saldoEsperado = 100000L - precoEsperado;
-        assertEquals(saldoEsperado, userAtualizado.getCreditCard().getAccountBalance());
+        assertEquals(saldoEsperado, creditCardRepository.balance(userAtualizado.getCreditCard()));
         
         System.out.println("✓ Pedido criado com 1 hora (mínimo)");
         System.out.println("✓ Preço calculado: " + precoEsperado);
@@ -140,7 +147,7 @@ public class IT12_CriarPedidoComHorasLimite {
         // Verificar débito no cartão
         User userAtualizado = userRepository.findById(testUser.getId()).orElseThrow();
         Long saldoEsperado = 100000L - precoEsperado;
-        assertEquals(saldoEsperado, userAtualizado.getCreditCard().getAccountBalance());
+        assertEquals(saldoEsperado, creditCardRepository.balance(userAtualizado.getCreditCard()));
         
         System.out.println("✓ Pedido criado com 720 horas (máximo - 30 dias)");
         System.out.println("✓ Preço calculado: " + precoEsperado);
@@ -170,7 +177,7 @@ public class IT12_CriarPedidoComHorasLimite {
 
         // Verificar saldo final: 100000 - (24*100) - (168*100) = 100000 - 2400 - 16800 = 80800
         User userFinal = userRepository.findById(testUser.getId()).orElseThrow();
-        assertEquals(80800L, userFinal.getCreditCard().getAccountBalance());
+        assertEquals(80800L, creditCardRepository.balance(userFinal.getCreditCard()));
 
         System.out.println("✓ Pedido 1: 24 horas = R$ 2400");
         System.out.println("✓ Pedido 2: 168 horas = R$ 16800");
@@ -187,6 +194,7 @@ public class IT12_CriarPedidoComHorasLimite {
                 .pricePerHour(300)
                 .build();
         premiumPackage = carPackageRepository.save(premiumPackage);
+        criarCarroDisponivel("IT12PRE1", premiumPackage);
 
         when(loggedInUser.getUser()).thenReturn(testUser);
 
@@ -198,9 +206,19 @@ public class IT12_CriarPedidoComHorasLimite {
         assertEquals(1, accessKey.getHours());
         
         User userAtualizado = userRepository.findById(testUser.getId()).orElseThrow();
-        assertEquals(99700L, userAtualizado.getCreditCard().getAccountBalance()); // 100000 - 300
+        assertEquals(99700L, creditCardRepository.balance(userAtualizado.getCreditCard())); // 100000 - 300
 
         System.out.println("✓ Pedido PREMIUM: 1 hora = R$ 300");
         System.out.println("✓ Cálculo validado com preço diferente");
     }
+
+    private void criarCarroDisponivel(String registrationNr, CarPackage carPackage) {
+        carRepository.save(Car.builder()
+                .registrationNr(registrationNr)
+                .brand("Fiat")
+                .model("Uno")
+                .isAvailable(true)
+                .carPackage(carPackage)
+                .build());
+    }
 }
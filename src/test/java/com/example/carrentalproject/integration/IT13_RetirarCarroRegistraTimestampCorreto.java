@@ -216,24 +216,7 @@ public class IT13_RetirarCarroRegistraTimestampCorreto {
     @Test
     @DisplayName("Deve validar timestamps com diferentes durações de horas")
     void deveValidarTimestampsComDiferentesDuracoes() {
-        // Test 1: 1 hora
-        when(loggedInUser.getUser()).thenReturn(testUser);
-        orderService.submitOrder("STANDARD", 1);
-        testUser = userRepository.findById(testUser.getId()).orElseThrow();
-        when(loggedInUser.getUser()).thenReturn(testUser);
-        
-        deliveryService.pickUpTheCar(testCar.getId());
-        
-        PlacedOrder order1 = orderRepository.findAll().get(0);
-        assertEquals(1, ChronoUnit.HOURS.between(order1.getStartTime(), order1.getEndTime()));
-        System.out.println("✓ Teste 1: 1 hora validado");
-
-        // Preparar teste 2: limpar e criar novo carro
-        orderRepository.deleteAll();
-        accessKeyRepository.deleteAll();
-        testUser.setAccessKey(null);
-        testUser = userRepository.save(testUser);
-        
+        // Segundo carro do pacote já existe antes dos pedidos: cada pedido reserva capacidade
         CarParameters params2 = CarParameters.builder()
                 .fuelType(FuelType.DIESEL)
                 .gearBoxType(GearBoxType.AUTOMATIC)
@@ -253,6 +236,24 @@ public class IT13_RetirarCarroRegistraTimestampCorreto {
                 .build();
         car2 = carRepository.save(car2);
 
+        // Test 1: 1 hora
+        when(loggedInUser.getUser()).thenReturn(testUser);
+        orderService.submitOrder("STANDARD", 1);
+        testUser = userRepository.findById(testUser.getId()).orElseThrow();
+        when(loggedInUser.getUser()).thenReturn(testUser);
+        
+        deliveryService.pickUpTheCar(testCar.getId());
+        
+        PlacedOrder order1 = orderRepository.findAll().get(0);
+        assertEquals(1, ChronoUnit.HOURS.between(order1.getStartTime(), order1.getEndTime()));
+        System.out.println("✓ Teste 1: 1 hora validado");
+
+        // Preparar teste 2: limpar pedido anterior
+        orderRepository.deleteAll();
+        accessKeyRepository.deleteAll();
+        testUser.setAccessKey(null);
+        testUser = userRepository.save(testUser);
+
         // Test 2: 72 horas (3 dias)
         when(loggedInUser.getUser()).thenReturn(testUser);
         orderService.submitOrder("STANDARD", 72);
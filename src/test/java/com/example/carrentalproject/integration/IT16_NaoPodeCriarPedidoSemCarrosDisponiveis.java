@@ -9,6 +9,7 @@ import com.example.carrentalproject.domain.CreditCard;
 import com.example.carrentalproject.domain.Role;
 import com.example.carrentalproject.domain.User;
 import com.example.carrentalproject.dto.UserInDto;
+import com.example.carrentalproject.exception.UnavailableCarException;
 import com.example.carrentalproject.repository.*;
 import com.example.carrentalproject.service.OrderService;
 import com.example.carrentalproject.service.RegistrationService;
@@ -24,23 +25,19 @@ import org.springframework.transaction.annotation.Transactional;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
- * IT16 - Cenário 9: Teste que DETECTA LACUNA DE VALIDAÇÃO
- * 
- * LACUNA IDENTIFICADA: OrderService.submitOrder() NÃO valida disponibilidade de carros
- * 
- * COMPORTAMENTO ATUAL INCORRETO: Sistema aceita pedido mesmo quando:
- * - Não existem carros no banco de dados
+ * IT16 - Cenário 9: Não pode criar pedido sem carros disponíveis
+ *
+ * OrderService.submitOrder() reserva capacidade do pacote antes de debitar o cartão.
+ * A capacidade é (carros com isAvailable = true) - (AccessKeys em aberto do pacote).
+ *
+ * COMPORTAMENTO ESPERADO: UnavailableCarException quando:
+ * - Não existem carros no pacote
  * - Todos os carros do pacote estão indisponíveis (isAvailable = false)
- * 
- * COMPORTAMENTO ESPERADO: Sistema deveria lançar UnavailableCarException
- * VALIDAÇÃO FALTANTE: OrderService linhas 43-80 não verificam Car.isAvailable
- * 
- * EVIDÊNCIA: Testes usam assertDoesNotThrow() para PROVAR que sistema aceita pedidos inválidos
  */
 @SpringBootTest
 @Transactional
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
-@DisplayName("IT16 - Cenário 9: Lacuna - Sistema NÃO valida disponibilidade de carros")
+@DisplayName("IT16 - Cenário 9: Sistema valida disponibilidade de carros")
 public class IT16_NaoPodeCriarPedidoSemCarrosDisponiveis {
 
     @Autowired
@@ -145,8 +142,8 @@ public class IT16_NaoPodeCriarPedidoSemCarrosDisponiveis {
                 .count();
         assertEquals(0, totalCarros, "Não deve existir nenhum carro deste pacote");
 
-        // BUG: Sistema deveria lançar exceção mas não lança
-        assertThrows(RuntimeException.class, () -> {
+        // Pacote sem capacidade: pedido rejeitado
+        assertThrows(UnavailableCarException.class, () -> {
             orderService.submitOrder(testPackage.getPackageName(), 24);
         }, "Sistema DEVERIA lançar UnavailableCarException quando não há carros disponíveis");
     }
@@ -175,8 +172,8 @@ public class IT16_NaoPodeCriarPedidoSemCarrosDisponiveis {
                 .count();
         assertEquals(0, carrosDisponiveis, "Todos os carros devem estar indisponíveis");
 
-        // BUG: Sistema deveria lançar exceção mas não lança
-        assertThrows(RuntimeException.class, () -> {
+        // Pacote sem capacidade: pedido rejeitado
+        assertThrows(UnavailableCarException.class, () -> {
             orderService.submitOrder(testPackage.getPackageName(), 24);
         }, "Sistema DEVERIA lançar UnavailableCarException quando todos carros estão indisponíveis");
     }
@@ -261,9 +258,9 @@ public class IT16_NaoPodeCriarPedidoSemCarrosDisponiveis {
         System.out.println("      throw new UnavailableCarException(\"No available cars for package: \" + carPackage);");
         System.out.println("  }");
         System.out.println("\nCOMPORTAMENTO ATUAL:");
-        System.out.println("  ✗ Nenhuma validação de disponibilidade");
-        System.out.println("  ✗ AccessKey criado sem verificar Car.isAvailable");
-        System.out.println("  ✗ Pedido aceito mesmo sem carros disponíveis");
+        System.out.println("  ✓ PackageCapacityService.tryReserve() antes do débito");
+        System.out.println("  ✓ Capacidade reconstruída de Car.isAvailable na inicialização");
+        System.out.println("  ✓ Pedido rejeitado com UnavailableCarException sem capacidade");
         System.out.println("\nIMPACTO:");
         System.out.println("  - Usuário reserva carro que não existe/está indisponível");
         System.out.println("  - Negócio perde credibilidade");
@@ -145,6 +145,15 @@ public class IT18_PedidoDuplicadoParaMesmoUsuario {
                 .build();
         carRepository.save(testCar);
 
+        // Segundo carro: dois usuários diferentes podem reservar o mesmo pacote
+        carRepository.save(Car.builder()
+                .brand("Test Brand")
+                .model("Test Model")
+                .registrationNr("IT185678")
+                .carPackage(testPackage)
+                .isAvailable(true)
+                .build());
+
         // Autenticar usuário
         SecurityContextHolder.getContext().setAuthentication(
                 new UsernamePasswordAuthenticationToken(testUser.getUsername(), null)
@@ -247,7 +256,7 @@ public class IT18_PedidoDuplicadoParaMesmoUsuario {
                 .findFirst()
                 .orElseThrow();
         
-        long saldoAposPrimeiro = card.getAccountBalance();
+        long saldoAposPrimeiro = creditCardRepository.balance(card);
         assertTrue(saldoAposPrimeiro >= 80000L, 
                 "Saldo restante (R$ 800+) é suficiente para outro pedido");
 
@@ -0,0 +1,191 @@
+package com.example.carrentalproject.integration;
+
+import com.example.carrentalproject.domain.AccessKey;
+import com.example.carrentalproject.domain.Car;
+import com.example.carrentalproject.domain.CarPackage;
+import com.example.carrentalproject.domain.PlacedOrder;
+import com.example.carrentalproject.domain.User;
+import com.example.carrentalproject.exception.UnavailableCarException;
+import com.example.carrentalproject.repository.AccessKeyRepository;
+import com.example.carrentalproject.repository.CarPackageRepository;
+import com.example.carrentalproject.repository.CarRepository;
+import com.example.carrentalproject.repository.OrderRepository;
+import com.example.carrentalproject.repository.UserRepository;
+import com.example.carrentalproject.service.DeliveryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * IT21 - Teste de Contenção: Retirada Concorrente do Mesmo Carro
+ *
+ * Dispara N retiradas simultâneas do mesmo carro, cada uma por um usuário
+ * diferente com chave de acesso válida. Apenas uma pode vencer a
+ * atualização condicional de is_available; as demais recebem
+ * UnavailableCarException e não consomem a chave de acesso.
+ *
+ * Reporta vazão (retiradas/s) e latência p99 de cada tentativa.
+ *
+ * Não usa @Transactional: cada retirada precisa da sua própria transação
+ * para que a disputa aconteça no banco.
+ */
+@SpringBootTest
+@DisplayName("IT21 - Retirada Concorrente do Mesmo Carro")
+class IT21_RetiradaConcorrenteDoMesmoCarro {
+
+    private static final int CONCURRENT_PICKUPS = 16;
+    private static final String PACKAGE_NAME = "ContentionIT21";
+
+    @Autowired
+    private DeliveryService deliveryService;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private CarPackageRepository carPackageRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccessKeyRepository accessKeyRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private CarPackage carPackage;
+    private Car car;
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        carPackage = carPackageRepository.save(CarPackage.builder()
+            .packageName(PACKAGE_NAME)
+            .pricePerHour(100)
+            .build());
+
+        car = carRepository.save(Car.builder()
+            .registrationNr("CNT00021")
+            .brand("Fiat")
+            .model("Panda")
+            .isAvailable(true)
+            .carPackage(carPackage)
+            .build());
+
+        for (int i = 0; i < CONCURRENT_PICKUPS; i++) {
+            User user = userRepository.save(User.builder()
+                .firstName("Concorrente")
+                .lastName("IT21")
+                .username("it21_user" + i)
+                .password("password123")
+                .email("it21_user" + i + "@example.com")
+                .phone(100000000 + i)
+                .build());
+            accessKeyRepository.save(AccessKey.builder()
+                .carPackage(PACKAGE_NAME)
+                .hours(2)
+                .user(user)
+                .build());
+            users.add(user);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll(orderRepository.findAll().stream()
+            .filter(order -> car.getId().equals(order.getCarId()))
+            .collect(Collectors.toList()));
+        accessKeyRepository.deleteAll(accessKeyRepository.findAll().stream()
+            .filter(accessKey -> PACKAGE_NAME.equals(accessKey.getCarPackage()))
+            .collect(Collectors.toList()));
+        userRepository.deleteAll(users);
+        carRepository.deleteById(car.getId());
+        carPackageRepository.deleteById(carPackage.getId());
+    }
+
+    @Test
+    @DisplayName("Apenas uma de N retiradas simultâneas do mesmo carro deve vencer")
+    void apenasUmaRetiradaConcorrenteDeveVencer() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_PICKUPS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> outcomes = new ArrayList<>();
+        long[] latencies = new long[CONCURRENT_PICKUPS];
+
+        for (int i = 0; i < CONCURRENT_PICKUPS; i++) {
+            User user = users.get(i);
+            int attempt = i;
+            Callable<Boolean> pickUp = () -> {
+                SecurityContextHolder.getContext().setAuthentication(authentication(user));
+                start.await();
+                long began = System.nanoTime();
+                try {
+                    deliveryService.pickUpTheCar(car.getId());
+                    return true;
+                } catch (UnavailableCarException e) {
+                    return false;
+                } finally {
+                    latencies[attempt] = System.nanoTime() - began;
+                    SecurityContextHolder.clearContext();
+                }
+            };
+            outcomes.add(executor.submit(pickUp));
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        int winners = 0;
+        for (Future<Boolean> outcome : outcomes) {
+            if (outcome.get(30, TimeUnit.SECONDS)) {
+                winners++;
+            }
+        }
+        long elapsed = System.nanoTime() - began;
+        executor.shutdown();
+
+        assertEquals(1, winners, "Apenas uma retirada deve ter sucesso");
+        assertFalse(carRepository.findById(car.getId()).orElseThrow().getIsAvailable());
+        List<PlacedOrder> orders = orderRepository.findAll().stream()
+            .filter(order -> car.getId().equals(order.getCarId()))
+            .collect(Collectors.toList());
+        assertEquals(1, orders.size(), "Apenas um PlacedOrder deve ser criado");
+        long remainingKeys = accessKeyRepository.findAll().stream()
+            .filter(accessKey -> PACKAGE_NAME.equals(accessKey.getCarPackage()))
+            .count();
+        assertEquals(CONCURRENT_PICKUPS - 1, remainingKeys, "Perdedores devem manter a chave de acesso");
+
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        long p99 = sorted[(int) Math.ceil(0.99 * sorted.length) - 1];
+        double throughput = CONCURRENT_PICKUPS / (elapsed / 1_000_000_000.0);
+        System.out.printf("✓ %d retiradas concorrentes: vazão %.1f retiradas/s, p99 %.2f ms%n",
+            CONCURRENT_PICKUPS, throughput, p99 / 1_000_000.0);
+    }
+
+    private UsernamePasswordAuthenticationToken authentication(User user) {
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+            user.getUsername(), null, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        authentication.setDetails(user.getId());
+        return authentication;
+    }
+
+}
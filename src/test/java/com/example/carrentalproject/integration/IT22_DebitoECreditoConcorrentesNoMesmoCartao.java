@@ -0,0 +1,162 @@
+package com.example.carrentalproject.integration;
+
+import com.example.carrentalproject.domain.CreditCard;
+import com.example.carrentalproject.domain.User;
+import com.example.carrentalproject.repository.CreditCardRepository;
+import com.example.carrentalproject.repository.UserRepository;
+import com.example.carrentalproject.service.PaymentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * IT22 - Teste de Contenção: Débito e Crédito Concorrentes no Mesmo Cartão
+ *
+ * Metade das threads transfere dinheiro para o cartão via PaymentService,
+ * a outra metade debita o mesmo cartão. Como débito e crédito são
+ * atualizações atômicas no banco, nenhuma operação pode ser perdida e o
+ * saldo nunca pode ficar negativo.
+ *
+ * Saldo final esperado = inicial + créditos - débitos aceitos.
+ *
+ * Não usa @Transactional: cada operação precisa da sua própria transação
+ * para que a disputa aconteça no banco.
+ */
+@SpringBootTest
+@DisplayName("IT22 - Débito e Crédito Concorrentes no Mesmo Cartão")
+class IT22_DebitoECreditoConcorrentesNoMesmoCartao {
+
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 25;
+    private static final long INITIAL_BALANCE = 1000L;
+    private static final long CREDIT_AMOUNT = 100L;
+    private static final long DEBIT_AMOUNT = 150L;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private CreditCardRepository creditCardRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private CreditCard creditCard;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+            .firstName("Concorrente")
+            .lastName("IT22")
+            .username("it22_user")
+            .password("password123")
+            .email("it22_user@example.com")
+            .phone(220000022)
+            .build());
+
+        creditCard = creditCardRepository.save(CreditCard.builder()
+            .cardNumber(2222333344445555L)
+            .month(12)
+            .year(2030)
+            .CVV(222)
+            .accountBalance(INITIAL_BALANCE)
+            .user(user)
+            .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        creditCardRepository.deleteById(creditCard.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    @DisplayName("Débitos e créditos simultâneos não devem perder atualizações")
+    void debitosECreditosConcorrentesNaoDevemPerderAtualizacoes() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> debits = new ArrayList<>();
+        List<Future<Integer>> credits = new ArrayList<>();
+
+        for (int i = 0; i < THREADS / 2; i++) {
+            Callable<Integer> credit = () -> {
+                SecurityContextHolder.getContext().setAuthentication(authentication(user));
+                start.await();
+                try {
+                    for (int j = 0; j < OPERATIONS_PER_THREAD; j++) {
+                        paymentService.moneyTransfer(CREDIT_AMOUNT).join();
+                    }
+                    return OPERATIONS_PER_THREAD;
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            };
+            Callable<Integer> debit = () -> {
+                CreditCard card = CreditCard.builder().id(creditCard.getId()).build();
+                start.await();
+                int accepted = 0;
+                for (int j = 0; j < OPERATIONS_PER_THREAD; j++) {
+                    if (creditCardRepository.debit(card, DEBIT_AMOUNT)) {
+                        accepted++;
+                    }
+                    assertTrue(card.getAccountBalance() >= 0, "Saldo nunca pode ficar negativo");
+                }
+                return accepted;
+            };
+            credits.add(executor.submit(credit));
+            debits.add(executor.submit(debit));
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        long creditedTotal = 0;
+        for (Future<Integer> credit : credits) {
+            creditedTotal += credit.get(60, TimeUnit.SECONDS) * CREDIT_AMOUNT;
+        }
+        long debitedTotal = 0;
+        int acceptedDebits = 0;
+        for (Future<Integer> debit : debits) {
+            int accepted = debit.get(60, TimeUnit.SECONDS);
+            acceptedDebits += accepted;
+            debitedTotal += accepted * DEBIT_AMOUNT;
+        }
+        long elapsed = System.nanoTime() - began;
+        executor.shutdown();
+
+        long finalBalance = creditCardRepository.findById(creditCard.getId()).orElseThrow().getAccountBalance();
+        assertEquals(INITIAL_BALANCE + creditedTotal - debitedTotal, finalBalance,
+            "Nenhum débito ou crédito pode ser perdido");
+        assertTrue(finalBalance >= 0, "Saldo final não pode ser negativo");
+
+        int operations = THREADS * OPERATIONS_PER_THREAD;
+        double throughput = operations / (elapsed / 1_000_000_000.0);
+        System.out.printf("✓ %d operações concorrentes (%d débitos aceitos): vazão %.1f op/s, saldo final %d%n",
+            operations, acceptedDebits, throughput, finalBalance);
+    }
+
+    private UsernamePasswordAuthenticationToken authentication(User user) {
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+            user.getUsername(), null, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        authentication.setDetails(user.getId());
+        return authentication;
+    }
+
+}
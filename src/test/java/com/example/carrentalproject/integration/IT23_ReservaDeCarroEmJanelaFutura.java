@@ -0,0 +1,154 @@
+package com.example.carrentalproject.integration;
+
+import com.example.carrentalproject.domain.*;
+import com.example.carrentalproject.dto.CarView;
+import com.example.carrentalproject.exception.UnavailableCarException;
+import com.example.carrentalproject.repository.*;
+import com.example.carrentalproject.security.LoggedInUser;
+import com.example.carrentalproject.service.CarCatalogService;
+import com.example.carrentalproject.service.DeliveryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * IT23 - Reserva De Carro Em Janela Futura
+ *
+ * Objetivo: Validar que DeliveryService.reserveCar() grava a reserva como
+ * intervalo [início, início + horas) do carro, sem alterar isAvailable, e que
+ * CarCatalogService.getFreeCars() responde quais carros do pacote estão livres
+ * em uma janela de tempo.
+ *
+ * Cenário:
+ * 1. Usuário A reserva o carro 1 para amanhã, por 4 horas
+ * 2. Consulta de carros livres dentro da janela retorna apenas o carro 2
+ * 3. Usuário B não consegue reservar o carro 1 em janela sobreposta
+ * 4. Usuário B reserva o carro 1 logo após o fim da reserva de A
+ */
+@SpringBootTest
+@Transactional
+@DisplayName("IT23 - Reserva De Carro Em Janela Futura")
+public class IT23_ReservaDeCarroEmJanelaFutura {
+
+    private static final String PACKAGE_NAME = "ReservaIT23";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CarPackageRepository carPackageRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private AccessKeyRepository accessKeyRepository;
+
+    @Autowired
+    private DeliveryService deliveryService;
+
+    @Autowired
+    private CarCatalogService carCatalogService;
+
+    @MockBean
+    private LoggedInUser loggedInUser;
+
+    private Car car1;
+    private Car car2;
+    private User userA;
+    private User userB;
+    private LocalDateTime amanha;
+
+    @BeforeEach
+    void setUp() {
+        CarPackage carPackage = carPackageRepository.save(CarPackage.builder()
+                .packageName(PACKAGE_NAME)
+                .pricePerHour(100)
+                .build());
+
+        car1 = carRepository.save(Car.builder()
+                .registrationNr("IT23CAR1")
+                .brand("Fiat")
+                .model("Uno")
+                .isAvailable(true)
+                .carPackage(carPackage)
+                .build());
+        car2 = carRepository.save(Car.builder()
+                .registrationNr("IT23CAR2")
+                .brand("Fiat")
+                .model("Palio")
+                .isAvailable(true)
+                .carPackage(carPackage)
+                .build());
+
+        userA = usuarioComChave("it23_user_a", 4);
+        userB = usuarioComChave("it23_user_b", 2);
+        amanha = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+
+        System.out.println("✓ Setup completo: 2 carros no pacote " + PACKAGE_NAME + ", 2 usuários com AccessKey");
+    }
+
+    @Test
+    @DisplayName("Deve reservar janela futura e bloquear apenas janelas sobrepostas")
+    void deveReservarJanelaFuturaEBloquearSobreposicao() {
+        // Usuário A reserva carro 1 de amanhã por 4 horas
+        when(loggedInUser.getUser()).thenReturn(userA);
+        PlacedOrder reserva = deliveryService.reserveCar(car1.getId(), amanha);
+
+        assertEquals(amanha, reserva.getStartTime());
+        assertEquals(amanha.plusHours(4), reserva.getEndTime());
+        assertTrue(carRepository.findById(car1.getId()).orElseThrow().getIsAvailable(),
+                "Reserva futura não altera a disponibilidade atual");
+        System.out.println("✓ Reserva criada: " + reserva.getStartTime() + " até " + reserva.getEndTime());
+
+        // Apenas o carro 2 está livre dentro da janela reservada
+        List<Long> livres = carCatalogService.getFreeCars(PACKAGE_NAME, amanha.plusHours(1), amanha.plusHours(2)).stream()
+                .map(CarView::getId)
+                .collect(Collectors.toList());
+        assertEquals(List.of(car2.getId()), livres);
+        System.out.println("✓ Carros livres na janela: " + livres);
+
+        // Usuário B não pode reservar carro 1 em janela sobreposta
+        when(loggedInUser.getUser()).thenReturn(userB);
+        assertThrows(UnavailableCarException.class,
+                () -> deliveryService.reserveCar(car1.getId(), amanha.plusHours(3)));
+        assertNotNull(userB.getAccessKey(), "Usuário B mantém a chave de acesso");
+        System.out.println("✓ Reserva sobreposta rejeitada");
+
+        // Usuário B reserva carro 1 logo após o fim da reserva de A
+        PlacedOrder reservaB = deliveryService.reserveCar(car1.getId(), amanha.plusHours(4));
+        assertEquals(amanha.plusHours(6), reservaB.getEndTime());
+        System.out.println("✓ Reserva adjacente aceita: " + reservaB.getStartTime() + " até " + reservaB.getEndTime());
+    }
+
+    private User usuarioComChave(String username, int hours) {
+        User user = userRepository.save(User.builder()
+                .firstName("Reserva")
+                .lastName("IT23")
+                .username(username)
+                .password("password123")
+                .email(username + "@example.com")
+                .phone(230000023)
+                .build());
+        AccessKey accessKey = accessKeyRepository.save(AccessKey.builder()
+                .carPackage(PACKAGE_NAME)
+                .hours(hours)
+                .user(user)
+                .build());
+        user.setAccessKey(accessKey);
+        return user;
+    }
+
+}
@@ -0,0 +1,143 @@
+package com.example.carrentalproject.integration;
+
+import com.example.carrentalproject.domain.PlacedOrder;
+import com.example.carrentalproject.dto.CursorPage;
+import com.example.carrentalproject.dto.OrderSearchCriteria;
+import com.example.carrentalproject.repository.OrderRepository;
+import com.example.carrentalproject.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * IT24 - Consulta Paginada De Pedidos
+ *
+ * Objetivo: Validar que OrderService.getOrders() percorre os pedidos com
+ * cursor (keyset) aplicando os filtros de usuário, carro e janela de tempo,
+ * e que OrderService.exportOrders() devolve o mesmo conjunto em NDJSON.
+ *
+ * Cenário:
+ * 1. 25 pedidos do usuário A no carro 1, um por dia, e 5 pedidos do usuário B
+ * 2. Consulta por usuário A percorre 3 páginas (10, 10, 5) sem repetir pedidos
+ * 3. Consulta em ordem decrescente começa pelo pedido mais recente
+ * 4. Filtro por janela de tempo retorna apenas pedidos que se sobrepõem a ela
+ * 5. Exportação NDJSON do usuário B gera uma linha por pedido
+ */
+@SpringBootTest
+@Transactional
+@DisplayName("IT24 - Consulta Paginada De Pedidos")
+public class IT24_ConsultaPaginadaDePedidos {
+
+    private static final long USER_A = 240001L;
+    private static final long USER_B = 240002L;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderService orderService;
+
+    private final List<PlacedOrder> pedidosA = new ArrayList<>();
+    private LocalDateTime inicio;
+
+    @BeforeEach
+    void setUp() {
+        inicio = LocalDateTime.now().minusDays(30).truncatedTo(ChronoUnit.HOURS);
+        for (int i = 0; i < 25; i++) {
+            pedidosA.add(orderRepository.save(pedido(USER_A, 1L, inicio.plusDays(i))));
+        }
+        for (int i = 0; i < 5; i++) {
+            orderRepository.save(pedido(USER_B, 2L, inicio.plusDays(i)));
+        }
+        System.out.println("✓ Setup completo: 25 pedidos do usuário A e 5 do usuário B");
+    }
+
+    @Test
+    @DisplayName("Deve percorrer pedidos filtrados por usuário com cursor")
+    void devePercorrerPedidosComCursor() {
+        OrderSearchCriteria criteria = OrderSearchCriteria.builder().userId(USER_A).build();
+        List<Long> vistos = new ArrayList<>();
+        List<Integer> tamanhos = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<PlacedOrder> pagina = orderService.getOrders(criteria, cursor, Sort.Direction.ASC);
+            tamanhos.add(pagina.getContent().size());
+            pagina.getContent().forEach(order -> vistos.add(order.getId()));
+            cursor = pagina.getNext();
+        } while (cursor != null);
+
+        assertEquals(List.of(10, 10, 5), tamanhos);
+        assertEquals(pedidosA.stream().map(PlacedOrder::getId).collect(Collectors.toList()), vistos);
+        System.out.println("✓ 25 pedidos percorridos em " + tamanhos.size() + " páginas sem repetição");
+    }
+
+    @Test
+    @DisplayName("Deve começar pelo pedido mais recente em ordem decrescente")
+    void deveOrdenarDecrescente() {
+        OrderSearchCriteria criteria = OrderSearchCriteria.builder().userId(USER_A).carId(1L).build();
+
+        CursorPage<PlacedOrder> pagina = orderService.getOrders(criteria, null, Sort.Direction.DESC);
+
+        assertEquals(pedidosA.get(24).getId(), pagina.getContent().get(0).getId());
+        assertNotNull(pagina.getNext());
+        System.out.println("✓ Primeira página decrescente começa no pedido " + pagina.getContent().get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Deve filtrar pedidos que se sobrepõem à janela de tempo")
+    void deveFiltrarPorJanelaDeTempo() {
+        OrderSearchCriteria criteria = OrderSearchCriteria.builder()
+                .userId(USER_A)
+                .from(inicio.plusDays(3))
+                .to(inicio.plusDays(6))
+                .build();
+
+        List<Long> ids = orderService.getOrders(criteria, null, null).getContent().stream()
+                .map(PlacedOrder::getId)
+                .collect(Collectors.toList());
+
+        assertEquals(List.of(pedidosA.get(3).getId(), pedidosA.get(4).getId(), pedidosA.get(5).getId()), ids);
+        System.out.println("✓ Janela de 3 dias retornou " + ids.size() + " pedidos");
+    }
+
+    @Test
+    @DisplayName("Deve exportar pedidos filtrados em NDJSON")
+    void deveExportarEmNdjson() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        orderService.exportOrders(OrderSearchCriteria.builder().userId(USER_B).build(), out);
+
+        String[] linhas = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(5, linhas.length);
+        for (String linha : linhas) {
+            assertTrue(linha.startsWith("{") && linha.contains("\"userId\":" + USER_B));
+        }
+        System.out.println("✓ Exportação NDJSON gerou " + linhas.length + " linhas");
+    }
+
+    private PlacedOrder pedido(Long userId, Long carId, LocalDateTime start) {
+        return PlacedOrder.builder()
+                .userId(userId)
+                .carId(carId)
+                .brand("Fiat")
+                .model("Uno")
+                .startTime(start)
+                .endTime(start.plusHours(4))
+                .build();
+    }
+
+}
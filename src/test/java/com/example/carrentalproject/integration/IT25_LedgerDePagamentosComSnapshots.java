@@ -0,0 +1,119 @@
+package com.example.carrentalproject.integration;
+
+import com.example.carrentalproject.constant.LedgerEntryType;
+import com.example.carrentalproject.domain.BalanceSnapshot;
+import com.example.carrentalproject.domain.CreditCard;
+import com.example.carrentalproject.domain.LedgerEntry;
+import com.example.carrentalproject.domain.User;
+import com.example.carrentalproject.repository.BalanceSnapshotRepository;
+import com.example.carrentalproject.repository.CreditCardRepository;
+import com.example.carrentalproject.repository.LedgerEntryRepository;
+import com.example.carrentalproject.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * IT25 - Ledger De Pagamentos Com Snapshots
+ *
+ * Objetivo: Validar que créditos, débitos e estornos são gravados como
+ * lançamentos imutáveis em ledger_entry, que o saldo do cartão é lido como
+ * snapshot + soma da cauda e que um snapshot incorpora a cauda sem alterar
+ * o saldo.
+ *
+ * Cenário:
+ * 1. Cartão com saldo inicial de R$ 10,00 recebe crédito, débito e estorno
+ * 2. Débito acima do saldo é rejeitado sem gravar lançamento
+ * 3. Snapshot incorpora os 3 lançamentos e mantém o saldo
+ * 4. Novo crédito após o snapshot entra na cauda
+ */
+@SpringBootTest
+@Transactional
+@DisplayName("IT25 - Ledger De Pagamentos Com Snapshots")
+public class IT25_LedgerDePagamentosComSnapshots {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CreditCardRepository creditCardRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private BalanceSnapshotRepository balanceSnapshotRepository;
+
+    private CreditCard creditCard;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.builder()
+                .firstName("Ledger")
+                .lastName("IT25")
+                .username("it25_user")
+                .password("password123")
+                .email("it25_user@example.com")
+                .phone(250000025)
+                .build());
+
+        creditCard = creditCardRepository.save(CreditCard.builder()
+                .cardNumber(2525252525252525L)
+                .month(12)
+                .year(2030)
+                .CVV(250)
+                .accountBalance(1000L)
+                .user(user)
+                .build());
+
+        System.out.println("✓ Setup completo: cartão com saldo inicial de 1000");
+    }
+
+    @Test
+    @DisplayName("Deve ler saldo como snapshot + cauda do ledger")
+    void deveLerSaldoComoSnapshotMaisCauda() {
+        // Crédito, débito e estorno viram lançamentos
+        creditCardRepository.credit(creditCard, 500L);
+        assertTrue(creditCardRepository.debit(creditCard, 300L));
+        creditCardRepository.refund(creditCard, 100L);
+        assertEquals(1300L, creditCardRepository.balance(creditCard));
+
+        List<LedgerEntry> entries = ledgerEntryRepository.findByCreditCardIdOrderById(creditCard.getId());
+        assertEquals(List.of(LedgerEntryType.CREDIT, LedgerEntryType.DEBIT, LedgerEntryType.REFUND),
+                entries.stream().map(LedgerEntry::getType).collect(Collectors.toList()));
+        assertEquals(List.of(500L, -300L, 100L),
+                entries.stream().map(LedgerEntry::getAmount).collect(Collectors.toList()));
+        System.out.println("✓ 3 lançamentos gravados, saldo " + creditCard.getAccountBalance());
+
+        // Débito acima do saldo é rejeitado
+        assertFalse(creditCardRepository.debit(creditCard, 5000L));
+        assertEquals(3, ledgerEntryRepository.findByCreditCardIdOrderById(creditCard.getId()).size());
+        assertEquals(1300L, creditCardRepository.balance(creditCard));
+        System.out.println("✓ Débito sem saldo rejeitado sem lançamento");
+
+        // Snapshot incorpora a cauda sem alterar o saldo
+        assertEquals(3, creditCardRepository.snapshot(creditCard.getId()));
+        List<BalanceSnapshot> snapshots = balanceSnapshotRepository.findByCreditCardIdOrderById(creditCard.getId());
+        assertEquals(1, snapshots.size());
+        assertEquals(1300L, snapshots.get(0).getBalance());
+        assertEquals(3, snapshots.get(0).getEntries());
+        assertEquals(1300L, creditCardRepository.findById(creditCard.getId()).orElseThrow().getAccountBalance());
+        assertEquals(0, creditCardRepository.snapshot(creditCard.getId()), "Sem cauda não há o que incorporar");
+        System.out.println("✓ Snapshot com 3 lançamentos, saldo mantido em 1300");
+
+        // Novo crédito entra na cauda do snapshot
+        creditCardRepository.credit(creditCard, 50L);
+        assertEquals(1350L, creditCardRepository.balance(creditCard));
+        assertNull(ledgerEntryRepository.findByCreditCardIdOrderById(creditCard.getId()).get(3).getSnapshotId());
+        System.out.println("✓ Crédito após snapshot lido na cauda: saldo " + creditCard.getAccountBalance());
+    }
+
+}
@@ -2,6 +2,8 @@ package com.example.carrentalproject.journey;
 
 import com.example.carrentalproject.controller.OrderController;
 import com.example.carrentalproject.domain.PlacedOrder;
+import com.example.carrentalproject.dto.CursorPage;
+import com.example.carrentalproject.dto.OrderSearchCriteria;
 import com.example.carrentalproject.service.OrderService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -41,6 +43,7 @@ class Step7OrdersConsultationTest {
     private PlacedOrder order1;
     private PlacedOrder order2;
     private PlacedOrder order3;
+    private final OrderSearchCriteria criteria = new OrderSearchCriteria();
 
     @BeforeEach
     void setUp() {
@@ -84,17 +87,17 @@ class Step7OrdersConsultationTest {
         void consultarPedidosUsuarioComUmPedido() {
             // Given - Particionamento: usuário com exatamente 1 pedido
             List<PlacedOrder> orders = Collections.singletonList(order1);
-            when(orderService.getOrders()).thenReturn(orders);
+            when(orderService.getOrders(criteria, null, null)).thenReturn(pagina(orders));
 
             // When
-            List<PlacedOrder> result = orderController.getOrders();
+            List<PlacedOrder> result = consultarPedidos();
 
             // Then
             assertNotNull(result);
             assertEquals(1, result.size());
             assertEquals("Toyota", result.get(0).getBrand());
             assertEquals("Corolla", result.get(0).getModel());
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
 
         @Test
@@ -102,17 +105,17 @@ class Step7OrdersConsultationTest {
         void consultarPedidosUltimaPagina() {
             // Given - Valor Limite: simula última página com apenas 1 pedido
             List<PlacedOrder> orders = Collections.singletonList(order1);
-            when(orderService.getOrders()).thenReturn(orders);
+            when(orderService.getOrders(criteria, null, null)).thenReturn(pagina(orders));
 
             // When
-            List<PlacedOrder> result = orderController.getOrders();
+            List<PlacedOrder> result = consultarPedidos();
 
             // Then
             assertNotNull(result);
             assertEquals(1, result.size());
             assertEquals("Toyota", result.get(0).getBrand());
             assertEquals("Corolla", result.get(0).getModel());
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
 
         @Test
@@ -120,10 +123,10 @@ class Step7OrdersConsultationTest {
         void consultarPedidosOrdenadoPorDataDesc() {
             // Given - Particionamento: múltiplos pedidos ordenados por data decrescente
             List<PlacedOrder> orders = Arrays.asList(order1, order2, order3);
-            when(orderService.getOrders()).thenReturn(orders);
+            when(orderService.getOrders(criteria, null, null)).thenReturn(pagina(orders));
 
             // When
-            List<PlacedOrder> result = orderController.getOrders();
+            List<PlacedOrder> result = consultarPedidos();
 
             // Then
             assertNotNull(result);
@@ -131,7 +134,7 @@ class Step7OrdersConsultationTest {
             // Verificar que o mais recente (order1) vem primeiro
             assertTrue(result.get(0).getStartTime().isAfter(result.get(1).getStartTime()) ||
                       result.get(0).getStartTime().isEqual(result.get(1).getStartTime()));
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
 
         @Test
@@ -139,10 +142,10 @@ class Step7OrdersConsultationTest {
         void consultarPedidosOrdenadoPorDataAsc() {
             // Given - Particionamento: pedidos em ordem crescente de data
             List<PlacedOrder> orders = Arrays.asList(order3, order2, order1);
-            when(orderService.getOrders()).thenReturn(orders);
+            when(orderService.getOrders(criteria, null, null)).thenReturn(pagina(orders));
 
             // When
-            List<PlacedOrder> result = orderController.getOrders();
+            List<PlacedOrder> result = consultarPedidos();
 
             // Then
             assertNotNull(result);
@@ -150,7 +153,7 @@ class Step7OrdersConsultationTest {
             // Verificar que o mais antigo (order3) vem primeiro
             assertTrue(result.get(0).getStartTime().isBefore(result.get(1).getStartTime()) ||
                       result.get(0).getStartTime().isEqual(result.get(1).getStartTime()));
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
 
         @Test
@@ -158,15 +161,15 @@ class Step7OrdersConsultationTest {
         void consultarPedidosComPaginacao() {
             // Given - Particionamento: requisição com paginação
             List<PlacedOrder> orders = Arrays.asList(order1, order2);
-            when(orderService.getOrders()).thenReturn(orders);
+            when(orderService.getOrders(criteria, null, null)).thenReturn(pagina(orders));
 
             // When
-            List<PlacedOrder> result = orderController.getOrders();
+            List<PlacedOrder> result = consultarPedidos();
 
             // Then
             assertNotNull(result);
             assertEquals(2, result.size());
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
 
         @Test
@@ -174,15 +177,15 @@ class Step7OrdersConsultationTest {
         void consultarPedidosPrimeiraPagina() {
             // Given - Valor Limite: primeira página (página 0)
             List<PlacedOrder> orders = Arrays.asList(order1, order2, order3);
-            when(orderService.getOrders()).thenReturn(orders);
+            when(orderService.getOrders(criteria, null, null)).thenReturn(pagina(orders));
 
             // When
-            List<PlacedOrder> result = orderController.getOrders();
+            List<PlacedOrder> result = consultarPedidos();
 
             // Then
             assertNotNull(result);
             assertEquals(3, result.size());
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
 
         @Test
@@ -190,15 +193,15 @@ class Step7OrdersConsultationTest {
         void consultarPedidosListaVazia() {
             // Given - Particionamento: usuário sem pedidos
             List<PlacedOrder> orders = Collections.emptyList();
-            when(orderService.getOrders()).thenReturn(orders);
+            when(orderService.getOrders(criteria, null, null)).thenReturn(pagina(orders));
 
             // When
-            List<PlacedOrder> result = orderController.getOrders();
+            List<PlacedOrder> result = consultarPedidos();
 
             // Then
             assertNotNull(result);
             assertTrue(result.isEmpty());
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
 
         @Test
@@ -206,10 +209,10 @@ class Step7OrdersConsultationTest {
         void consultarPedidosAposRetirada() {
             // Given - Regras de Negócio: pedidos com carro já retirado
             List<PlacedOrder> orders = Arrays.asList(order1, order2);
-            when(orderService.getOrders()).thenReturn(orders);
+            when(orderService.getOrders(criteria, null, null)).thenReturn(pagina(orders));
 
             // When
-            List<PlacedOrder> result = orderController.getOrders();
+            List<PlacedOrder> result = consultarPedidos();
 
             // Then
             assertNotNull(result);
@@ -219,7 +222,7 @@ class Step7OrdersConsultationTest {
                 assertNotNull(order.getStartTime());
                 assertNotNull(order.getEndTime());
             });
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
 
         @Test
@@ -227,10 +230,10 @@ class Step7OrdersConsultationTest {
         void consultarPedidosComDiferentesCarros() {
             // Given - Particionamento: pedidos de carros diferentes
             List<PlacedOrder> orders = Arrays.asList(order1, order2, order3);
-            when(orderService.getOrders()).thenReturn(orders);
+            when(orderService.getOrders(criteria, null, null)).thenReturn(pagina(orders));
 
             // When
-            List<PlacedOrder> result = orderController.getOrders();
+            List<PlacedOrder> result = consultarPedidos();
 
             // Then
             assertNotNull(result);
@@ -239,7 +242,7 @@ class Step7OrdersConsultationTest {
             assertEquals(10L, result.get(0).getCarId());
             assertEquals(11L, result.get(1).getCarId());
             assertEquals(12L, result.get(2).getCarId());
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
     }
 
@@ -252,17 +255,17 @@ class Step7OrdersConsultationTest {
         void consultarPedidosContemIdPedido() {
             // Given
             List<PlacedOrder> orders = Collections.singletonList(order1);
-            when(orderService.getOrders()).thenReturn(orders);
+            when(orderService.getOrders(criteria, null, null)).thenReturn(pagina(orders));
 
             // When
-            List<PlacedOrder> result = orderController.getOrders();
+            List<PlacedOrder> result = consultarPedidos();
 
             // Then
             assertNotNull(result);
             assertEquals(1, result.size());
             assertNotNull(result.get(0).getId());
             assertEquals(1L, result.get(0).getId());
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
 
         @Test
@@ -270,10 +273,10 @@ class Step7OrdersConsultationTest {
         void consultarPedidosContemInformacoesCarro() {
             // Given
             List<PlacedOrder> orders = Collections.singletonList(order1);
-            when(orderService.getOrders()).thenReturn(orders);
+            when(orderService.getOrders(criteria, null, null)).thenReturn(pagina(orders));
 
             // When
-            List<PlacedOrder> result = orderController.getOrders();
+            List<PlacedOrder> result = consultarPedidos();
 
             // Then
             assertNotNull(result);
@@ -284,7 +287,7 @@ class Step7OrdersConsultationTest {
             assertEquals(10L, order.getCarId());
             assertEquals("Toyota", order.getBrand());
             assertEquals("Corolla", order.getModel());
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
 
         @Test
@@ -292,16 +295,16 @@ class Step7OrdersConsultationTest {
         void consultarPedidosContemDataHoraInicio() {
             // Given
             List<PlacedOrder> orders = Collections.singletonList(order1);
-            when(orderService.getOrders()).thenReturn(orders);
+            when(orderService.getOrders(criteria, null, null)).thenReturn(pagina(orders));
 
             // When
-            List<PlacedOrder> result = orderController.getOrders();
+            List<PlacedOrder> result = consultarPedidos();
 
             // Then
             assertNotNull(result);
             assertNotNull(result.get(0).getStartTime());
             assertTrue(result.get(0).getStartTime() instanceof LocalDateTime);
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
 
         @Test
@@ -309,10 +312,10 @@ class Step7OrdersConsultationTest {
         void consultarPedidosContemDataHoraFim() {
             // Given
             List<PlacedOrder> orders = Collections.singletonList(order1);
-            when(orderService.getOrders()).thenReturn(orders);
+            when(orderService.getOrders(criteria, null, null)).thenReturn(pagina(orders));
 
             // When
-            List<PlacedOrder> result = orderController.getOrders();
+            List<PlacedOrder> result = consultarPedidos();
 
             // Then
             assertNotNull(result);
@@ -320,7 +323,7 @@ class Step7OrdersConsultationTest {
             assertTrue(result.get(0).getEndTime() instanceof LocalDateTime);
             // Verificar que endTime é posterior a startTime
             assertTrue(result.get(0).getEndTime().isAfter(result.get(0).getStartTime()));
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
 
         @Test
@@ -328,10 +331,10 @@ class Step7OrdersConsultationTest {
         void consultarPedidosContemInformacoesPacote() {
             // Given - Nota: PlacedOrder não tem campo 'package', mas tem informações do carro
             List<PlacedOrder> orders = Collections.singletonList(order1);
-            when(orderService.getOrders()).thenReturn(orders);
+            when(orderService.getOrders(criteria, null, null)).thenReturn(pagina(orders));
 
             // When
-            List<PlacedOrder> result = orderController.getOrders();
+            List<PlacedOrder> result = consultarPedidos();
 
             // Then
             assertNotNull(result);
@@ -342,7 +345,7 @@ class Step7OrdersConsultationTest {
             assertNotNull(order.getModel());
             assertNotNull(order.getStartTime());
             assertNotNull(order.getEndTime());
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
 
         @Test
@@ -350,10 +353,10 @@ class Step7OrdersConsultationTest {
         void consultarPedidosNaoExpoeDadosSensiveis() {
             // Given
             List<PlacedOrder> orders = Collections.singletonList(order1);
-            when(orderService.getOrders()).thenReturn(orders);
+            when(orderService.getOrders(criteria, null, null)).thenReturn(pagina(orders));
 
             // When
-            List<PlacedOrder> result = orderController.getOrders();
+            List<PlacedOrder> result = consultarPedidos();
 
             // Then - Validar que PlacedOrder não contém dados sensíveis
             assertNotNull(result);
@@ -367,7 +370,7 @@ class Step7OrdersConsultationTest {
             assertNotNull(order.getModel());
             assertNotNull(order.getStartTime());
             assertNotNull(order.getEndTime());
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
     }
 
@@ -391,11 +394,11 @@ class Step7OrdersConsultationTest {
                 order.setEndTime(LocalDateTime.now().minusDays(i).plusHours(5));
                 largeOrderList.add(order);
             }
-            when(orderService.getOrders()).thenReturn(largeOrderList);
+            when(orderService.getOrders(criteria, null, null)).thenReturn(pagina(largeOrderList));
 
             // When
             long startTime = System.currentTimeMillis();
-            List<PlacedOrder> result = orderController.getOrders();
+            List<PlacedOrder> result = consultarPedidos();
             long endTime = System.currentTimeMillis();
             long duration = endTime - startTime;
 
@@ -404,7 +407,7 @@ class Step7OrdersConsultationTest {
             assertEquals(100, result.size());
             // Operação de mock deve ser instantânea (< 100ms)
             assertTrue(duration < 100, "Consulta deve ser rápida mesmo com 100 pedidos");
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
 
         @Test
@@ -412,11 +415,11 @@ class Step7OrdersConsultationTest {
         void consultarPedidosTempoRespostaMenor2Segundos() {
             // Given
             List<PlacedOrder> orders = Arrays.asList(order1, order2, order3);
-            when(orderService.getOrders()).thenReturn(orders);
+            when(orderService.getOrders(criteria, null, null)).thenReturn(pagina(orders));
 
             // When
             long startTime = System.currentTimeMillis();
-            List<PlacedOrder> result = orderController.getOrders();
+            List<PlacedOrder> result = consultarPedidos();
             long endTime = System.currentTimeMillis();
             long duration = endTime - startTime;
 
@@ -425,7 +428,7 @@ class Step7OrdersConsultationTest {
             assertEquals(3, result.size());
             // Tempo de resposta deve ser < 2000ms
             assertTrue(duration < 2000, "Tempo de resposta deve ser menor que 2 segundos");
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
 
         @Test
@@ -433,14 +436,14 @@ class Step7OrdersConsultationTest {
         void consultarPedidosConcorrentementeMultiplosUsuarios() {
             // Given - Simular múltiplas chamadas concorrentes
             List<PlacedOrder> orders = Arrays.asList(order1, order2);
-            when(orderService.getOrders()).thenReturn(orders);
+            when(orderService.getOrders(criteria, null, null)).thenReturn(pagina(orders));
 
             // When - Simular 5 chamadas sequenciais (mock de concorrência)
-            List<PlacedOrder> result1 = orderController.getOrders();
-            List<PlacedOrder> result2 = orderController.getOrders();
-            List<PlacedOrder> result3 = orderController.getOrders();
-            List<PlacedOrder> result4 = orderController.getOrders();
-            List<PlacedOrder> result5 = orderController.getOrders();
+            List<PlacedOrder> result1 = consultarPedidos();
+            List<PlacedOrder> result2 = consultarPedidos();
+            List<PlacedOrder> result3 = consultarPedidos();
+            List<PlacedOrder> result4 = consultarPedidos();
+            List<PlacedOrder> result5 = consultarPedidos();
 
             // Then - Todas devem retornar os mesmos dados
             assertNotNull(result1);
@@ -453,7 +456,7 @@ class Step7OrdersConsultationTest {
             assertEquals(2, result3.size());
             assertEquals(2, result4.size());
             assertEquals(2, result5.size());
-            verify(orderService, times(5)).getOrders();
+            verify(orderService, times(5)).getOrders(criteria, null, null);
         }
     }
 
@@ -466,13 +469,13 @@ class Step7OrdersConsultationTest {
         void deveChamarOrderServiceUmaVez() {
             // Given
             List<PlacedOrder> orders = Collections.emptyList();
-            when(orderService.getOrders()).thenReturn(orders);
+            when(orderService.getOrders(criteria, null, null)).thenReturn(pagina(orders));
 
             // When
-            orderController.getOrders();
+            consultarPedidos();
 
             // Then
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
             verifyNoMoreInteractions(orderService);
         }
 
@@ -480,15 +483,15 @@ class Step7OrdersConsultationTest {
         @DisplayName("Deve retornar lista mesmo quando service retorna null")
         void deveRetornarListaMesmoQuandoServiceRetornaNull() {
             // Given
-            when(orderService.getOrders()).thenReturn(null);
+            when(orderService.getOrders(criteria, null, null)).thenReturn(pagina(null));
 
             // When
-            List<PlacedOrder> result = orderController.getOrders();
+            List<PlacedOrder> result = consultarPedidos();
 
             // Then - Deve retornar o que o service retornou (null neste caso)
             // O controller não deve fazer transformações
             assertNull(result);
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
 
         @Test
@@ -496,16 +499,16 @@ class Step7OrdersConsultationTest {
         void deveRetornarListaVaziaQuandoNaoHaPedidos() {
             // Given
             List<PlacedOrder> orders = Collections.emptyList();
-            when(orderService.getOrders()).thenReturn(orders);
+            when(orderService.getOrders(criteria, null, null)).thenReturn(pagina(orders));
 
             // When
-            List<PlacedOrder> result = orderController.getOrders();
+            List<PlacedOrder> result = consultarPedidos();
 
             // Then
             assertNotNull(result);
             assertTrue(result.isEmpty());
             assertEquals(0, result.size());
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
 
         @Test
@@ -524,15 +527,15 @@ class Step7OrdersConsultationTest {
                 order.setEndTime(LocalDateTime.now().minusDays(i).plusHours(5));
                 orders.add(order);
             }
-            when(orderService.getOrders()).thenReturn(orders);
+            when(orderService.getOrders(criteria, null, null)).thenReturn(pagina(orders));
 
             // When
-            List<PlacedOrder> result = orderController.getOrders();
+            List<PlacedOrder> result = consultarPedidos();
 
             // Then
             assertNotNull(result);
             assertEquals(10, result.size());
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
     }
 
@@ -545,10 +548,10 @@ class Step7OrdersConsultationTest {
         void deveRetornarMultiplosPedidosEmOrdem() {
             // Given
             List<PlacedOrder> orders = Arrays.asList(order1, order2, order3);
-            when(orderService.getOrders()).thenReturn(orders);
+            when(orderService.getOrders(criteria, null, null)).thenReturn(pagina(orders));
 
             // When
-            List<PlacedOrder> result = orderController.getOrders();
+            List<PlacedOrder> result = consultarPedidos();
 
             // Then
             assertNotNull(result);
@@ -556,7 +559,7 @@ class Step7OrdersConsultationTest {
             assertEquals(1L, result.get(0).getId());
             assertEquals(2L, result.get(1).getId());
             assertEquals(3L, result.get(2).getId());
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
 
         @Test
@@ -564,10 +567,10 @@ class Step7OrdersConsultationTest {
         void deveManterOrdemRetornadaPeloService() {
             // Given - Ordem específica
             List<PlacedOrder> orders = Arrays.asList(order3, order1, order2);
-            when(orderService.getOrders()).thenReturn(orders);
+            when(orderService.getOrders(criteria, null, null)).thenReturn(pagina(orders));
 
             // When
-            List<PlacedOrder> result = orderController.getOrders();
+            List<PlacedOrder> result = consultarPedidos();
 
             // Then
             assertNotNull(result);
@@ -575,7 +578,7 @@ class Step7OrdersConsultationTest {
             assertEquals(3L, result.get(0).getId());
             assertEquals(1L, result.get(1).getId());
             assertEquals(2L, result.get(2).getId());
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
 
         @Test
@@ -585,10 +588,10 @@ class Step7OrdersConsultationTest {
             // Nota: PlacedOrder não armazena diretamente o pacote, mas o teste
             // valida que múltiplos pedidos são retornados corretamente
             List<PlacedOrder> orders = Arrays.asList(order1, order2, order3);
-            when(orderService.getOrders()).thenReturn(orders);
+            when(orderService.getOrders(criteria, null, null)).thenReturn(pagina(orders));
 
             // When
-            List<PlacedOrder> result = orderController.getOrders();
+            List<PlacedOrder> result = consultarPedidos();
 
             // Then
             assertNotNull(result);
@@ -601,7 +604,7 @@ class Step7OrdersConsultationTest {
                 assertNotNull(order.getBrand());
                 assertNotNull(order.getModel());
             });
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
     }
 
@@ -616,15 +619,15 @@ class Step7OrdersConsultationTest {
             // Na prática, Spring Security bloquearia antes de chegar ao controller
             // Aqui validamos que o controller funciona corretamente quando chamado
             List<PlacedOrder> orders = Collections.emptyList();
-            when(orderService.getOrders()).thenReturn(orders);
+            when(orderService.getOrders(criteria, null, null)).thenReturn(pagina(orders));
 
             // When
-            List<PlacedOrder> result = orderController.getOrders();
+            List<PlacedOrder> result = consultarPedidos();
 
             // Then - Controller retorna lista vazia (usuário sem pedidos ou sem autenticação)
             assertNotNull(result);
             assertTrue(result.isEmpty());
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
 
         @Test
@@ -632,15 +635,15 @@ class Step7OrdersConsultationTest {
         void consultarPedidosUsuarioInexistente() {
             // Given - Usuário inexistente não teria pedidos
             List<PlacedOrder> orders = Collections.emptyList();
-            when(orderService.getOrders()).thenReturn(orders);
+            when(orderService.getOrders(criteria, null, null)).thenReturn(pagina(orders));
 
             // When
-            List<PlacedOrder> result = orderController.getOrders();
+            List<PlacedOrder> result = consultarPedidos();
 
             // Then
             assertNotNull(result);
             assertTrue(result.isEmpty());
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
 
         @Test
@@ -648,10 +651,10 @@ class Step7OrdersConsultationTest {
         void validarIsolamentoDadosEntreUsuarios() {
             // Given - Simula que service retorna apenas pedidos do usuário logado
             List<PlacedOrder> orders = Arrays.asList(order1, order2);
-            when(orderService.getOrders()).thenReturn(orders);
+            when(orderService.getOrders(criteria, null, null)).thenReturn(pagina(orders));
 
             // When
-            List<PlacedOrder> result = orderController.getOrders();
+            List<PlacedOrder> result = consultarPedidos();
 
             // Then - Validar que todos pedidos são do mesmo usuário
             assertNotNull(result);
@@ -659,40 +662,40 @@ class Step7OrdersConsultationTest {
             // Todos pedidos devem ser do mesmo userId
             long firstUserId = result.get(0).getUserId();
             result.forEach(order -> assertEquals(firstUserId, order.getUserId()));
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
 
         @Test
         @DisplayName("Deve tratar exceção RuntimeException do service")
         void deveTratarExcecaoRuntimeException() {
             // Given
-            when(orderService.getOrders()).thenThrow(new RuntimeException("Erro no banco"));
+            when(orderService.getOrders(criteria, null, null)).thenThrow(new RuntimeException("Erro no banco"));
 
             // When/Then
-            assertThrows(RuntimeException.class, () -> orderController.getOrders());
-            verify(orderService, times(1)).getOrders();
+            assertThrows(RuntimeException.class, () -> consultarPedidos());
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
 
         @Test
         @DisplayName("Deve tratar exceção NullPointerException do service")
         void deveTratarExcecaoNullPointerException() {
             // Given
-            when(orderService.getOrders()).thenThrow(new NullPointerException("Referência nula"));
+            when(orderService.getOrders(criteria, null, null)).thenThrow(new NullPointerException("Referência nula"));
 
             // When/Then
-            assertThrows(NullPointerException.class, () -> orderController.getOrders());
-            verify(orderService, times(1)).getOrders();
+            assertThrows(NullPointerException.class, () -> consultarPedidos());
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
 
         @Test
         @DisplayName("Deve tratar exceção IllegalStateException do service")
         void deveTratarExcecaoIllegalStateException() {
             // Given
-            when(orderService.getOrders()).thenThrow(new IllegalStateException("Estado inválido"));
+            when(orderService.getOrders(criteria, null, null)).thenThrow(new IllegalStateException("Estado inválido"));
 
             // When/Then
-            assertThrows(IllegalStateException.class, () -> orderController.getOrders());
-            verify(orderService, times(1)).getOrders();
+            assertThrows(IllegalStateException.class, () -> consultarPedidos());
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
     }
 
@@ -706,15 +709,15 @@ class Step7OrdersConsultationTest {
             // Given - Nota: O controller atual não aceita parâmetros de paginação
             // Este teste valida comportamento básico esperado
             List<PlacedOrder> orders = Arrays.asList(order1, order2, order3);
-            when(orderService.getOrders()).thenReturn(orders);
+            when(orderService.getOrders(criteria, null, null)).thenReturn(pagina(orders));
 
             // When
-            List<PlacedOrder> result = orderController.getOrders();
+            List<PlacedOrder> result = consultarPedidos();
 
             // Then - Controller retorna todos pedidos (sem paginação)
             assertNotNull(result);
             assertEquals(3, result.size());
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
 
         @Test
@@ -722,10 +725,10 @@ class Step7OrdersConsultationTest {
         void comportamentoSemOrdenacao() {
             // Given - Controller atual não suporta ordenação via parâmetros
             List<PlacedOrder> orders = Arrays.asList(order1, order2, order3);
-            when(orderService.getOrders()).thenReturn(orders);
+            when(orderService.getOrders(criteria, null, null)).thenReturn(pagina(orders));
 
             // When
-            List<PlacedOrder> result = orderController.getOrders();
+            List<PlacedOrder> result = consultarPedidos();
 
             // Then - Retorna na ordem que o service retornou
             assertNotNull(result);
@@ -733,7 +736,7 @@ class Step7OrdersConsultationTest {
             assertEquals(order1.getId(), result.get(0).getId());
             assertEquals(order2.getId(), result.get(1).getId());
             assertEquals(order3.getId(), result.get(2).getId());
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
 
         @Test
@@ -741,15 +744,15 @@ class Step7OrdersConsultationTest {
         void comportamentoSemFiltros() {
             // Given - Controller atual não suporta filtros via parâmetros
             List<PlacedOrder> orders = Arrays.asList(order1, order2, order3);
-            when(orderService.getOrders()).thenReturn(orders);
+            when(orderService.getOrders(criteria, null, null)).thenReturn(pagina(orders));
 
             // When
-            List<PlacedOrder> result = orderController.getOrders();
+            List<PlacedOrder> result = consultarPedidos();
 
             // Then - Retorna todos pedidos sem filtrar
             assertNotNull(result);
             assertEquals(3, result.size());
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
 
         @Test
@@ -757,15 +760,15 @@ class Step7OrdersConsultationTest {
         void comportamentoComMultiplosParametrosInvalidos() {
             // Given - Controller simples sem validação de parâmetros
             List<PlacedOrder> orders = Collections.emptyList();
-            when(orderService.getOrders()).thenReturn(orders);
+            when(orderService.getOrders(criteria, null, null)).thenReturn(pagina(orders));
 
             // When
-            List<PlacedOrder> result = orderController.getOrders();
+            List<PlacedOrder> result = consultarPedidos();
 
             // Then
             assertNotNull(result);
             assertTrue(result.isEmpty());
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
     }
 
@@ -778,60 +781,69 @@ class Step7OrdersConsultationTest {
         void consultarPedidosComTokenExpirado() {
             // Given - Simula comportamento esperado quando token expira
             // Em um sistema real, Spring Security lançaria AuthenticationException
-            when(orderService.getOrders()).thenThrow(new RuntimeException("Token expired"));
+            when(orderService.getOrders(criteria, null, null)).thenThrow(new RuntimeException("Token expired"));
 
             // When & Then
             RuntimeException exception = assertThrows(RuntimeException.class, () -> {
-                orderController.getOrders();
+                consultarPedidos();
             });
             
             assertEquals("Token expired", exception.getMessage());
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
 
         @Test
         @DisplayName("CT20 - Consultar pedidos com token inválido")
         void consultarPedidosComTokenInvalido() {
             // Given - Simula comportamento esperado quando token é inválido
-            when(orderService.getOrders()).thenThrow(new RuntimeException("Invalid token"));
+            when(orderService.getOrders(criteria, null, null)).thenThrow(new RuntimeException("Invalid token"));
 
             // When & Then
             RuntimeException exception = assertThrows(RuntimeException.class, () -> {
-                orderController.getOrders();
+                consultarPedidos();
             });
             
             assertEquals("Invalid token", exception.getMessage());
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
 
         @Test
         @DisplayName("CT22 - Consultar pedidos com usuário bloqueado")
         void consultarPedidosComUsuarioBloqueado() {
             // Given - Simula comportamento esperado quando usuário está bloqueado
-            when(orderService.getOrders()).thenThrow(new RuntimeException("User blocked"));
+            when(orderService.getOrders(criteria, null, null)).thenThrow(new RuntimeException("User blocked"));
 
             // When & Then
             RuntimeException exception = assertThrows(RuntimeException.class, () -> {
-                orderController.getOrders();
+                consultarPedidos();
             });
             
             assertEquals("User blocked", exception.getMessage());
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
 
         @Test
         @DisplayName("CT23 - Consultar pedidos com token revogado")
         void consultarPedidosComTokenRevogado() {
             // Given - Simula comportamento esperado quando token foi revogado
-            when(orderService.getOrders()).thenThrow(new RuntimeException("Token revoked"));
+            when(orderService.getOrders(criteria, null, null)).thenThrow(new RuntimeException("Token revoked"));
 
             // When & Then
             RuntimeException exception = assertThrows(RuntimeException.class, () -> {
-                orderController.getOrders();
+                consultarPedidos();
             });
             
             assertEquals("Token revoked", exception.getMessage());
-            verify(orderService, times(1)).getOrders();
+            verify(orderService, times(1)).getOrders(criteria, null, null);
         }
     }
+
+    private CursorPage<PlacedOrder> pagina(List<PlacedOrder> orders) {
+        return orders != null ? new CursorPage<>(orders, null) : null;
+    }
+
+    private List<PlacedOrder> consultarPedidos() {
+        CursorPage<PlacedOrder> page = orderController.getOrders(criteria, null, null);
+        return page != null ? page.getContent() : null;
+    }
 }
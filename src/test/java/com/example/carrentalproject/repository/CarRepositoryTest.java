@@ -12,11 +12,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
@@ -49,15 +47,17 @@ class CarRepositoryTest {
         }
 
         @Test
-        void itShouldReturnAvailableCars() {
+        void itShouldReturnAvailableCarIdsOfPackageAfterCursor() {
+                CarPackage sporty = carPackageRepository.findByPackageName("Sporty").orElseThrow();
+                Car second = carRepository.save(new Car(null, "RSA45363", "Audi", "S7", true, sporty, null));
+                carRepository.save(new Car(null, "RSA45364", "Audi", "S8", false, sporty, null));
 
-                List<Car> cars = carRepository.findCars(PageRequest.of(1, 20, Sort.by(Sort.Direction.ASC, "id")));
-
-                assertThat(carRepository.findAvailableCars(PageRequest.of(1, 20, Sort.by(Sort.Direction.ASC, "id"))))
-                        .isEqualTo(cars.stream()
-                                .filter(car -> car.getIsAvailable().equals(true))
-                                .collect(Collectors.toList()));
+                List<Long> first = carRepository.findAvailableCarIds("Sporty", 0L, PageRequest.of(0, 1));
+                List<Long> next = carRepository.findAvailableCarIds("Sporty", first.get(0), PageRequest.of(0, 10));
 
+                assertThat(first.size()).isEqualTo(1);
+                assertThat(next).isEqualTo(List.of(second.getId()));
+                assertThat(carRepository.countAvailableCars(sporty.getId())).isEqualTo(2L);
         }
 
-}
\ No newline at end of file
+}
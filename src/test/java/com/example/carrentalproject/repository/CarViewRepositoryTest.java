@@ -0,0 +1,124 @@
+package com.example.carrentalproject.repository;
+
+import com.example.carrentalproject.constant.FuelType;
+import com.example.carrentalproject.constant.GearBoxType;
+import com.example.carrentalproject.domain.Car;
+import com.example.carrentalproject.domain.CarPackage;
+import com.example.carrentalproject.domain.CarParameters;
+import com.example.carrentalproject.dto.CarSearchCriteria;
+import com.example.carrentalproject.dto.CarView;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CarViewRepositoryTest {
+
+        @Autowired
+        private CarViewRepository carViewRepository;
+
+        @Autowired
+        private CarRepository carRepository;
+
+        @Autowired
+        private CarPackageRepository carPackageRepository;
+
+        @Autowired
+        private CarParametersRepository carParametersRepository;
+
+        @Autowired
+        private TestEntityManager entityManager;
+
+        private Car tipo;
+
+        @BeforeEach
+        void setUp() {
+                CarPackage economy = carPackageRepository.save(new CarPackage(null, "Economy", 100, new ArrayList<>()));
+                CarParameters dieselParameters = carParametersRepository.save(
+                        new CarParameters(null, FuelType.DIESEL, GearBoxType.MANUAL, 5, 5, true, null));
+                tipo = carRepository.save(new Car(null, "FIA12345", "Fiat", "Tipo", true, economy, dieselParameters));
+                CarParameters petrolParameters = carParametersRepository.save(
+                        new CarParameters(null, FuelType.PETROL, GearBoxType.MANUAL, 4, 3, false, null));
+                carRepository.save(new Car(null, "FIA54321", "Fiat", "Panda", true, economy, petrolParameters));
+                carRepository.save(new Car(null, "FIA00000", "Fiat", "Uno", false, null, null));
+                entityManager.flush();
+                entityManager.clear();
+        }
+
+        @AfterEach
+        void tearDown() {
+                carRepository.deleteAll();
+        }
+
+        @Test
+        void itShouldProjectAvailableCarsWithoutLoadingEntities() {
+                Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                        .unwrap(SessionFactory.class).getStatistics();
+                statistics.setStatisticsEnabled(true);
+                statistics.clear();
+
+                List<CarView> cars = carViewRepository.findAvailableCars(PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id")));
+
+                assertThat(cars.stream().map(CarView::getModel).collect(Collectors.toList())).containsExactly("Tipo", "Panda");
+                assertThat(cars.get(0).getCarPackage().getPackageName()).isEqualTo("Economy");
+                assertThat(cars.get(0).getCarParameters().getFuelType()).isEqualTo(FuelType.DIESEL);
+                assertThat(statistics.getPrepareStatementCount()).isEqualTo(1L);
+                assertThat(statistics.getEntityLoadCount()).isZero();
+                statistics.setStatisticsEnabled(false);
+        }
+
+        @Test
+        void itShouldProjectCarWithoutPackageOrParameters() {
+                List<CarView> cars = carViewRepository.findCars(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "id")));
+
+                assertThat(cars.get(0).getModel()).isEqualTo("Uno");
+                assertThat(cars.get(0).getCarPackage()).isNull();
+                assertThat(cars.get(0).getCarParameters()).isNull();
+        }
+
+        @Test
+        void itShouldSearchCarsByCriteria() {
+                CarSearchCriteria criteria = CarSearchCriteria.builder()
+                        .fuelType(FuelType.DIESEL)
+                        .maxPrice(150)
+                        .available(true)
+                        .build();
+
+                List<CarView> cars = carViewRepository.searchCars(criteria, PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id")));
+
+                assertThat(cars).extracting(CarView::getId).containsExactly(tipo.getId());
+        }
+
+        @Test
+        void itShouldFilterByAvailabilityOnlyWhenRequested() {
+                CarSearchCriteria anyAvailability = CarSearchCriteria.builder()
+                        .brand("Fiat")
+                        .build();
+                CarSearchCriteria unavailable = CarSearchCriteria.builder()
+                        .brand("Fiat")
+                        .available(false)
+                        .build();
+
+                List<CarView> allCars = carViewRepository.searchCars(anyAvailability, PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id")));
+                List<CarView> unavailableCars = carViewRepository.searchCars(unavailable, PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id")));
+
+                assertThat(allCars).extracting(CarView::getModel).containsExactly("Tipo", "Panda", "Uno");
+                assertThat(unavailableCars).extracting(CarView::getModel).containsExactly("Uno");
+        }
+
+}
@@ -0,0 +1,136 @@
+package com.example.carrentalproject.repository;
+
+import com.example.carrentalproject.configuration.CacheConfiguration;
+import com.example.carrentalproject.domain.CarPackage;
+import com.example.carrentalproject.domain.Role;
+import com.example.carrentalproject.dto.CarPackageView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringJUnitConfig
+class ReferenceDataCacheTest {
+
+        @Configuration
+        @EnableCaching
+        static class Config {
+
+                @Bean
+                static BeanPostProcessor transactionAwareCacheManager() {
+                        return CacheConfiguration.transactionAwareCacheManager();
+                }
+
+                @Bean
+                CacheManager cacheManager() {
+                        return new ConcurrentMapCacheManager();
+                }
+
+                @Bean
+                RoleRepository roleRepository() {
+                        return mock(RoleRepository.class);
+                }
+
+                @Bean
+                CarPackageRepository carPackageRepository() {
+                        return mock(CarPackageRepository.class);
+                }
+
+        }
+
+        @Autowired
+        private RoleRepository roleRepository;
+
+        @Autowired
+        private CarPackageRepository carPackageRepository;
+
+        @Autowired
+        private CacheManager cacheManager;
+
+        private RoleRepository roleRepositoryMock;
+        private CarPackageRepository carPackageRepositoryMock;
+
+        @BeforeEach
+        void setUp() {
+                roleRepositoryMock = AopTestUtils.getTargetObject(roleRepository);
+                carPackageRepositoryMock = AopTestUtils.getTargetObject(carPackageRepository);
+                reset(roleRepositoryMock, carPackageRepositoryMock);
+                cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        }
+
+        @Test
+        void itShouldCacheRoleByNameUntilRoleIsSaved() {
+                when(roleRepositoryMock.findIdByName("ROLE_USER")).thenReturn(Optional.of(1L));
+
+                assertThat(roleRepository.findIdByName("ROLE_USER")).contains(1L);
+                assertThat(roleRepository.findIdByName("ROLE_USER")).contains(1L);
+                verify(roleRepositoryMock, times(1)).findIdByName("ROLE_USER");
+
+                roleRepository.save(new Role(null, "ROLE_MANAGER", new ArrayList<>()));
+                roleRepository.findIdByName("ROLE_USER");
+
+                verify(roleRepositoryMock, times(2)).findIdByName("ROLE_USER");
+        }
+
+        @Test
+        void itShouldCacheCarPackagesUntilPackageIsDeleted() {
+                CarPackageView sporty = new CarPackageView(1L, "Sporty", 300);
+                when(carPackageRepositoryMock.findAllViews()).thenReturn(List.of(sporty));
+                when(carPackageRepositoryMock.findViewByPackageName("Sporty")).thenReturn(Optional.of(sporty));
+
+                carPackageRepository.findAllViews();
+                carPackageRepository.findAllViews();
+                carPackageRepository.findViewByPackageName("Sporty");
+                carPackageRepository.findViewByPackageName("Sporty");
+                verify(carPackageRepositoryMock, times(1)).findAllViews();
+                verify(carPackageRepositoryMock, times(1)).findViewByPackageName("Sporty");
+
+                carPackageRepository.delete(new CarPackage(1L, "Sporty", 300, new ArrayList<>()));
+                carPackageRepository.findAllViews();
+                carPackageRepository.findViewByPackageName("Sporty");
+
+                verify(carPackageRepositoryMock, times(2)).findAllViews();
+                verify(carPackageRepositoryMock, times(2)).findViewByPackageName("Sporty");
+        }
+
+        @Test
+        void itShouldEvictCarPackagesOnlyAfterCommit() {
+                when(carPackageRepositoryMock.findAllViews()).thenReturn(List.of(new CarPackageView(1L, "Sporty", 300)));
+                carPackageRepository.findAllViews();
+
+                TransactionSynchronizationManager.initSynchronization();
+                try {
+                        carPackageRepository.save(new CarPackage(null, "Luxury", 500, new ArrayList<>()));
+                        carPackageRepository.findAllViews();
+                        verify(carPackageRepositoryMock, times(1)).findAllViews();
+
+                        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+                } finally {
+                        TransactionSynchronizationManager.clearSynchronization();
+                }
+                carPackageRepository.findAllViews();
+
+                verify(carPackageRepositoryMock, times(2)).findAllViews();
+        }
+
+}
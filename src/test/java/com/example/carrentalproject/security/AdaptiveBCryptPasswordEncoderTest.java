@@ -0,0 +1,34 @@
+package com.example.carrentalproject.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveBCryptPasswordEncoderTest {
+
+        private final AdaptiveBCryptPasswordEncoder passwordEncoder = new AdaptiveBCryptPasswordEncoder(6);
+
+        @Test
+        void itShouldMatchHashesOfAnyCost() {
+                String cheaper = new BCryptPasswordEncoder(4).encode("Marbella465");
+                String costlier = new BCryptPasswordEncoder(8).encode("Marbella465");
+
+                assertThat(passwordEncoder.matches("Marbella465", cheaper)).isTrue();
+                assertThat(passwordEncoder.matches("Marbella465", costlier)).isTrue();
+        }
+
+        @Test
+        void itShouldRequestRehashWhenCostDiffersFromTarget() {
+                assertThat(passwordEncoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("Marbella465"))).isTrue();
+                assertThat(passwordEncoder.upgradeEncoding(new BCryptPasswordEncoder(8).encode("Marbella465"))).isTrue();
+                assertThat(passwordEncoder.upgradeEncoding(passwordEncoder.encode("Marbella465"))).isFalse();
+        }
+
+        @Test
+        void itShouldNotRehashUnknownEncodings() {
+                assertThat(passwordEncoder.upgradeEncoding(null)).isFalse();
+                assertThat(passwordEncoder.upgradeEncoding("plain-text")).isFalse();
+        }
+
+}
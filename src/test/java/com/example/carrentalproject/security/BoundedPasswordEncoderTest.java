@@ -0,0 +1,86 @@
+package com.example.carrentalproject.security;
+
+import com.example.carrentalproject.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BoundedPasswordEncoderTest {
+
+        private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+        private final PasswordEncoder blockingEncoder = new PasswordEncoder() {
+
+                @Override
+                public String encode(CharSequence rawPassword) {
+                        try {
+                                release.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                        }
+                        return "{hash}" + rawPassword;
+                }
+
+                @Override
+                public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                        return encode(rawPassword).equals(encodedPassword);
+                }
+
+        };
+
+        @AfterEach
+        void tearDown() {
+                release.countDown();
+                callers.shutdownNow();
+        }
+
+        @Test
+        void itShouldDelegateHashingAndRecordLatency() {
+                release.countDown();
+                BoundedPasswordEncoder passwordEncoder = new BoundedPasswordEncoder(blockingEncoder, 1, 1, 1000, meterRegistry);
+
+                assertThat(passwordEncoder.encode("Marbella465")).isEqualTo("{hash}Marbella465");
+                assertThat(passwordEncoder.matches("Marbella465", "{hash}Marbella465")).isTrue();
+                assertThat(meterRegistry.get("password.hashing").tag("operation", "encode").timer().count()).isEqualTo(1);
+                assertThat(meterRegistry.get("password.hashing").tag("operation", "matches").timer().count()).isEqualTo(1);
+                passwordEncoder.shutdown();
+        }
+
+        @Test
+        void itShouldRejectWhenQueueIsFull() throws InterruptedException {
+                BoundedPasswordEncoder passwordEncoder = new BoundedPasswordEncoder(blockingEncoder, 1, 1, 5000, meterRegistry);
+
+                callers.submit(() -> passwordEncoder.encode("first"));
+                while (meterRegistry.get("password.hashing.active").gauge().value() < 1) {
+                        Thread.sleep(10);
+                }
+                callers.submit(() -> passwordEncoder.encode("second"));
+                while (meterRegistry.get("password.hashing.queue.size").gauge().value() < 1) {
+                        Thread.sleep(10);
+                }
+
+                assertThrows(PasswordHashingUnavailableException.class, () -> passwordEncoder.encode("third"));
+                assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1);
+                passwordEncoder.shutdown();
+        }
+
+        @Test
+        void itShouldGiveUpAfterTimeout() {
+                BoundedPasswordEncoder passwordEncoder = new BoundedPasswordEncoder(blockingEncoder, 1, 1, 50, meterRegistry);
+
+                assertThrows(PasswordHashingUnavailableException.class, () -> passwordEncoder.encode("Marbella465"));
+                passwordEncoder.shutdown();
+        }
+
+}
@@ -0,0 +1,109 @@
+package com.example.carrentalproject.security;
+
+import com.example.carrentalproject.domain.User;
+import com.example.carrentalproject.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LoggedInUserTest {
+
+        @Mock
+        UserRepository userRepository;
+
+        @Mock
+        EntityManager entityManager;
+
+        LoggedInUser loggedInUser;
+
+        @BeforeEach
+        void setUp() {
+                loggedInUser = new LoggedInUser(userRepository, new UserIdCache(60_000, 100));
+                ReflectionTestUtils.setField(loggedInUser, "entityManager", entityManager);
+        }
+
+        @AfterEach
+        void tearDown() {
+                SecurityContextHolder.clearContext();
+                RequestContextHolder.resetRequestAttributes();
+        }
+
+        private void authenticate(String username, Long userId) {
+                UsernamePasswordAuthenticationToken authenticationToken =
+                        new UsernamePasswordAuthenticationToken(username, null, List.of());
+                authenticationToken.setDetails(userId);
+                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+        }
+
+        @Test
+        void itShouldLoadUserByIdFromToken() {
+                User user = User.builder()
+                        .id(7L)
+                        .username("BlackJohn32")
+                        .build();
+
+                authenticate("BlackJohn32", 7L);
+                when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+
+
+                assertThat(loggedInUser.getUser()).isEqualTo(user);
+                verify(userRepository, never()).findByUsername(anyString());
+        }
+
+        @Test
+        void itShouldLoadUserOncePerRequest() {
+                User user = User.builder()
+                        .id(7L)
+                        .username("BlackJohn32")
+                        .build();
+
+                RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+                authenticate("BlackJohn32", 7L);
+                when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+                when(entityManager.contains(user)).thenReturn(true);
+
+
+                assertThat(loggedInUser.getUser()).isSameAs(user);
+                assertThat(loggedInUser.getUser()).isSameAs(user);
+                verify(userRepository, times(1)).findById(7L);
+        }
+
+        @Test
+        void itShouldResolveUserIdByUsernameWhenTokenHasNoId() {
+                User user = User.builder()
+                        .id(3L)
+                        .username("JulietBB56")
+                        .build();
+
+                authenticate("JulietBB56", null);
+                when(userRepository.findByUsername("JulietBB56")).thenReturn(Optional.of(user));
+                when(userRepository.findById(3L)).thenReturn(Optional.of(user));
+
+
+                assertThat(loggedInUser.getUser()).isEqualTo(user);
+                assertThat(loggedInUser.getUser()).isEqualTo(user);
+                verify(userRepository, times(1)).findByUsername("JulietBB56");
+        }
+
+}
@@ -0,0 +1,44 @@
+package com.example.carrentalproject.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserDetailsCacheTest {
+
+        private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        private final UserDetailsCache userDetailsCache = new UserDetailsCache(meterRegistry, 60_000, 100);
+
+        @Test
+        void itShouldHandOutCopiesThatSurviveErasedCredentials() {
+                userDetailsCache.put(new AppUserDetails(5L, "Kamilek", "$2a$10$hash", List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+
+                AppUserDetails first = userDetailsCache.get("Kamilek");
+                first.eraseCredentials();
+                AppUserDetails second = userDetailsCache.get("Kamilek");
+
+                assertThat(second).isNotSameAs(first);
+                assertThat(second.getPassword()).isEqualTo("$2a$10$hash");
+                assertThat(second.getId()).isEqualTo(5L);
+                assertThat(meterRegistry.get("cache.gets").tag("cache", "userDetails").tag("result", "hit").functionCounter().count())
+                        .isEqualTo(2);
+        }
+
+        @Test
+        void itShouldEvictByUsernameAndById() {
+                userDetailsCache.put(new AppUserDetails(5L, "Kamilek", "$2a$10$hash", List.of()));
+                userDetailsCache.put(new AppUserDetails(6L, "Zbyszek", "$2a$10$hash", List.of()));
+
+                userDetailsCache.evict("Kamilek");
+                userDetailsCache.evict(6L);
+
+                assertThat(userDetailsCache.get("Kamilek")).isNull();
+                assertThat(userDetailsCache.get("Zbyszek")).isNull();
+                assertThat(meterRegistry.get("cache.invalidations").tag("cache", "userDetails").counter().count()).isEqualTo(2);
+        }
+
+}
@@ -0,0 +1,77 @@
+package com.example.carrentalproject.service;
+
+import com.example.carrentalproject.repository.CarRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AvailableCarPoolTest {
+
+        @Mock
+        CarRepository carRepository;
+
+        @InjectMocks
+        AvailableCarPool availableCarPool;
+
+        @Test
+        void itShouldHandOutRefilledCarsInOrder() {
+                when(carRepository.findAvailableCarIds("Sporty", 0L, PageRequest.of(0, 50))).thenReturn(List.of(4L, 7L));
+
+
+                assertThat(availableCarPool.poll("Sporty")).isNull();
+                assertThat(availableCarPool.refill("Sporty")).isTrue();
+                assertThat(availableCarPool.poll("Sporty")).isEqualTo(4L);
+                assertThat(availableCarPool.poll("Sporty")).isEqualTo(7L);
+                assertThat(availableCarPool.poll("Sporty")).isNull();
+        }
+
+        @Test
+        void itShouldNotQueryDatabaseWhilePoolHasCars() {
+                availableCarPool.offer("Sporty", 9L);
+
+
+                assertThat(availableCarPool.refill("Sporty")).isTrue();
+                verify(carRepository, never()).findAvailableCarIds(eq("Sporty"), any(), any());
+                assertThat(availableCarPool.poll("Sporty")).isEqualTo(9L);
+        }
+
+        @Test
+        void itShouldPagePastCarsAlreadyHandedOut() {
+                when(carRepository.findAvailableCarIds("Sporty", 0L, PageRequest.of(0, 50))).thenReturn(List.of(4L, 7L));
+                when(carRepository.findAvailableCarIds("Sporty", 7L, PageRequest.of(0, 50))).thenReturn(List.of(12L));
+                when(carRepository.findAvailableCarIds("Sporty", 12L, PageRequest.of(0, 50))).thenReturn(List.of());
+
+
+                assertThat(availableCarPool.refill("Sporty")).isTrue();
+                availableCarPool.poll("Sporty");
+                availableCarPool.poll("Sporty");
+                assertThat(availableCarPool.refill("Sporty")).isTrue();
+                assertThat(availableCarPool.poll("Sporty")).isEqualTo(12L);
+                assertThat(availableCarPool.refill("Sporty")).isFalse();
+                assertThat(availableCarPool.refill("Sporty")).isTrue();
+                assertThat(availableCarPool.poll("Sporty")).isEqualTo(4L);
+        }
+
+        @Test
+        void itShouldReportEmptyPackage() {
+                when(carRepository.findAvailableCarIds("Basic", 0L, PageRequest.of(0, 50))).thenReturn(List.of());
+
+
+                assertThat(availableCarPool.refill("Basic")).isFalse();
+                assertThat(availableCarPool.poll("Basic")).isNull();
+        }
+
+}
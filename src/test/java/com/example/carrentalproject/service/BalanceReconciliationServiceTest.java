@@ -0,0 +1,127 @@
+package com.example.carrentalproject.service;
+
+import com.example.carrentalproject.constant.DiscrepancyType;
+import com.example.carrentalproject.dto.BalanceDiscrepancy;
+import com.example.carrentalproject.dto.CardBalanceRow;
+import com.example.carrentalproject.repository.CreditCardRepository;
+import com.example.carrentalproject.repository.LedgerEntryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceReconciliationServiceTest {
+
+        private static final LocalDateTime CUTOVER = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+        @Mock
+        CreditCardRepository creditCardRepository;
+
+        @Mock
+        LedgerEntryRepository ledgerEntryRepository;
+
+        @Mock
+        PlatformTransactionManager transactionManager;
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        BalanceReconciliationService balanceReconciliationService;
+
+        @BeforeEach
+        void setUp() {
+                balanceReconciliationService = new BalanceReconciliationService(creditCardRepository, ledgerEntryRepository, new ObjectMapper(),
+                        transactionManager, meterRegistry, 2, 2, 500);
+        }
+
+        @Test
+        void itShouldReportDiscrepanciesOfEveryPartition() {
+                when(creditCardRepository.findMinId()).thenReturn(1L);
+                when(creditCardRepository.findMaxId()).thenReturn(4L);
+                when(ledgerEntryRepository.findFirstCreatedAt()).thenReturn(CUTOVER);
+                when(creditCardRepository.streamBalances(1L, 2L, CUTOVER, 500)).thenReturn(Stream.of(
+                        new CardBalanceRow(1L, 1000L, -200L, 1000L, 1L, 1L),
+                        new CardBalanceRow(2L, 100L, -300L, null, 1L, 1L)));
+                when(creditCardRepository.streamBalances(3L, 4L, CUTOVER, 500)).thenReturn(Stream.of(
+                        new CardBalanceRow(3L, 700L, 0L, 500L, 2L, 2L),
+                        new CardBalanceRow(4L, 0L, 0L, null, 0L, 1L)));
+                List<BalanceDiscrepancy> discrepancies = new ArrayList<>();
+
+
+                long found = balanceReconciliationService.reconcile(discrepancies::add);
+
+                assertThat(found).isEqualTo(3);
+                assertThat(discrepancies)
+                        .extracting(BalanceDiscrepancy::getCreditCardId, BalanceDiscrepancy::getType,
+                                BalanceDiscrepancy::getExpected, BalanceDiscrepancy::getActual)
+                        .containsExactlyInAnyOrder(
+                                tuple(2L, DiscrepancyType.NEGATIVE_BALANCE, 0L, -200L),
+                                tuple(3L, DiscrepancyType.SNAPSHOT_MISMATCH, 500L, 700L),
+                                tuple(4L, DiscrepancyType.UNPAID_ORDERS, 0L, 1L));
+                assertThat(meterRegistry.get("reconciliation.cards").counter().count()).isEqualTo(4);
+                assertThat(meterRegistry.get("reconciliation.discrepancies").tag("type", "UNPAID_ORDERS").counter().count()).isEqualTo(1);
+                assertThat(meterRegistry.get("reconciliation.progress").gauge().value()).isEqualTo(1.0);
+                assertThat(meterRegistry.get("reconciliation.duration").timer().count()).isEqualTo(1);
+        }
+
+        @Test
+        void itShouldWriteDiscrepanciesAsNdjson() {
+                when(creditCardRepository.findMinId()).thenReturn(5L);
+                when(creditCardRepository.findMaxId()).thenReturn(5L);
+                when(ledgerEntryRepository.findFirstCreatedAt()).thenReturn(null);
+                when(creditCardRepository.streamBalances(eq(5L), eq(5L), any(), eq(500))).thenReturn(Stream.of(
+                        new CardBalanceRow(5L, 0L, -50L, null, 0L, 0L)));
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+
+                balanceReconciliationService.reconcile(out);
+
+                assertThat(out.toString(StandardCharsets.UTF_8))
+                        .isEqualTo("{\"creditCardId\":5,\"type\":\"NEGATIVE_BALANCE\",\"expected\":0,\"actual\":-50}\n");
+        }
+
+        @Test
+        void itShouldSkipWhenThereAreNoCreditCards() {
+                when(creditCardRepository.findMinId()).thenReturn(null);
+                when(creditCardRepository.findMaxId()).thenReturn(null);
+
+
+                assertThat(balanceReconciliationService.reconcile(discrepancy -> { })).isZero();
+                verify(creditCardRepository, never()).streamBalances(anyLong(), anyLong(), any(), anyInt());
+        }
+
+        @Test
+        void itShouldRejectRunWhileAcquiredOneHasNotFinished() {
+                when(creditCardRepository.findMinId()).thenReturn(null);
+                when(creditCardRepository.findMaxId()).thenReturn(null);
+                balanceReconciliationService.acquire();
+
+
+                assertThrows(IllegalCallerException.class, () -> balanceReconciliationService.reconcile(discrepancy -> { }));
+                balanceReconciliationService.reconcileAcquired(new ByteArrayOutputStream());
+                assertThat(balanceReconciliationService.reconcile(discrepancy -> { })).isZero();
+        }
+
+}
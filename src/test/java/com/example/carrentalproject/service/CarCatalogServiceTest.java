@@ -0,0 +1,188 @@
+package com.example.carrentalproject.service;
+
+import com.example.carrentalproject.dto.CarSearchCriteria;
+import com.example.carrentalproject.dto.CarView;
+import com.example.carrentalproject.dto.CursorPage;
+import com.example.carrentalproject.exception.InvalidCursorException;
+import com.example.carrentalproject.exception.InvalidTimeWindowException;
+import com.example.carrentalproject.repository.CarViewRepository;
+import com.example.carrentalproject.utils.PageCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import javax.persistence.EntityNotFoundException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static com.example.carrentalproject.constant.FuelType.DIESEL;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CarCatalogServiceTest {
+
+        @Mock
+        CarViewRepository carViewRepository;
+
+        @Mock
+        CarScheduleService carScheduleService;
+
+        CarCatalogService carCatalogService;
+
+        @BeforeEach
+        void setUp() {
+                carCatalogService = new CarCatalogService(carViewRepository, carScheduleService, 10);
+        }
+
+        @Test
+        void itShouldReturnAvailableCars() {
+                CarView car = CarView.builder()
+                        .id(1L)
+                        .brand("Audi")
+                        .model("80")
+                        .isAvailable(true)
+                        .build();
+
+                when(carViewRepository.findAvailableCars(PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"))))
+                        .thenReturn(List.of(car));
+
+                assertThat(carCatalogService.getAvailableCars(null, null)).containsExactly(car);
+        }
+
+        @Test
+        void itShouldReturnAllCars() {
+                CarView available = CarView.builder()
+                        .id(1L)
+                        .brand("Bentley")
+                        .model("Continental")
+                        .isAvailable(true)
+                        .build();
+
+                CarView rented = CarView.builder()
+                        .id(2L)
+                        .brand("Volkswagen")
+                        .model("Golf")
+                        .isAvailable(false)
+                        .build();
+
+                when(carViewRepository.findCars(PageRequest.of(1, 10, Sort.by(Sort.Direction.DESC, "id"))))
+                        .thenReturn(List.of(rented, available));
+
+                assertThat(carCatalogService.getAllCars(2, Sort.Direction.DESC)).containsExactly(rented, available);
+        }
+
+        @Test
+        void itShouldReturnCar() {
+                CarView car = CarView.builder()
+                        .id(1L)
+                        .brand("Audi")
+                        .model("80")
+                        .build();
+
+                when(carViewRepository.findCarById(1L)).thenReturn(Optional.of(car));
+
+                assertThat(carCatalogService.getCar(1L)).isEqualTo(car);
+        }
+
+        @Test
+        void itShouldSeekFirstPageAndReturnNextCursor() {
+                List<CarView> cars = LongStream.rangeClosed(1, 11)
+                        .mapToObj(id -> CarView.builder().id(id).isAvailable(true).build())
+                        .collect(Collectors.toList());
+
+                when(carViewRepository.findAvailableCarsAfter(0L, PageRequest.of(0, 11, Sort.by(Sort.Direction.ASC, "id"))))
+                        .thenReturn(cars);
+
+                CursorPage<CarView> page = carCatalogService.seekAvailableCars(null, null);
+
+                assertThat(page.getContent()).hasSize(10);
+                assertThat(page.getContent().get(9).getId()).isEqualTo(10L);
+                assertThat(PageCursor.decode(page.getNext()).getLastId()).isEqualTo(10L);
+                assertThat(PageCursor.decode(page.getNext()).getDirection()).isEqualTo(Sort.Direction.ASC);
+        }
+
+        @Test
+        void itShouldSeekDescendingFromCursorUntilLastPage() {
+                String cursor = new PageCursor(Sort.Direction.DESC, 5L).encode();
+                List<CarView> cars = LongStream.of(4, 3, 2, 1)
+                        .mapToObj(id -> CarView.builder().id(id).build())
+                        .collect(Collectors.toList());
+
+                when(carViewRepository.findCarsBefore(5L, PageRequest.of(0, 11, Sort.by(Sort.Direction.DESC, "id"))))
+                        .thenReturn(cars);
+
+                CursorPage<CarView> page = carCatalogService.seekCars(cursor, Sort.Direction.ASC);
+
+                assertThat(page.getContent()).isEqualTo(cars);
+                assertThat(page.getNext()).isNull();
+        }
+
+        @Test
+        void itShouldRejectInvalidCursor() {
+                assertThrows(InvalidCursorException.class, () -> carCatalogService.seekCars("not-a-cursor", null));
+        }
+
+        @Test
+        void itShouldRejectNonPositivePageSize() {
+                assertThrows(IllegalArgumentException.class, () -> new CarCatalogService(carViewRepository, carScheduleService, 0));
+        }
+
+        @Test
+        void itShouldSearchCarsByCriteria() {
+                CarSearchCriteria criteria = CarSearchCriteria.builder()
+                        .fuelType(DIESEL)
+                        .maxPrice(200)
+                        .available(true)
+                        .build();
+
+                CarView car = CarView.builder()
+                        .id(1L)
+                        .brand("Audi")
+                        .model("80")
+                        .isAvailable(true)
+                        .build();
+
+                when(carViewRepository.searchCars(criteria, PageRequest.of(1, 10, Sort.by(Sort.Direction.DESC, "id"))))
+                        .thenReturn(List.of(car));
+
+                assertThat(carCatalogService.searchCars(criteria, 2, Sort.Direction.DESC)).containsExactly(car);
+        }
+
+        @Test
+        void itShouldThrowWhenCarDoesNotExist() {
+                when(carViewRepository.findCarById(1L)).thenReturn(Optional.empty());
+
+                assertThrows(EntityNotFoundException.class, () -> carCatalogService.getCar(1L));
+        }
+
+        @Test
+        void itShouldReturnCarsOfPackageFreeInTimeWindow() {
+                LocalDateTime from = LocalDateTime.of(2030, 5, 1, 10, 0);
+                LocalDateTime to = from.plusHours(4);
+                CarView booked = CarView.builder().id(1L).build();
+                CarView free = CarView.builder().id(2L).build();
+
+                when(carViewRepository.findCarsByPackageName("Sporty")).thenReturn(List.of(booked, free));
+                when(carScheduleService.isFree(1L, from, to)).thenReturn(false);
+                when(carScheduleService.isFree(2L, from, to)).thenReturn(true);
+
+                assertThat(carCatalogService.getFreeCars("Sporty", from, to)).containsExactly(free);
+        }
+
+        @Test
+        void itShouldRejectEmptyTimeWindow() {
+                LocalDateTime from = LocalDateTime.of(2030, 5, 1, 10, 0);
+
+                assertThrows(InvalidTimeWindowException.class, () -> carCatalogService.getFreeCars("Sporty", from, from));
+        }
+
+}
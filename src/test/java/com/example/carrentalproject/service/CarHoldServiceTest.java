@@ -0,0 +1,139 @@
+package com.example.carrentalproject.service;
+
+import com.example.carrentalproject.domain.CarHold;
+import com.example.carrentalproject.domain.User;
+import com.example.carrentalproject.repository.CarHoldRepository;
+import com.example.carrentalproject.repository.CarRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CarHoldServiceTest {
+
+        @Mock
+        CarHoldRepository carHoldRepository;
+
+        @Mock
+        CarRepository carRepository;
+
+        @Mock
+        AvailableCarPool availableCarPool;
+
+        @Mock
+        WaitlistService waitlistService;
+
+        private CarHoldService carHoldService;
+
+        private final User john = User.builder().id(1L).build();
+        private final User anna = User.builder().id(2L).build();
+
+        @BeforeEach
+        void setUp() {
+                carHoldService = new CarHoldService(carHoldRepository, carRepository, availableCarPool, waitlistService, 60_000, 2);
+        }
+
+        @Test
+        void itShouldHoldFirstAvailableCarForUser() {
+                when(availableCarPool.poll("Sporty")).thenReturn(4L, 5L);
+                when(carRepository.existsByIdAndIsAvailableTrue(4L)).thenReturn(false);
+                when(carRepository.existsByIdAndIsAvailableTrue(5L)).thenReturn(true);
+
+
+                CarHold hold = carHoldService.place(john, "Sporty");
+
+                assertThat(hold.getCarId()).isEqualTo(5L);
+                assertThat(carHoldService.heldCarOf(1L)).isEqualTo(5L);
+                assertThat(carHoldService.isHeldForAnother(5L, anna.getId())).isTrue();
+                assertThat(carHoldService.isHeldForAnother(5L, john.getId())).isFalse();
+                verify(carHoldRepository).save(hold);
+        }
+
+        @Test
+        void itShouldReturnNullWhenNoCarCanBeHeld() {
+                when(availableCarPool.poll("Sporty")).thenReturn(null);
+                when(availableCarPool.refill("Sporty")).thenReturn(false);
+
+
+                assertThat(carHoldService.place(john, "Sporty")).isNull();
+                verify(carHoldRepository, never()).save(any());
+        }
+
+        @Test
+        void itShouldStopPollingWhenNoPooledCarIsAvailable() {
+                when(availableCarPool.poll("Sporty")).thenReturn(5L);
+
+
+                assertThat(carHoldService.place(john, "Sporty")).isNull();
+                verify(availableCarPool, times(AvailableCarPool.MAX_POLLS)).poll("Sporty");
+                verify(carHoldRepository, never()).save(any());
+        }
+
+        @Test
+        void itShouldHandOnHoldWhenUserRentsAnotherCar() {
+                when(availableCarPool.poll("Sporty")).thenReturn(5L);
+                when(carRepository.existsByIdAndIsAvailableTrue(5L)).thenReturn(true);
+                carHoldService.place(john, "Sporty");
+
+
+                carHoldService.release(1L, 9L);
+
+                verify(carHoldRepository).remove(5L);
+                verify(availableCarPool).offer("Sporty", 5L);
+                assertThat(carHoldService.heldCarOf(1L)).isNull();
+        }
+
+        @Test
+        void itShouldReplaceExistingHoldOfUser() {
+                when(availableCarPool.poll("Sporty")).thenReturn(5L, 6L);
+                when(carRepository.existsByIdAndIsAvailableTrue(5L)).thenReturn(true);
+                when(carRepository.existsByIdAndIsAvailableTrue(6L)).thenReturn(true);
+                carHoldService.place(john, "Sporty");
+
+
+                CarHold hold = carHoldService.place(john, "Sporty");
+
+                assertThat(hold.getCarId()).isEqualTo(6L);
+                assertThat(carHoldService.heldCarOf(1L)).isEqualTo(6L);
+                assertThat(carHoldService.isHeldForAnother(5L, anna.getId())).isFalse();
+                verify(carHoldRepository).remove(5L);
+                verify(availableCarPool).offer("Sporty", 5L);
+        }
+
+        @Test
+        void itShouldSweepExpiredHoldsInBatches() {
+                LocalDateTime past = LocalDateTime.now().minusMinutes(1);
+                List<CarHold> first = List.of(new CarHold(5L, 1L, "Sporty", past), new CarHold(6L, 2L, "Sporty", past));
+                List<CarHold> second = List.of(new CarHold(7L, 3L, "Basic", past));
+                when(carHoldRepository.findByExpiresAtAfter(any())).thenReturn(List.of(first.get(0), first.get(1), second.get(0)));
+                when(carHoldRepository.findExpired(any(), any(PageRequest.class))).thenReturn(first, second);
+                when(waitlistService.offer("Sporty", 5L)).thenReturn(false);
+                when(waitlistService.offer("Sporty", 6L)).thenReturn(true);
+                when(waitlistService.offer("Basic", 7L)).thenReturn(false);
+                carHoldService.rebuild();
+
+
+                carHoldService.sweep();
+
+                verify(carHoldRepository).deleteAllInBatch(first);
+                verify(carHoldRepository).deleteAllInBatch(second);
+                verify(availableCarPool).offer("Sporty", 5L);
+                verify(availableCarPool, never()).offer("Sporty", 6L);
+                verify(availableCarPool).offer("Basic", 7L);
+                assertThat(carHoldService.heldCarOf(2L)).isNull();
+        }
+
+}
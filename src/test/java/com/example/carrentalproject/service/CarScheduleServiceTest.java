@@ -0,0 +1,87 @@
+package com.example.carrentalproject.service;
+
+import com.example.carrentalproject.domain.PlacedOrder;
+import com.example.carrentalproject.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CarScheduleServiceTest {
+
+        private static final LocalDateTime NOON = LocalDateTime.of(2030, 5, 1, 12, 0);
+
+        @Mock
+        OrderRepository orderRepository;
+
+        @InjectMocks
+        CarScheduleService carScheduleService;
+
+        @Test
+        void itShouldRejectOverlappingBookings() {
+                assertThat(carScheduleService.tryBook(1L, NOON, NOON.plusHours(4))).isTrue();
+
+                assertThat(carScheduleService.tryBook(1L, NOON.plusHours(2), NOON.plusHours(6))).isFalse();
+                assertThat(carScheduleService.tryBook(1L, NOON.minusHours(2), NOON.plusHours(1))).isFalse();
+                assertThat(carScheduleService.tryBook(1L, NOON.plusHours(1), NOON.plusHours(2))).isFalse();
+                assertThat(carScheduleService.tryBook(1L, NOON.minusHours(1), NOON.plusHours(5))).isFalse();
+        }
+
+        @Test
+        void itShouldAcceptAdjacentBookingsAndOtherCars() {
+                assertThat(carScheduleService.tryBook(1L, NOON, NOON.plusHours(4))).isTrue();
+
+                assertThat(carScheduleService.tryBook(1L, NOON.plusHours(4), NOON.plusHours(6))).isTrue();
+                assertThat(carScheduleService.tryBook(1L, NOON.minusHours(3), NOON)).isTrue();
+                assertThat(carScheduleService.tryBook(2L, NOON, NOON.plusHours(4))).isTrue();
+                assertThat(carScheduleService.isFree(1L, NOON.plusHours(6), NOON.plusHours(8))).isTrue();
+                assertThat(carScheduleService.isFree(3L, NOON, NOON.plusHours(8))).isTrue();
+        }
+
+        @Test
+        void itShouldFreeReleasedBooking() {
+                carScheduleService.tryBook(1L, NOON, NOON.plusHours(4));
+
+                carScheduleService.release(1L, NOON);
+
+                assertThat(carScheduleService.isFree(1L, NOON, NOON.plusHours(4))).isTrue();
+        }
+
+        @Test
+        void itShouldEvictEndedIntervalsOnly() {
+                LocalDateTime now = LocalDateTime.now();
+                carScheduleService.tryBook(1L, now.minusHours(6), now.minusHours(4));
+                carScheduleService.tryBook(1L, NOON, NOON.plusHours(4));
+
+                carScheduleService.evictEnded();
+
+                assertThat(carScheduleService.tryBook(1L, now.minusHours(5), now.minusHours(3))).isTrue();
+                assertThat(carScheduleService.isFree(1L, NOON, NOON.plusHours(4))).isFalse();
+        }
+
+        @Test
+        void itShouldRebuildSchedulesFromPlacedOrders() {
+                PlacedOrder order = PlacedOrder.builder()
+                        .carId(5L)
+                        .startTime(NOON)
+                        .endTime(NOON.plusDays(1))
+                        .build();
+
+                when(orderRepository.findByEndTimeAfter(any())).thenReturn(List.of(order));
+
+                carScheduleService.rebuild();
+
+                assertThat(carScheduleService.isFree(5L, NOON.plusHours(20), NOON.plusHours(30))).isFalse();
+                assertThat(carScheduleService.isFree(5L, NOON.plusDays(1), NOON.plusDays(2))).isTrue();
+        }
+
+}
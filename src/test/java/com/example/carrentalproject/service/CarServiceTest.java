@@ -5,6 +5,7 @@ import com.example.carrentalproject.domain.CarPackage;
 import com.example.carrentalproject.domain.CarParameters;
 import com.example.carrentalproject.dto.CarDto;
 import com.example.carrentalproject.dto.CarPackageDto;
+import com.example.carrentalproject.dto.CarPackageView;
 import com.example.carrentalproject.exception.ExistingEntityException;
 import com.example.carrentalproject.repository.CarPackageRepository;
 import com.example.carrentalproject.repository.CarParametersRepository;
@@ -15,20 +16,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import static com.example.carrentalproject.constant.FuelType.DIESEL;
 import static com.example.carrentalproject.constant.GearBoxType.MANUAL;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -46,17 +43,13 @@ class CarServiceTest {
         @Mock
         CarParametersRepository carParametersRepository;
 
+        @Mock
+        PackageCapacityService packageCapacityService;
+
         @InjectMocks
         CarService carService;
 
 
-        @Test()
-        void itShouldReturnAnEmptyInstanceOfCar() {
-                when(carRepository.findById(anyLong())).thenReturn(Optional.of(new Car()));
-
-                Assertions.assertThat(carService.getCar(1L)).hasAllNullFieldsOrProperties();
-        }
-
         @Test
         void itShouldSaveCar() {
                 CarDto carDto = CarDto.builder()
@@ -100,6 +93,37 @@ class CarServiceTest {
                 Assertions.assertThat(carService.editCar(id, carDto)).isEqualTo(car);
         }
 
+        @Test
+        void itShouldReleasePackageCapacityWhenCarBecomesAvailable() {
+                Long id = 3L;
+
+                CarPackage carPackage = CarPackage.builder()
+                        .id(1L)
+                        .packageName("Sporty")
+                        .build();
+
+                CarDto carDto = CarDto.builder()
+                        .brand("Porsche")
+                        .isAvailable(true)
+                        .build();
+
+                Car car = Car.builder()
+                        .id(3L)
+                        .brand("Porsche")
+                        .isAvailable(false)
+                        .carPackage(carPackage)
+                        .build();
+
+
+                when(carRepository.findById(id)).thenReturn(Optional.of(car));
+                when(carRepository.save(car)).thenReturn(car);
+
+
+                carService.editCar(id, carDto);
+
+                verify(packageCapacityService).adjust(carPackage, 1);
+        }
+
         @Test
         void itShouldSetCarParameters() {
                 Long id = 5L;
@@ -146,13 +170,16 @@ class CarServiceTest {
                         .build();
 
                 CarPackage carPackage = CarPackage.builder()
+                        .id(2L)
                         .packageName("Sporty")
                         .pricePerHour(300)
                         .build();
 
 
                 when(carRepository.findById(id)).thenReturn(Optional.of(car));
-                when(carPackageRepository.findByPackageName(packageName)).thenReturn(Optional.of(carPackage));
+                when(carPackageRepository.findViewByPackageName(packageName))
+                        .thenReturn(Optional.of(new CarPackageView(2L, "Sporty", 300)));
+                when(carPackageRepository.getById(2L)).thenReturn(carPackage);
                 when(carRepository.save(car)).thenReturn(car);
 
                 carService.setCarPackage(id, packageName);
@@ -168,7 +195,7 @@ class CarServiceTest {
                         .build();
 
 
-                when(carRepository.existsById(4L)).thenReturn(true);
+                when(carRepository.findById(4L)).thenReturn(Optional.of(car));
                 doNothing().when(carRepository).deleteById(4L);
 
 
@@ -177,53 +204,18 @@ class CarServiceTest {
                 verify(carRepository, times(1)).deleteById(4L);
         }
 
-        @Test
-        void itShouldReturnAllCars() {
-                Car car1 = Car.builder()
-                        .registrationNr("GHF88493")
-                        .brand("Bentley")
-                        .model("Continental")
-                        .isAvailable(true)
-                        .build();
-
-                Car car2 = Car.builder()
-                        .registrationNr("HGF78493")
-                        .brand("Lamborghini")
-                        .model("Huracan")
-                        .isAvailable(true)
-                        .build();
-
-                Car car3 = Car.builder()
-                        .registrationNr("KMN74837")
-                        .brand("Volkswagen")
-                        .model("Golf")
-                        .isAvailable(false)
-                        .build();
-
-                List<Car> cars = new ArrayList<>();
-                cars.add(car1);
-                cars.add(car2);
-                cars.add(car3);
-
-
-                when(carRepository.findCars(PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"))))
-                .thenReturn(cars);
-
-
-                Assertions.assertThat(carService.getAllCars(1, Sort.Direction.ASC)).hasSize(3);
-        }
-
         @Test
         void itShouldReturnCarPackages() {
-                CarPackage carPackage1 = new CarPackage();
-                CarPackage carPackage2 = new CarPackage();
-                List<CarPackage> list = Arrays.asList(carPackage1, carPackage2);
+                CarPackageView sporty = new CarPackageView(1L, "Sporty", 300);
+                CarPackageView luxury = new CarPackageView(2L, "Luxury", 500);
 
 
-                when(carPackageRepository.findAll()).thenReturn(list);
+                when(carPackageRepository.findAllViews()).thenReturn(List.of(sporty, luxury));
 
 
-                Assertions.assertThat(carService.getCarPackages()).isEqualTo(list);
+                Assertions.assertThat(carService.getCarPackages())
+                        .extracting(CarPackage::getId, CarPackage::getPackageName, CarPackage::getPricePerHour)
+                        .containsExactly(tuple(1L, "Sporty", 300), tuple(2L, "Luxury", 500));
         }
 
         @Test
@@ -284,66 +276,10 @@ class CarServiceTest {
                         .packageName("Sporty")
                         .build();
 
-                CarPackage carPackage = CarPackage.builder()
-                        .packageName("Sporty")
-                        .build();
-
-                when(carPackageRepository.findByPackageName("Sporty")).thenReturn(Optional.of(carPackage));
+                when(carPackageRepository.findViewByPackageName("Sporty"))
+                        .thenReturn(Optional.of(new CarPackageView(1L, "Sporty", 300)));
 
                 assertThrows(ExistingEntityException.class, () -> carService.saveCarPackage(carPackageDto));
         }
 
-        @Test
-        void itShouldReturnAvailableCars() {
-                Car available1 = Car.builder()
-                        .registrationNr("OPE74639")
-                        .brand("Audi")
-                        .model("80")
-                        .isAvailable(true)
-                        .build();
-
-                Car notAvailable1 = Car.builder()
-                        .registrationNr("JKD94839")
-                        .brand("Rolls-Royce")
-                        .model("Phantom")
-                        .isAvailable(false)
-                        .build();
-
-                Car available2 = Car.builder()
-                        .registrationNr("HJD85743")
-                        .brand("Fiat")
-                        .model("Stilo")
-                        .isAvailable(true)
-                        .build();
-
-                Car available3 = Car.builder()
-                        .registrationNr("ASD84754")
-                        .brand("Toyota")
-                        .model("Yaris")
-                        .isAvailable(true)
-                        .build();
-
-                Car notAvailable2 = Car.builder()
-                        .registrationNr("OIU95840")
-                        .brand("Opel")
-                        .model("Insignia")
-                        .isAvailable(false)
-                        .build();
-
-                List<Car> cars = new ArrayList<>();
-                cars.add(available1);
-                cars.add(notAvailable1);
-                cars.add(available2);
-                cars.add(available3);
-                cars.add(notAvailable2);
-
-
-                when(carRepository.findAvailableCars(PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"))))
-                        .thenReturn(cars.stream()
-                                .filter(Car::getIsAvailable).collect(Collectors.toList()));
-
-
-                Assertions.assertThat(carService.getAvailableCars(1, Sort.Direction.ASC)).hasSize(3);
-        }
-
 }
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.example.carrentalproject.service;
+
+import com.example.carrentalproject.exception.ExistingEntityException;
+import com.example.carrentalproject.repository.CreditCardRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CardNumberFilterServiceTest {
+
+        @Mock
+        CreditCardRepository creditCardRepository;
+
+        private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        CardNumberFilterService cardNumberFilterService;
+
+        @BeforeEach
+        void setUp() {
+                cardNumberFilterService = new CardNumberFilterService(creditCardRepository, meterRegistry, 1000, 0.01);
+        }
+
+        @Test
+        void itShouldSkipDatabaseForUnknownNumber() {
+                when(creditCardRepository.streamCardNumbers()).thenReturn(Stream.empty());
+                cardNumberFilterService.load();
+
+
+                cardNumberFilterService.checkUnique(4111111111111111L);
+
+                verify(creditCardRepository, never()).existsByCardNumber(anyLong());
+                assertThat(meterRegistry.get("cards.bloom.checks").tag("result", "negative").counter().count()).isEqualTo(1);
+        }
+
+        @Test
+        void itShouldRejectNumberLoadedAtStartup() {
+                when(creditCardRepository.streamCardNumbers()).thenReturn(Stream.of(4111111111111111L));
+                when(creditCardRepository.existsByCardNumber(4111111111111111L)).thenReturn(true);
+
+
+                cardNumberFilterService.load();
+
+                assertThrows(ExistingEntityException.class, () -> cardNumberFilterService.checkUnique(4111111111111111L));
+                assertThat(meterRegistry.get("cards.bloom.checks").tag("result", "duplicate").counter().count()).isEqualTo(1);
+        }
+
+        @Test
+        void itShouldCountFalsePositiveWhenNumberIsNotInDatabase() {
+                when(creditCardRepository.streamCardNumbers()).thenReturn(Stream.empty());
+                when(creditCardRepository.existsByCardNumber(4111111111111111L)).thenReturn(false);
+                cardNumberFilterService.load();
+                cardNumberFilterService.add(4111111111111111L);
+                cardNumberFilterService.checkUnique(5500000000000004L);
+
+
+                cardNumberFilterService.checkUnique(4111111111111111L);
+
+                assertThat(meterRegistry.get("cards.bloom.checks").tag("result", "false_positive").counter().count()).isEqualTo(1);
+                assertThat(meterRegistry.get("cards.bloom.false.positive.rate").gauge().value()).isEqualTo(0.5);
+        }
+
+        @Test
+        void itShouldCheckDatabaseUntilNumbersAreLoaded() {
+                when(creditCardRepository.existsByCardNumber(4111111111111111L)).thenReturn(true);
+
+
+                assertThrows(ExistingEntityException.class, () -> cardNumberFilterService.checkUnique(4111111111111111L));
+        }
+
+        @Test
+        void itShouldKeepNumbersAddedWhileLoading() {
+                when(creditCardRepository.streamCardNumbers()).thenAnswer(invocation -> {
+                        cardNumberFilterService.add(5500000000000004L);
+                        return Stream.of(4111111111111111L);
+                });
+                when(creditCardRepository.existsByCardNumber(5500000000000004L)).thenReturn(true);
+
+
+                cardNumberFilterService.load();
+
+                assertThrows(ExistingEntityException.class, () -> cardNumberFilterService.checkUnique(5500000000000004L));
+        }
+
+}
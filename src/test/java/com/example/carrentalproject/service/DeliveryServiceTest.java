@@ -3,8 +3,10 @@ package com.example.carrentalproject.service;
 import com.example.carrentalproject.domain.AccessKey;
 import com.example.carrentalproject.domain.Car;
 import com.example.carrentalproject.domain.CarPackage;
+import com.example.carrentalproject.domain.PlacedOrder;
 import com.example.carrentalproject.domain.User;
 import com.example.carrentalproject.exception.InvalidPackageException;
+import com.example.carrentalproject.exception.InvalidTimeWindowException;
 import com.example.carrentalproject.exception.NoAccessKeyException;
 import com.example.carrentalproject.exception.UnavailableCarException;
 import com.example.carrentalproject.repository.AccessKeyRepository;
@@ -19,11 +21,18 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import javax.persistence.EntityNotFoundException;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,6 +50,24 @@ class DeliveryServiceTest {
         @Mock
         LoggedInUser loggedInUser;
 
+        @Mock
+        CarScheduleService carScheduleService;
+
+        @Mock
+        RentalExpiryService rentalExpiryService;
+
+        @Mock
+        AvailableCarPool availableCarPool;
+
+        @Mock
+        WaitlistService waitlistService;
+
+        @Mock
+        CarHoldService carHoldService;
+
+        @Mock
+        PackageCapacityService packageCapacityService;
+
         @InjectMocks
         DeliveryService deliveryService;
 
@@ -74,11 +101,14 @@ class DeliveryServiceTest {
 
                 when(carRepository.findById(1L)).thenReturn(Optional.of(car));
                 when(loggedInUser.getUser()).thenReturn(user);
+                when(carRepository.claimCar(1L)).thenReturn(1);
+                when(carScheduleService.tryBook(eq(1L), any(), any())).thenReturn(true);
                 doNothing().when(accessKeyRepository).delete(user.getAccessKey());
 
 
                 assertThat(deliveryService.pickUpTheCar(1L)).isEqualTo(car);
                 assertThat(car.getIsAvailable()).isFalse();
+                verify(rentalExpiryService).schedule(any(PlacedOrder.class));
         }
 
         @Test
@@ -174,4 +204,325 @@ class DeliveryServiceTest {
                 assertThrows(UnavailableCarException.class, () -> deliveryService.pickUpTheCar(2L));
         }
 
-}
\ No newline at end of file
+        @Test
+        void itShouldThrowUnavailableCarExceptionWhenClaimIsLost() {
+                CarPackage carPackage = CarPackage.builder()
+                        .packageName("Ordinary")
+                        .pricePerHour(100)
+                        .build();
+
+                Car car = Car.builder()
+                        .id(2L)
+                        .brand("Peugeot")
+                        .model("206")
+                        .isAvailable(true)
+                        .carPackage(carPackage)
+                        .build();
+
+                AccessKey accessKey = AccessKey.builder()
+                        .carPackage("Ordinary")
+                        .hours(7)
+                        .build();
+
+                User user = User.builder()
+                        .username("JulietBB56")
+                        .accessKey(accessKey)
+                        .build();
+
+
+                when(carRepository.findById(2L)).thenReturn(Optional.of(car));
+                when(loggedInUser.getUser()).thenReturn(user);
+                when(carRepository.claimCar(2L)).thenReturn(0);
+
+
+                assertThrows(UnavailableCarException.class, () -> deliveryService.pickUpTheCar(2L));
+                verify(accessKeyRepository, never()).delete(accessKey);
+                verify(orderRepository, never()).save(any());
+        }
+
+        @Test
+        void itShouldThrowUnavailableCarExceptionWhenCarIsHeldForAnotherUser() {
+                CarPackage sporty = CarPackage.builder()
+                        .packageName("Sporty")
+                        .build();
+
+                Car car = Car.builder()
+                        .id(1L)
+                        .isAvailable(true)
+                        .carPackage(sporty)
+                        .build();
+
+                AccessKey accessKey = AccessKey.builder()
+                        .carPackage("Sporty")
+                        .hours(2)
+                        .build();
+
+                User user = User.builder()
+                        .id(1L)
+                        .accessKey(accessKey)
+                        .build();
+
+
+                when(carRepository.findById(1L)).thenReturn(Optional.of(car));
+                when(loggedInUser.getUser()).thenReturn(user);
+                when(waitlistService.isHeldForAnother(1L, 1L)).thenReturn(true);
+
+
+                assertThrows(UnavailableCarException.class, () -> deliveryService.pickUpTheCar(1L));
+                verify(carRepository, never()).claimCar(1L);
+        }
+
+        @Test
+        void itShouldPickUpHeldCarWithoutPollingPool() {
+                Car car = Car.builder()
+                        .id(7L)
+                        .brand("Audi")
+                        .model("RS3")
+                        .isAvailable(true)
+                        .build();
+
+                AccessKey accessKey = AccessKey.builder()
+                        .carPackage("Sporty")
+                        .hours(2)
+                        .build();
+
+                User user = User.builder()
+                        .id(1L)
+                        .accessKey(accessKey)
+                        .build();
+
+
+                when(loggedInUser.getUser()).thenReturn(user);
+                when(carHoldService.heldCarOf(1L)).thenReturn(7L);
+                when(carScheduleService.isFree(eq(7L), any(), any())).thenReturn(true);
+                when(carRepository.claimCar(7L)).thenReturn(1);
+                when(carScheduleService.tryBook(eq(7L), any(), any())).thenReturn(true);
+                when(carRepository.findById(7L)).thenReturn(Optional.of(car));
+
+
+                assertThat(deliveryService.pickUpAnyCar()).isEqualTo(car);
+                verify(availableCarPool, never()).poll(any());
+                verify(carHoldService).release(1L, 7L);
+        }
+
+        @Test
+        void itShouldRentAnyAvailableCarFromPackage() {
+                CarPackage sporty = CarPackage.builder()
+                        .packageName("Sporty")
+                        .build();
+
+                Car car = Car.builder()
+                        .id(2L)
+                        .brand("Audi")
+                        .model("RS3")
+                        .isAvailable(true)
+                        .carPackage(sporty)
+                        .build();
+
+                AccessKey accessKey = AccessKey.builder()
+                        .carPackage("Sporty")
+                        .hours(2)
+                        .build();
+
+                User user = User.builder()
+                        .id(1L)
+                        .accessKey(accessKey)
+                        .build();
+
+
+                when(loggedInUser.getUser()).thenReturn(user);
+                when(carHoldService.heldCarOf(1L)).thenReturn(null);
+                when(availableCarPool.poll("Sporty")).thenReturn(1L, null, 2L);
+                when(availableCarPool.refill("Sporty")).thenReturn(true);
+                when(carScheduleService.isFree(eq(1L), any(), any())).thenReturn(true);
+                when(carScheduleService.isFree(eq(2L), any(), any())).thenReturn(true);
+                when(carRepository.claimCar(1L)).thenReturn(0);
+                when(carRepository.claimCar(2L)).thenReturn(1);
+                when(carScheduleService.tryBook(eq(2L), any(), any())).thenReturn(true);
+                when(carRepository.findById(2L)).thenReturn(Optional.of(car));
+
+
+                assertThat(deliveryService.pickUpAnyCar()).isEqualTo(car);
+                assertThat(car.getIsAvailable()).isFalse();
+                verify(accessKeyRepository).delete(accessKey);
+                verify(rentalExpiryService).schedule(any(PlacedOrder.class));
+        }
+
+        @Test
+        void itShouldUndoClaimWhenAnyCarIsBookedInTheMeantime() {
+                AccessKey accessKey = AccessKey.builder()
+                        .carPackage("Sporty")
+                        .hours(2)
+                        .build();
+
+                User user = User.builder()
+                        .id(1L)
+                        .accessKey(accessKey)
+                        .build();
+
+
+                when(loggedInUser.getUser()).thenReturn(user);
+                when(carHoldService.heldCarOf(1L)).thenReturn(null);
+                when(availableCarPool.poll("Sporty")).thenReturn(1L, (Long) null);
+                when(availableCarPool.refill("Sporty")).thenReturn(false);
+                when(carScheduleService.isFree(eq(1L), any(), any())).thenReturn(true);
+                when(carRepository.claimCar(1L)).thenReturn(1);
+                when(carScheduleService.tryBook(eq(1L), any(), any())).thenReturn(false);
+
+
+                assertThrows(UnavailableCarException.class, () -> deliveryService.pickUpAnyCar());
+                verify(carRepository).releaseCars(List.of(1L));
+                verify(accessKeyRepository, never()).delete(accessKey);
+        }
+
+        @Test
+        void itShouldThrowUnavailableCarExceptionWhenPackageHasNoFreeCar() {
+                AccessKey accessKey = AccessKey.builder()
+                        .carPackage("Sporty")
+                        .hours(2)
+                        .build();
+
+                User user = User.builder()
+                        .accessKey(accessKey)
+                        .build();
+
+
+                when(loggedInUser.getUser()).thenReturn(user);
+                when(availableCarPool.poll("Sporty")).thenReturn(null);
+                when(availableCarPool.refill("Sporty")).thenReturn(false);
+
+
+                assertThrows(UnavailableCarException.class, () -> deliveryService.pickUpAnyCar());
+                verify(availableCarPool, times(2)).refill("Sporty");
+                verify(orderRepository, never()).save(any());
+        }
+
+        @Test
+        void itShouldStopPollingWhenNoPooledCarCanBeClaimed() {
+                AccessKey accessKey = AccessKey.builder()
+                        .carPackage("Sporty")
+                        .hours(2)
+                        .build();
+
+                User user = User.builder()
+                        .accessKey(accessKey)
+                        .build();
+
+
+                when(loggedInUser.getUser()).thenReturn(user);
+                when(availableCarPool.poll("Sporty")).thenReturn(7L);
+
+
+                assertThrows(UnavailableCarException.class, () -> deliveryService.pickUpAnyCar());
+                verify(availableCarPool, times(AvailableCarPool.MAX_POLLS)).poll("Sporty");
+                verify(carRepository, never()).claimCar(7L);
+                verify(orderRepository, never()).save(any());
+        }
+
+        @Test
+        void itShouldReserveCarForFutureTimeWindow() {
+                CarPackage sporty = CarPackage.builder()
+                        .packageName("Sporty")
+                        .build();
+
+                Car car = Car.builder()
+                        .id(1L)
+                        .brand("Audi")
+                        .model("RS3")
+                        .isAvailable(true)
+                        .carPackage(sporty)
+                        .build();
+
+                AccessKey accessKey = AccessKey.builder()
+                        .carPackage("Sporty")
+                        .hours(3)
+                        .build();
+
+                User user = User.builder()
+                        .id(1L)
+                        .accessKey(accessKey)
+                        .build();
+
+                LocalDateTime start = LocalDateTime.now().plusDays(2);
+
+
+                when(carRepository.findById(1L)).thenReturn(Optional.of(car));
+                when(loggedInUser.getUser()).thenReturn(user);
+                when(carScheduleService.tryBook(1L, start, start.plusHours(3))).thenReturn(true);
+                when(orderRepository.save(any(PlacedOrder.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+
+                PlacedOrder order = deliveryService.reserveCar(1L, start);
+
+                assertThat(order.getStartTime()).isEqualTo(start);
+                assertThat(order.getEndTime()).isEqualTo(start.plusHours(3));
+                assertThat(car.getIsAvailable()).isTrue();
+                verify(accessKeyRepository).delete(accessKey);
+                verify(packageCapacityService).adjust(sporty, 1);
+                verify(rentalExpiryService).schedule(order);
+                verify(waitlistService).claimed(null, user);
+                verify(carHoldService).release(1L, null);
+        }
+
+        @Test
+        void itShouldThrowUnavailableCarExceptionWhenTimeWindowIsBooked() {
+                CarPackage sporty = CarPackage.builder()
+                        .packageName("Sporty")
+                        .build();
+
+                Car car = Car.builder()
+                        .id(1L)
+                        .carPackage(sporty)
+                        .build();
+
+                AccessKey accessKey = AccessKey.builder()
+                        .carPackage("Sporty")
+                        .hours(3)
+                        .build();
+
+                User user = User.builder()
+                        .accessKey(accessKey)
+                        .build();
+
+                LocalDateTime start = LocalDateTime.now().plusDays(2);
+
+
+                when(carRepository.findById(1L)).thenReturn(Optional.of(car));
+                when(loggedInUser.getUser()).thenReturn(user);
+                when(carScheduleService.tryBook(1L, start, start.plusHours(3))).thenReturn(false);
+
+
+                assertThrows(UnavailableCarException.class, () -> deliveryService.reserveCar(1L, start));
+                verify(accessKeyRepository, never()).delete(accessKey);
+        }
+
+        @Test
+        void itShouldThrowInvalidTimeWindowExceptionForPastReservation() {
+                CarPackage sporty = CarPackage.builder()
+                        .packageName("Sporty")
+                        .build();
+
+                Car car = Car.builder()
+                        .id(1L)
+                        .carPackage(sporty)
+                        .build();
+
+                AccessKey accessKey = AccessKey.builder()
+                        .carPackage("Sporty")
+                        .hours(3)
+                        .build();
+
+                User user = User.builder()
+                        .accessKey(accessKey)
+                        .build();
+
+
+                when(carRepository.findById(1L)).thenReturn(Optional.of(car));
+                when(loggedInUser.getUser()).thenReturn(user);
+
+
+                assertThrows(InvalidTimeWindowException.class,
+                        () -> deliveryService.reserveCar(1L, LocalDateTime.now().minusHours(1)));
+        }
+
+}
@@ -0,0 +1,56 @@
+package com.example.carrentalproject.service;
+
+import com.example.carrentalproject.repository.CreditCardRepository;
+import com.example.carrentalproject.repository.LedgerEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerSnapshotServiceTest {
+
+        @Mock
+        LedgerEntryRepository ledgerEntryRepository;
+
+        @Mock
+        CreditCardRepository creditCardRepository;
+
+        LedgerSnapshotService ledgerSnapshotService;
+
+        @BeforeEach
+        void setUp() {
+                ledgerSnapshotService = new LedgerSnapshotService(ledgerEntryRepository, creditCardRepository, 100, 2);
+        }
+
+        @Test
+        void itShouldSnapshotCardsWithLongTails() {
+                when(ledgerEntryRepository.findCardsWithTail(100, PageRequest.of(0, 2))).thenReturn(List.of(1L, 2L));
+                when(creditCardRepository.snapshot(1L)).thenReturn(150);
+                when(creditCardRepository.snapshot(2L)).thenReturn(120);
+
+
+                assertThat(ledgerSnapshotService.snapshot()).isEqualTo(270);
+                verify(creditCardRepository).snapshot(1L);
+                verify(creditCardRepository).snapshot(2L);
+        }
+
+        @Test
+        void itShouldKeepGoingWhenOneSnapshotFails() {
+                when(ledgerEntryRepository.findCardsWithTail(100, PageRequest.of(0, 2))).thenReturn(List.of(1L, 2L));
+                when(creditCardRepository.snapshot(1L)).thenThrow(new IllegalStateException("lock wait timeout"));
+                when(creditCardRepository.snapshot(2L)).thenReturn(120);
+
+
+                assertThat(ledgerSnapshotService.snapshot()).isEqualTo(120);
+        }
+
+}
@@ -0,0 +1,115 @@
+package com.example.carrentalproject.service;
+
+import com.example.carrentalproject.constant.LedgerEntryType;
+import com.example.carrentalproject.domain.LedgerEntry;
+import com.example.carrentalproject.dto.CreditCardRef;
+import com.example.carrentalproject.repository.CreditCardRepository;
+import com.example.carrentalproject.repository.LedgerEntryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MoneyTransferBatchServiceTest {
+
+        @Mock
+        CreditCardRepository creditCardRepository;
+
+        @Mock
+        LedgerEntryRepository ledgerEntryRepository;
+
+        @Mock
+        PlatformTransactionManager transactionManager;
+
+        @Captor
+        ArgumentCaptor<List<LedgerEntry>> entries;
+
+        MoneyTransferBatchService moneyTransferBatchService;
+
+        @BeforeEach
+        void setUp() {
+                moneyTransferBatchService = new MoneyTransferBatchService(creditCardRepository, ledgerEntryRepository,
+                        new ObjectMapper(), transactionManager, 2);
+        }
+
+        @Test
+        void itShouldCreditResolvedCardsChunkByChunk() throws IOException {
+                when(creditCardRepository.findRefsByUsernames(List.of("jan")))
+                        .thenReturn(List.of(new CreditCardRef(1L, 1111L, "jan")));
+                when(creditCardRepository.findRefsByCardNumbers(List.of(2222L)))
+                        .thenReturn(List.of(new CreditCardRef(2L, 2222L, "ola")));
+                when(creditCardRepository.findRefsByUsernames(List.of("ghost"))).thenReturn(List.of());
+
+
+                String report = transfer("{\"username\":\"jan\",\"amount\":500}\n"
+                        + "{\"cardNumber\":2222,\"amount\":300}\n"
+                        + "{\"username\":\"ghost\",\"amount\":100}\n");
+
+                verify(ledgerEntryRepository, times(2)).saveAll(entries.capture());
+                assertThat(entries.getAllValues().get(0))
+                        .extracting(LedgerEntry::getCreditCardId, LedgerEntry::getAmount, LedgerEntry::getType)
+                        .containsExactly(
+                                tuple(1L, 500L, LedgerEntryType.CREDIT),
+                                tuple(2L, 300L, LedgerEntryType.CREDIT));
+                assertThat(entries.getAllValues().get(1)).isEmpty();
+                assertThat(report.lines()).containsExactly(
+                        "{\"line\":1,\"username\":\"jan\",\"amount\":500,\"status\":\"APPLIED\"}",
+                        "{\"line\":2,\"cardNumber\":2222,\"amount\":300,\"status\":\"APPLIED\"}",
+                        "{\"line\":3,\"username\":\"ghost\",\"amount\":100,\"status\":\"REJECTED\",\"message\":\"Credit Card Not Found!\"}");
+        }
+
+        @Test
+        void itShouldRejectInvalidRowsWithoutTouchingDatabase() throws IOException {
+                String report = transfer("not json\n"
+                        + "{\"username\":\"jan\",\"cardNumber\":1111,\"amount\":500}\n"
+                        + "\n"
+                        + "{\"username\":\"jan\",\"amount\":-5}\n");
+
+                verify(ledgerEntryRepository, never()).saveAll(any());
+                assertThat(report.lines()).containsExactly(
+                        "{\"line\":1,\"status\":\"REJECTED\",\"message\":\"Malformed Row!\"}",
+                        "{\"line\":2,\"username\":\"jan\",\"cardNumber\":1111,\"amount\":500,\"status\":\"REJECTED\","
+                                + "\"message\":\"Either Username Or Card Number Is Required!\"}",
+                        "{\"line\":4,\"username\":\"jan\",\"amount\":-5,\"status\":\"REJECTED\",\"message\":\"Amount Must Be Positive!\"}");
+        }
+
+        @Test
+        void itShouldReportChunkAsFailedWhenItCannotBeApplied() throws IOException {
+                when(creditCardRepository.findRefsByUsernames(List.of("jan")))
+                        .thenReturn(List.of(new CreditCardRef(1L, 1111L, "jan")));
+                when(ledgerEntryRepository.saveAll(any())).thenThrow(new IllegalStateException("deadlock"));
+
+
+                String report = transfer("{\"username\":\"jan\",\"amount\":500}\n");
+
+                assertThat(report.lines()).containsExactly(
+                        "{\"line\":1,\"username\":\"jan\",\"amount\":500,\"status\":\"FAILED\",\"message\":\"Chunk Could Not Be Applied!\"}");
+        }
+
+        private String transfer(String rows) throws IOException {
+                ByteArrayOutputStream report = new ByteArrayOutputStream();
+                moneyTransferBatchService.transfer(new ByteArrayInputStream(rows.getBytes(StandardCharsets.UTF_8)), report);
+                return report.toString(StandardCharsets.UTF_8);
+        }
+
+}
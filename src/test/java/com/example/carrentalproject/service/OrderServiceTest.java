@@ -1,32 +1,52 @@
 package com.example.carrentalproject.service;
 
 import com.example.carrentalproject.domain.AccessKey;
+import com.example.carrentalproject.domain.CarHold;
 import com.example.carrentalproject.domain.CarPackage;
 import com.example.carrentalproject.domain.CreditCard;
 import com.example.carrentalproject.domain.PlacedOrder;
 import com.example.carrentalproject.domain.User;
 import com.example.carrentalproject.dto.AccessKeyDto;
+import com.example.carrentalproject.dto.CarPackageView;
+import com.example.carrentalproject.dto.CursorPage;
+import com.example.carrentalproject.dto.OrderSearchCriteria;
 import com.example.carrentalproject.exception.InsufficientFundsException;
+import com.example.carrentalproject.exception.InvalidTimeWindowException;
 import com.example.carrentalproject.exception.NoCreditCardException;
+import com.example.carrentalproject.exception.UnavailableCarException;
 import com.example.carrentalproject.repository.AccessKeyRepository;
 import com.example.carrentalproject.repository.CarPackageRepository;
+import com.example.carrentalproject.repository.CreditCardRepository;
 import com.example.carrentalproject.repository.OrderRepository;
 import com.example.carrentalproject.security.LoggedInUser;
+import com.example.carrentalproject.utils.PageCursor;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import javax.persistence.EntityNotFoundException;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,12 +64,30 @@ class OrderServiceTest {
         @Mock
         OrderRepository orderRepository;
 
-        @InjectMocks
+        @Mock
+        CreditCardRepository creditCardRepository;
+
+        @Mock
+        PackageCapacityService packageCapacityService;
+
+        @Mock
+        CarHoldService carHoldService;
+
+        @Spy
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
         OrderService orderService;
 
+        @BeforeEach
+        void setUp() {
+                orderService = new OrderService(carPackageRepository, orderRepository, accessKeyRepository,
+                        creditCardRepository, packageCapacityService, loggedInUser, objectMapper, carHoldService, 10, 500);
+        }
+
         @Test
-        void itShouldReturnAllOrders() {
+        void itShouldReturnFirstPageOfOrders() {
                 PlacedOrder order = PlacedOrder.builder()
+                        .id(1L)
                         .userId(1L)
                         .carId(5L)
                         .brand("Ford")
@@ -57,6 +95,7 @@ class OrderServiceTest {
                         .build();
 
                 PlacedOrder order2 = PlacedOrder.builder()
+                        .id(2L)
                         .userId(37L)
                         .carId(15L)
                         .brand("Fiat")
@@ -64,6 +103,7 @@ class OrderServiceTest {
                         .build();
 
                 PlacedOrder order3 = PlacedOrder.builder()
+                        .id(3L)
                         .userId(9L)
                         .carId(7L)
                         .brand("Daewoo")
@@ -71,6 +111,7 @@ class OrderServiceTest {
                         .build();
 
                 PlacedOrder order4 = PlacedOrder.builder()
+                        .id(4L)
                         .userId(4L)
                         .carId(9L)
                         .brand("Porsche")
@@ -84,10 +125,69 @@ class OrderServiceTest {
                 orders.add(order4);
 
 
-                when(orderRepository.findAll()).thenReturn(orders);
+                OrderSearchCriteria criteria = new OrderSearchCriteria();
+                when(orderRepository.seekOrders(eq(criteria), any(PageCursor.class), eq(11))).thenReturn(orders);
+
 
+                CursorPage<PlacedOrder> page = orderService.getOrders(criteria, null, null);
 
-                Assertions.assertThat(orderService.getOrders()).isEqualTo(orders);
+                Assertions.assertThat(page.getContent()).isEqualTo(orders);
+                assertThat(page.getNext()).isNull();
+        }
+
+        @Test
+        void itShouldReturnCursorToNextPageOfOrders() {
+                List<PlacedOrder> orders = new ArrayList<>();
+                for (long id = 1; id <= 11; id++) {
+                        orders.add(PlacedOrder.builder().id(id).userId(1L).carId(5L).build());
+                }
+                OrderSearchCriteria criteria = OrderSearchCriteria.builder().userId(1L).build();
+                when(orderRepository.seekOrders(eq(criteria), any(PageCursor.class), eq(11))).thenReturn(orders);
+
+
+                CursorPage<PlacedOrder> page = orderService.getOrders(criteria, null, null);
+
+                assertThat(page.getContent()).hasSize(10);
+                assertThat(PageCursor.decode(page.getNext()).getLastId()).isEqualTo(10L);
+        }
+
+        @Test
+        void itShouldThrowInvalidTimeWindowExceptionWhenFilteringOrders() {
+                LocalDateTime now = LocalDateTime.now();
+                OrderSearchCriteria criteria = OrderSearchCriteria.builder()
+                        .from(now)
+                        .to(now.minusHours(1))
+                        .build();
+
+                assertThrows(InvalidTimeWindowException.class, () -> orderService.getOrders(criteria, null, null));
+                verify(orderRepository, never()).seekOrders(any(), any(), anyInt());
+        }
+
+        @Test
+        void itShouldRejectNonPositivePageAndFetchSize() {
+                assertThrows(IllegalArgumentException.class, () -> new OrderService(carPackageRepository, orderRepository,
+                        accessKeyRepository, creditCardRepository, packageCapacityService, loggedInUser, objectMapper,
+                        carHoldService, 0, 500));
+                assertThrows(IllegalArgumentException.class, () -> new OrderService(carPackageRepository, orderRepository,
+                        accessKeyRepository, creditCardRepository, packageCapacityService, loggedInUser, objectMapper,
+                        carHoldService, 10, -1));
+        }
+
+        @Test
+        void itShouldExportOrdersAsNdjson() {
+                OrderSearchCriteria criteria = OrderSearchCriteria.builder().carId(5L).build();
+                PlacedOrder order = PlacedOrder.builder().id(1L).userId(1L).carId(5L).brand("Ford").model("Mustang").build();
+                PlacedOrder order2 = PlacedOrder.builder().id(2L).userId(37L).carId(5L).brand("Ford").model("Mustang").build();
+                when(orderRepository.streamOrders(criteria, 500)).thenReturn(Stream.of(order, order2));
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+
+                orderService.exportOrders(criteria, out);
+
+                String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+                assertThat(lines).hasSize(2);
+                assertThat(lines[0]).contains("\"id\":1").contains("\"brand\":\"Ford\"");
+                assertThat(lines[1]).contains("\"id\":2").contains("\"userId\":37");
         }
 
         @Test
@@ -105,6 +205,7 @@ class OrderServiceTest {
                         .build();
 
                 CarPackage luxury = CarPackage.builder()
+                        .id(2L)
                         .packageName("Luxury")
                         .pricePerHour(500)
                         .build();
@@ -121,12 +222,49 @@ class OrderServiceTest {
 
 
                 when(loggedInUser.getUser()).thenReturn(user);
-                when(carPackageRepository.findByPackageName("Luxury")).thenReturn(Optional.of(luxury));
+                when(carPackageRepository.findViewByPackageName("Luxury")).thenReturn(Optional.of(new CarPackageView(2L, "Luxury", 500)));
+                when(carPackageRepository.getById(2L)).thenReturn(luxury);
+                when(packageCapacityService.tryReserve(luxury)).thenReturn(true);
+                when(creditCardRepository.debit(card, 1000L)).thenReturn(true);
                 when(accessKeyRepository.save(accessKey)).thenReturn(accessKey);
 
 
                 assertThat(orderService.submitOrder("Luxury", 2)).isEqualTo(accessKeyDto);
-                assertThat(user.getCreditCard().getAccountBalance()).isEqualTo(200L);
+                verify(creditCardRepository).debit(card, 1000L);
+        }
+
+        @Test
+        void itShouldHoldCarWhenRequested() {
+                CreditCard card = CreditCard.builder()
+                        .accountBalance(1200L)
+                        .build();
+
+                User user = User.builder()
+                        .id(1L)
+                        .creditCard(card)
+                        .build();
+
+                CarPackage luxury = CarPackage.builder()
+                        .id(2L)
+                        .packageName("Luxury")
+                        .pricePerHour(500)
+                        .build();
+
+                LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(15);
+
+
+                when(loggedInUser.getUser()).thenReturn(user);
+                when(carPackageRepository.findViewByPackageName("Luxury")).thenReturn(Optional.of(new CarPackageView(2L, "Luxury", 500)));
+                when(carPackageRepository.getById(2L)).thenReturn(luxury);
+                when(packageCapacityService.tryReserve(luxury)).thenReturn(true);
+                when(creditCardRepository.debit(card, 1000L)).thenReturn(true);
+                when(carHoldService.place(user, "Luxury")).thenReturn(new CarHold(7L, 1L, "Luxury", expiresAt));
+
+
+                AccessKeyDto accessKeyDto = orderService.submitOrder("Luxury", 2, true);
+
+                assertThat(accessKeyDto.getHeldCarId()).isEqualTo(7L);
+                assertThat(accessKeyDto.getHoldExpiresAt()).isEqualTo(expiresAt);
         }
 
         @Test
@@ -142,7 +280,7 @@ class OrderServiceTest {
 
 
                 when(loggedInUser.getUser()).thenReturn(user);
-                when(carPackageRepository.findByPackageName(anyString())).thenThrow(EntityNotFoundException.class);
+                when(carPackageRepository.findViewByPackageName(anyString())).thenThrow(EntityNotFoundException.class);
 
 
                 assertThrows(EntityNotFoundException.class, () -> orderService.submitOrder("BigCar", 3));
@@ -174,16 +312,48 @@ class OrderServiceTest {
                         .build();
 
                 CarPackage luxury = CarPackage.builder()
+                        .id(2L)
                         .packageName("Luxury")
                         .pricePerHour(500)
                         .build();
 
 
                 when(loggedInUser.getUser()).thenReturn(user);
-                when(carPackageRepository.findByPackageName("Luxury")).thenReturn(Optional.of(luxury));
+                when(carPackageRepository.findViewByPackageName("Luxury")).thenReturn(Optional.of(new CarPackageView(2L, "Luxury", 500)));
+                when(carPackageRepository.getById(2L)).thenReturn(luxury);
+                when(packageCapacityService.tryReserve(luxury)).thenReturn(true);
+                when(creditCardRepository.debit(card, 1000L)).thenReturn(false);
 
 
                 assertThrows(InsufficientFundsException.class, () -> orderService.submitOrder("Luxury", 2));
         }
 
-}
\ No newline at end of file
+        @Test
+        void itShouldThrowUnavailableCarExceptionWhenPackageHasNoCapacity() {
+                CreditCard card = CreditCard.builder()
+                        .accountBalance(5000L)
+                        .build();
+
+                User user = User.builder()
+                        .username("Radoslaw")
+                        .creditCard(card)
+                        .build();
+
+                CarPackage luxury = CarPackage.builder()
+                        .id(2L)
+                        .packageName("Luxury")
+                        .pricePerHour(500)
+                        .build();
+
+
+                when(loggedInUser.getUser()).thenReturn(user);
+                when(carPackageRepository.findViewByPackageName("Luxury")).thenReturn(Optional.of(new CarPackageView(2L, "Luxury", 500)));
+                when(carPackageRepository.getById(2L)).thenReturn(luxury);
+                when(packageCapacityService.tryReserve(luxury)).thenReturn(false);
+
+
+                assertThrows(UnavailableCarException.class, () -> orderService.submitOrder("Luxury", 2));
+                verify(creditCardRepository, never()).debit(any(), anyLong());
+        }
+
+}
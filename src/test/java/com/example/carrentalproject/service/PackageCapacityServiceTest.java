@@ -0,0 +1,111 @@
+package com.example.carrentalproject.service;
+
+import com.example.carrentalproject.domain.CarPackage;
+import com.example.carrentalproject.repository.AccessKeyRepository;
+import com.example.carrentalproject.repository.CarPackageRepository;
+import com.example.carrentalproject.repository.CarRepository;
+import com.example.carrentalproject.repository.PackageCapacityRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PackageCapacityServiceTest {
+
+        @Mock
+        PackageCapacityRepository packageCapacityRepository;
+
+        @Mock
+        CarPackageRepository carPackageRepository;
+
+        @Mock
+        CarRepository carRepository;
+
+        @Mock
+        AccessKeyRepository accessKeyRepository;
+
+        @InjectMocks
+        PackageCapacityService packageCapacityService;
+
+        private final CarPackage sporty = CarPackage.builder()
+                .id(1L)
+                .packageName("Sporty")
+                .pricePerHour(300)
+                .build();
+
+        @Test
+        void itShouldRebuildCapacityFromAvailableCarsAndOutstandingKeys() {
+                when(carPackageRepository.findAll()).thenReturn(List.of(sporty));
+                when(carRepository.countAvailableCars(1L)).thenReturn(3L);
+                when(accessKeyRepository.countByCarPackage("Sporty")).thenReturn(1L);
+                when(packageCapacityRepository.reserve(1L)).thenReturn(1);
+
+
+                packageCapacityService.rebuild();
+
+                verify(packageCapacityRepository).deleteAllInBatch();
+                verify(packageCapacityRepository).insert(1L, 2);
+                assertThat(packageCapacityService.tryReserve(sporty)).isTrue();
+                assertThat(packageCapacityService.tryReserve(sporty)).isTrue();
+                assertThat(packageCapacityService.tryReserve(sporty)).isFalse();
+                verify(packageCapacityRepository, times(2)).reserve(1L);
+        }
+
+        @Test
+        void itShouldRejectWithoutTouchingDatabaseWhenCounterIsEmpty() {
+                when(packageCapacityRepository.findAvailable(1L)).thenReturn(Optional.of(0));
+
+
+                assertThat(packageCapacityService.tryReserve(sporty)).isFalse();
+                verify(packageCapacityRepository, never()).reserve(anyLong());
+        }
+
+        @Test
+        void itShouldReloadCounterWhenDatabaseRejectsReservation() {
+                when(packageCapacityRepository.findAvailable(1L)).thenReturn(Optional.of(1), Optional.of(0));
+                when(packageCapacityRepository.reserve(1L)).thenReturn(0);
+
+
+                assertThat(packageCapacityService.tryReserve(sporty)).isFalse();
+                assertThat(packageCapacityService.tryReserve(sporty)).isFalse();
+                verify(packageCapacityRepository, times(1)).reserve(1L);
+        }
+
+        @Test
+        void itShouldInitializeCapacityForPackageWithoutRow() {
+                when(packageCapacityRepository.findAvailable(1L)).thenReturn(Optional.empty());
+                when(carRepository.countAvailableCars(1L)).thenReturn(1L);
+                when(accessKeyRepository.countByCarPackage("Sporty")).thenReturn(0L);
+                when(packageCapacityRepository.reserve(1L)).thenReturn(1);
+
+
+                assertThat(packageCapacityService.tryReserve(sporty)).isTrue();
+                verify(packageCapacityRepository).insert(1L, 1);
+        }
+
+        @Test
+        void itShouldReleaseCapacityWhenCarIsFreed() {
+                when(packageCapacityRepository.findAvailable(1L)).thenReturn(Optional.of(0));
+                when(packageCapacityRepository.reserve(1L)).thenReturn(1);
+
+
+                assertThat(packageCapacityService.tryReserve(sporty)).isFalse();
+                packageCapacityService.adjust(sporty, 1);
+
+                verify(packageCapacityRepository).adjust(1L, 1);
+                assertThat(packageCapacityService.tryReserve(sporty)).isTrue();
+        }
+
+}
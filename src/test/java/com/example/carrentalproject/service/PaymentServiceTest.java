@@ -3,18 +3,33 @@ package com.example.carrentalproject.service;
 import com.example.carrentalproject.domain.CreditCard;
 import com.example.carrentalproject.domain.User;
 import com.example.carrentalproject.dto.CreditCardDto;
+import com.example.carrentalproject.dto.PaymentAuthorization;
+import com.example.carrentalproject.dto.PaymentRequest;
 import com.example.carrentalproject.exception.NoCreditCardException;
+import com.example.carrentalproject.exception.PaymentDeclinedException;
+import com.example.carrentalproject.exception.PaymentGatewayException;
+import com.example.carrentalproject.gateway.PaymentGateway;
 import com.example.carrentalproject.repository.CreditCardRepository;
 import com.example.carrentalproject.repository.UserRepository;
 import com.example.carrentalproject.security.LoggedInUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,9 +44,31 @@ class PaymentServiceTest {
         @Mock
         LoggedInUser loggedInUser;
 
-        @InjectMocks
+        @Mock
+        PaymentGateway paymentGateway;
+
+        @Mock
+        PaymentSettlementService paymentSettlementService;
+
+        @Mock
+        CardNumberFilterService cardNumberFilterService;
+
+        @Captor
+        ArgumentCaptor<PaymentRequest> request;
+
         PaymentService paymentService;
 
+        @BeforeEach
+        void setUp() {
+                paymentService = new PaymentService(userRepository, creditCardRepository, loggedInUser, paymentGateway,
+                        paymentSettlementService, cardNumberFilterService, 2);
+        }
+
+        @AfterEach
+        void tearDown() {
+                paymentService.shutdown();
+        }
+
         @Test
         void itShouldAddCreditCardToUser() {
                 User user = User.builder()
@@ -57,11 +94,15 @@ class PaymentServiceTest {
                 paymentService.addCreditCard(creditCardDto);
 
                 assertThat(user.getCreditCard()).isEqualTo(creditCard);
+                verify(cardNumberFilterService).checkUnique(8888943300781111L);
+                verify(cardNumberFilterService).add(8888943300781111L);
         }
 
         @Test
         void itShouldMakeMoneyTransfer() {
                 CreditCard creditCard = CreditCard.builder()
+                        .id(3L)
+                        .cardNumber(8888943300781111L)
                         .accountBalance(0L)
                         .build();
 
@@ -72,13 +113,94 @@ class PaymentServiceTest {
                         .build();
 
 
+                PaymentAuthorization authorization = new PaymentAuthorization("auth-1", 3L, 700L, true, null);
+
                 when(loggedInUser.getUser()).thenReturn(user);
-                when(userRepository.save(user)).thenReturn(user);
+                when(paymentGateway.authorize(any())).thenReturn(CompletableFuture.completedFuture(authorization));
+
+
+                paymentService.moneyTransfer(700L).join();
+
+                verify(paymentGateway).authorize(request.capture());
+                assertThat(request.getValue().getReference()).isNotBlank();
+                assertThat(request.getValue().getCardNumber()).isEqualTo(8888943300781111L);
+                assertThat(request.getValue().getAmount()).isEqualTo(700L);
+                verify(paymentSettlementService).credit(creditCard, request.getValue(), authorization);
+                verify(paymentSettlementService, never()).voidLater(any());
+        }
+
+        @Test
+        void itShouldVoidAuthorizationWhenGatewayCallFails() {
+                CreditCard creditCard = CreditCard.builder()
+                        .id(3L)
+                        .accountBalance(0L)
+                        .build();
+
+                User user = User.builder()
+                        .creditCard(creditCard)
+                        .build();
+
+                when(loggedInUser.getUser()).thenReturn(user);
+                when(paymentGateway.authorize(any())).thenReturn(CompletableFuture.failedFuture(
+                        new PaymentGatewayException("Payment Gateway Is Unavailable, Try Again Later!")));
+
+
+                CompletionException exception = assertThrows(CompletionException.class,
+                        () -> paymentService.moneyTransfer(700L).join());
+
+                assertThat(exception).hasCauseInstanceOf(PaymentGatewayException.class);
+                verify(paymentGateway).authorize(request.capture());
+                verify(paymentSettlementService).voidLater(request.getValue());
+                verify(paymentSettlementService, never()).credit(any(), any(), any());
+        }
+
+        @Test
+        void itShouldVoidAuthorizationWhenCreditFails() {
+                CreditCard creditCard = CreditCard.builder()
+                        .id(3L)
+                        .accountBalance(0L)
+                        .build();
+
+                User user = User.builder()
+                        .creditCard(creditCard)
+                        .build();
+
+                PaymentAuthorization authorization = new PaymentAuthorization("auth-3", 3L, 700L, true, null);
+
+                when(loggedInUser.getUser()).thenReturn(user);
+                when(paymentGateway.authorize(any())).thenReturn(CompletableFuture.completedFuture(authorization));
+                doThrow(new IllegalStateException("database down"))
+                        .when(paymentSettlementService).credit(any(), any(), any());
+
+
+                assertThrows(CompletionException.class, () -> paymentService.moneyTransfer(700L).join());
+
+                verify(paymentGateway).authorize(request.capture());
+                verify(paymentSettlementService).voidLater(request.getValue());
+        }
+
+        @Test
+        void itShouldNotCreditDeclinedMoneyTransfer() {
+                CreditCard creditCard = CreditCard.builder()
+                        .id(3L)
+                        .accountBalance(0L)
+                        .build();
+
+                User user = User.builder()
+                        .creditCard(creditCard)
+                        .build();
+
+                when(loggedInUser.getUser()).thenReturn(user);
+                when(paymentGateway.authorize(any())).thenReturn(CompletableFuture.completedFuture(
+                        new PaymentAuthorization("auth-2", 3L, -5L, false, "Invalid Amount!")));
 
 
-                paymentService.moneyTransfer(700L);
+                CompletionException exception = assertThrows(CompletionException.class,
+                        () -> paymentService.moneyTransfer(-5L).join());
 
-                assertThat(user.getCreditCard().getAccountBalance()).isEqualTo(700L);
+                assertThat(exception).hasCauseInstanceOf(PaymentDeclinedException.class);
+                verify(paymentSettlementService, never()).credit(any(), any(), any());
+                verify(paymentSettlementService, never()).voidLater(any());
         }
 
         @Test
@@ -0,0 +1,126 @@
+package com.example.carrentalproject.service;
+
+import com.example.carrentalproject.constant.SettlementAction;
+import com.example.carrentalproject.domain.CreditCard;
+import com.example.carrentalproject.domain.PendingSettlement;
+import com.example.carrentalproject.dto.PaymentAuthorization;
+import com.example.carrentalproject.dto.PaymentRequest;
+import com.example.carrentalproject.exception.PaymentGatewayException;
+import com.example.carrentalproject.gateway.PaymentGateway;
+import com.example.carrentalproject.repository.CreditCardRepository;
+import com.example.carrentalproject.repository.PendingSettlementRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentSettlementServiceTest {
+
+        @Mock
+        PaymentGateway paymentGateway;
+
+        @Mock
+        CreditCardRepository creditCardRepository;
+
+        @Mock
+        PendingSettlementRepository pendingSettlementRepository;
+
+        PaymentSettlementService paymentSettlementService;
+
+        private final PaymentAuthorization first = new PaymentAuthorization("auth-1", 1L, 100L, true, null);
+        private final PaymentAuthorization second = new PaymentAuthorization("auth-2", 2L, 200L, true, null);
+        private final PaymentAuthorization third = new PaymentAuthorization("auth-3", 3L, 300L, true, null);
+
+        @BeforeEach
+        void setUp() {
+                paymentSettlementService = new PaymentSettlementService(paymentGateway, creditCardRepository,
+                        pendingSettlementRepository, new SimpleMeterRegistry(), 2);
+        }
+
+        @Test
+        void itShouldCreditAndRecordPendingCapture() {
+                CreditCard creditCard = CreditCard.builder().id(1L).build();
+                ArgumentCaptor<PendingSettlement> settlement = ArgumentCaptor.forClass(PendingSettlement.class);
+
+
+                paymentSettlementService.credit(creditCard, new PaymentRequest("transfer-1", 1L, 1111L, 100L), first);
+
+                verify(creditCardRepository).credit(creditCard, 100L);
+                verify(pendingSettlementRepository).save(settlement.capture());
+                assertThat(settlement.getValue().getAction()).isEqualTo(SettlementAction.CAPTURE);
+                assertThat(settlement.getValue().getReference()).isEqualTo("transfer-1");
+                assertThat(settlement.getValue().getAuthorizationId()).isEqualTo("auth-1");
+                assertThat(settlement.getValue().getAmount()).isEqualTo(100L);
+        }
+
+        @Test
+        void itShouldVoidRecordedAuthorizationsByReference() {
+                ArgumentCaptor<PendingSettlement> settlement = ArgumentCaptor.forClass(PendingSettlement.class);
+                paymentSettlementService.voidLater(new PaymentRequest("transfer-9", 1L, 1111L, 100L));
+                verify(pendingSettlementRepository).save(settlement.capture());
+                List<PendingSettlement> voids = List.of(settlement.getValue());
+                when(pendingSettlementRepository.findOldest(SettlementAction.CAPTURE, PageRequest.of(0, 2))).thenReturn(List.of());
+                when(pendingSettlementRepository.findOldest(SettlementAction.VOID, PageRequest.of(0, 2))).thenReturn(voids);
+                when(paymentGateway.voidAuthorizations(List.of("transfer-9"))).thenReturn(CompletableFuture.completedFuture(null));
+
+
+                assertThat(paymentSettlementService.settle()).isZero();
+                assertThat(settlement.getValue().getAction()).isEqualTo(SettlementAction.VOID);
+                verify(pendingSettlementRepository).deleteAllInBatch(voids);
+        }
+
+        @Test
+        void itShouldSettleStoredAuthorizationsInBatches() {
+                List<PendingSettlement> firstBatch = List.of(pending(first), pending(second));
+                List<PendingSettlement> secondBatch = List.of(pending(third));
+                when(pendingSettlementRepository.findOldest(SettlementAction.CAPTURE, PageRequest.of(0, 2))).thenReturn(firstBatch, secondBatch);
+                when(pendingSettlementRepository.findOldest(SettlementAction.VOID, PageRequest.of(0, 2))).thenReturn(List.of());
+                when(paymentGateway.settle(List.of(first, second))).thenReturn(CompletableFuture.completedFuture(null));
+                when(paymentGateway.settle(List.of(third))).thenReturn(CompletableFuture.completedFuture(null));
+
+
+                assertThat(paymentSettlementService.settle()).isEqualTo(3);
+                verify(pendingSettlementRepository).deleteAllInBatch(firstBatch);
+                verify(pendingSettlementRepository).deleteAllInBatch(secondBatch);
+        }
+
+        @Test
+        void itShouldKeepBatchWhenSettlementFails() {
+                List<PendingSettlement> batch = List.of(pending(first));
+                when(pendingSettlementRepository.findOldest(SettlementAction.CAPTURE, PageRequest.of(0, 2))).thenReturn(batch);
+                when(pendingSettlementRepository.findOldest(SettlementAction.VOID, PageRequest.of(0, 2))).thenReturn(List.of());
+                when(paymentGateway.settle(anyList()))
+                        .thenReturn(CompletableFuture.failedFuture(new PaymentGatewayException("down")));
+
+
+                assertThat(paymentSettlementService.settle()).isZero();
+                verify(pendingSettlementRepository, never()).deleteAllInBatch(batch);
+        }
+
+        private static PendingSettlement pending(PaymentAuthorization authorization) {
+                return PendingSettlement.builder()
+                        .action(SettlementAction.CAPTURE)
+                        .reference("transfer-" + authorization.getCreditCardId())
+                        .authorizationId(authorization.getAuthorizationId())
+                        .creditCardId(authorization.getCreditCardId())
+                        .amount(authorization.getAmount())
+                        .createdAt(LocalDateTime.now())
+                        .build();
+        }
+
+}
@@ -0,0 +1,165 @@
+package com.example.carrentalproject.service;
+
+import com.example.carrentalproject.domain.Car;
+import com.example.carrentalproject.domain.CarPackage;
+import com.example.carrentalproject.domain.PlacedOrder;
+import com.example.carrentalproject.dto.ActiveRental;
+import com.example.carrentalproject.repository.CarRepository;
+import com.example.carrentalproject.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RentalExpiryServiceTest {
+
+        @Mock
+        OrderRepository orderRepository;
+
+        @Mock
+        CarRepository carRepository;
+
+        @Mock
+        PackageCapacityService packageCapacityService;
+
+        @Mock
+        CarScheduleService carScheduleService;
+
+        @Mock
+        AvailableCarPool availableCarPool;
+
+        @Mock
+        WaitlistService waitlistService;
+
+        @Mock
+        PlatformTransactionManager transactionManager;
+
+        private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        private RentalExpiryService rentalExpiryService;
+
+        private final CarPackage sporty = CarPackage.builder()
+                .id(1L)
+                .packageName("Sporty")
+                .pricePerHour(300)
+                .build();
+
+        @BeforeEach
+        void setUp() {
+                rentalExpiryService = new RentalExpiryService(orderRepository, carRepository, packageCapacityService,
+                        carScheduleService, availableCarPool, waitlistService, transactionManager, meterRegistry, 500, 30000, 86400000);
+        }
+
+        @AfterEach
+        void tearDown() {
+                rentalExpiryService.stop();
+        }
+
+        @Test
+        void itShouldReleaseExpiredCarsInOneBatchPerPackage() {
+                LocalDateTime start = LocalDateTime.now().minusHours(3);
+                Car audi = Car.builder().id(1L).isAvailable(false).carPackage(sporty).build();
+                Car bmw = Car.builder().id(2L).isAvailable(false).carPackage(sporty).build();
+                when(carRepository.findExpiredRentals(eq(Set.of(1L, 2L)), any())).thenReturn(List.of(audi, bmw));
+
+
+                int released = rentalExpiryService.releaseExpired(List.of(
+                        new ActiveRental(1L, start, start.plusHours(2)),
+                        new ActiveRental(2L, start, start.plusHours(1))));
+
+                assertThat(released).isEqualTo(2);
+                verify(carRepository).releaseCars(List.of(1L, 2L));
+                verify(packageCapacityService).adjust(sporty, 2);
+                verify(carScheduleService).release(1L, start);
+                verify(carScheduleService).release(2L, start);
+                verify(availableCarPool).offer("Sporty", 1L);
+                verify(availableCarPool).offer("Sporty", 2L);
+                assertThat(meterRegistry.get("rentals.expiry.released").counter().count()).isEqualTo(2);
+        }
+
+        @Test
+        void itShouldSkipCarsThatAreStillRented() {
+                LocalDateTime start = LocalDateTime.now().minusHours(3);
+                when(carRepository.findExpiredRentals(anyCollection(), any())).thenReturn(List.of());
+
+
+                assertThat(rentalExpiryService.releaseExpired(List.of(new ActiveRental(1L, start, start.plusHours(1)))))
+                        .isZero();
+                verify(carRepository, never()).releaseCars(anyCollection());
+                verify(packageCapacityService, never()).adjust(any(), anyInt());
+        }
+
+        @Test
+        void itShouldReleaseCarWhenScheduledRentalEnds() {
+                LocalDateTime start = LocalDateTime.now().minusHours(2);
+                PlacedOrder order = new PlacedOrder(1L, 1L, 1L, "Audi", "RS3", start, LocalDateTime.now().plusNanos(100_000_000));
+                Car audi = Car.builder().id(1L).isAvailable(false).carPackage(sporty).build();
+                when(orderRepository.findActiveRentals(any(), any())).thenReturn(List.of());
+                when(orderRepository.findUpcomingRentals(any())).thenReturn(List.of());
+                when(carRepository.findExpiredRentals(eq(Set.of(1L)), any())).thenReturn(List.of(audi));
+
+
+                rentalExpiryService.start();
+                rentalExpiryService.schedule(order);
+
+                verify(carRepository, timeout(2000)).releaseCars(List.of(1L));
+                verify(packageCapacityService, timeout(2000)).adjust(sporty, 1);
+        }
+
+        @Test
+        void itShouldTakeReservedCarsOutOfServiceWhenReservationStarts() {
+                LocalDateTime start = LocalDateTime.now();
+                Car audi = Car.builder().id(1L).isAvailable(false).carPackage(sporty).build();
+                when(carRepository.claimCar(1L)).thenReturn(1);
+                when(carRepository.claimCar(2L)).thenReturn(0);
+                when(carRepository.findAllById(List.of(1L))).thenReturn(List.of(audi));
+
+
+                int started = rentalExpiryService.startReserved(List.of(
+                        new ActiveRental(1L, start, start.plusHours(2)),
+                        new ActiveRental(2L, start, start.plusHours(1))));
+
+                assertThat(started).isEqualTo(1);
+                verify(packageCapacityService).adjust(sporty, -1);
+                assertThat(meterRegistry.get("rentals.expiry.pending").gauge().value()).isEqualTo(1);
+        }
+
+        @Test
+        void itShouldStartReservationWhenItsStartTimeComes() {
+                LocalDateTime start = LocalDateTime.now().plusNanos(100_000_000);
+                PlacedOrder order = new PlacedOrder(1L, 1L, 1L, "Audi", "RS3", start, start.plusHours(2));
+                Car audi = Car.builder().id(1L).isAvailable(false).carPackage(sporty).build();
+                when(orderRepository.findActiveRentals(any(), any())).thenReturn(List.of());
+                when(orderRepository.findUpcomingRentals(any())).thenReturn(List.of());
+                when(carRepository.claimCar(1L)).thenReturn(1);
+                when(carRepository.findAllById(List.of(1L))).thenReturn(List.of(audi));
+
+
+                rentalExpiryService.start();
+                rentalExpiryService.schedule(order);
+
+                verify(carRepository, timeout(2000)).claimCar(1L);
+                verify(packageCapacityService, timeout(2000)).adjust(sporty, -1);
+                verify(carRepository, never()).findExpiredRentals(anyCollection(), any());
+        }
+
+}
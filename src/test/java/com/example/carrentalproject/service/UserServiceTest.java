@@ -11,13 +11,19 @@ import com.example.carrentalproject.mapper.UserDtoMapper;
 import com.example.carrentalproject.repository.CreditCardRepository;
 import com.example.carrentalproject.repository.RoleRepository;
 import com.example.carrentalproject.repository.UserRepository;
+import com.example.carrentalproject.security.AppUserDetails;
+import com.example.carrentalproject.security.UserDetailsCache;
+import com.example.carrentalproject.security.UserIdCache;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -26,7 +32,10 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -46,6 +55,15 @@ class UserServiceTest {
         @Mock
         PasswordEncoder passwordEncoder;
 
+        @Mock
+        UserIdCache userIdCache;
+
+        @Mock
+        UserDetailsCache userDetailsCache;
+
+        @Mock
+        CardNumberFilterService cardNumberFilterService;
+
         @InjectMocks
         UserService userService;
 
@@ -124,7 +142,7 @@ class UserServiceTest {
                         .build();
 
 
-                when(roleRepository.findByName("ROLE_MANAGER")).thenReturn(Optional.empty());
+                when(roleRepository.findIdByName("ROLE_MANAGER")).thenReturn(Optional.empty());
                 when(roleRepository.save(role)).thenReturn(role);
 
 
@@ -141,13 +159,15 @@ class UserServiceTest {
                         .build();
 
                 Role role = Role.builder()
+                        .id(3L)
                         .name("ROLE_ADMIN")
                         .users(new ArrayList<>())
                         .build();
 
 
                 when(userRepository.findByUsername("pablo")).thenReturn(Optional.of(user));
-                when(roleRepository.findByName("ROLE_ADMIN")).thenReturn(Optional.of(role));
+                when(roleRepository.findIdByName("ROLE_ADMIN")).thenReturn(Optional.of(3L));
+                when(roleRepository.getById(3L)).thenReturn(role);
                 when(userRepository.save(user)).thenReturn(user);
 
 
@@ -166,13 +186,15 @@ class UserServiceTest {
                         .build();
 
                 Role role = Role.builder()
+                        .id(1L)
                         .name("ROLE_USER")
                         .users(new ArrayList<>())
                         .build();
 
 
                 when(userRepository.findByUsername("Kamilek")).thenReturn(Optional.of(user));
-                when(roleRepository.findByName("ROLE_USER")).thenReturn(Optional.of(role));
+                when(roleRepository.findIdByName("ROLE_USER")).thenReturn(Optional.of(1L));
+                when(roleRepository.getById(1L)).thenReturn(role);
                 when(userRepository.save(user)).thenReturn(user);
 
 
@@ -181,6 +203,25 @@ class UserServiceTest {
                 userService.deleteUserRole("Kamilek", "ROLE_USER");
 
                 assertThat(user.getRoles()).hasSize(0);
+                verify(userDetailsCache, times(2)).evict("Kamilek");
+        }
+
+        @Test
+        void itShouldEvictUserOnlyAfterCommit() {
+                when(userRepository.existsById(4L)).thenReturn(true);
+
+
+                TransactionSynchronizationManager.initSynchronization();
+                try {
+                        userService.deleteUser(4L);
+
+                        verify(userDetailsCache, never()).evict(4L);
+                        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+                } finally {
+                        TransactionSynchronizationManager.clearSynchronization();
+                }
+                verify(userIdCache).evict(4L);
+                verify(userDetailsCache).evict(4L);
         }
 
         @Test
@@ -208,6 +249,29 @@ class UserServiceTest {
 
                 userService.addCreditCardToUser("niceUser45", creditCardDto);
                 assertThat(user.getCreditCard().getCardNumber()).isEqualTo(creditCardDto.getCardNumber());
+                verify(cardNumberFilterService).checkUnique(7756443322118596L);
+                verify(cardNumberFilterService).add(7756443322118596L);
+        }
+
+        @Test
+        void itShouldNotSaveCreditCardWithExistingNumber() {
+                User user = User.builder()
+                        .username("niceUser45")
+                        .build();
+
+                CreditCardDto creditCardDto = CreditCardDto.builder()
+                        .cardNumber(7756443322118596L)
+                        .build();
+
+
+                when(userRepository.findByUsername("niceUser45")).thenReturn(Optional.of(user));
+                doThrow(new ExistingEntityException("Credit Card With Given Number Already Exists!"))
+                        .when(cardNumberFilterService).checkUnique(7756443322118596L);
+
+
+                assertThrows(ExistingEntityException.class, () -> userService.addCreditCardToUser("niceUser45", creditCardDto));
+                verify(creditCardRepository, never()).save(any());
+                assertThat(user.getCreditCard()).isNull();
         }
 
         @Test
@@ -261,12 +325,8 @@ class UserServiceTest {
                         .name("ROLE_VISITOR")
                         .build();
 
-                Role role2 = Role.builder()
-                        .name("ROLE_VISITOR")
-                        .build();
-
 
-                when(roleRepository.findByName("ROLE_VISITOR")).thenReturn(Optional.of(role2));
+                when(roleRepository.findIdByName("ROLE_VISITOR")).thenReturn(Optional.of(4L));
 
 
                 assertThrows(ExistingEntityException.class, () -> userService.saveRole(role));
@@ -275,6 +335,7 @@ class UserServiceTest {
         @Test
         void itShouldThrowAssignedRoleException() {
                 Role role = Role.builder()
+                        .id(1L)
                         .name("ROLE_USER")
                         .build();
 
@@ -285,12 +346,70 @@ class UserServiceTest {
 
 
                 when(userRepository.findByUsername("Zbyszek")).thenReturn(Optional.of(user));
-                when(roleRepository.findByName("ROLE_USER")).thenReturn(Optional.of(role));
+                when(roleRepository.findIdByName("ROLE_USER")).thenReturn(Optional.of(1L));
 
 
                 assertThrows(AssignedRoleException.class, () -> userService.addRoleToUser("Zbyszek", "ROLE_USER"));
         }
 
+        @Test
+        void itShouldLoadUserDetailsAndCacheThem() {
+                Role role = Role.builder()
+                        .name("ROLE_USER")
+                        .build();
+
+                User user = User.builder()
+                        .id(5L)
+                        .username("Kamilek")
+                        .password("$2a$10$hash")
+                        .roles(Arrays.asList(role))
+                        .build();
+
+
+                when(userDetailsCache.get("Kamilek")).thenReturn(null);
+                when(userRepository.findByUsername("Kamilek")).thenReturn(Optional.of(user));
+
+
+                UserDetails userDetails = userService.loadUserByUsername("Kamilek");
+
+                assertThat(userDetails.getUsername()).isEqualTo("Kamilek");
+                assertThat(userDetails.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+                verify(userDetailsCache, times(1)).put((AppUserDetails) userDetails);
+        }
+
+        @Test
+        void itShouldServeUserDetailsFromCache() {
+                AppUserDetails cached = new AppUserDetails(5L, "Kamilek", "$2a$10$hash", new ArrayList<>());
+
+
+                when(userDetailsCache.get("Kamilek")).thenReturn(cached);
+
+
+                assertThat(userService.loadUserByUsername("Kamilek")).isSameAs(cached);
+                verify(userRepository, never()).findByUsername("Kamilek");
+        }
+
+        @Test
+        void itShouldStoreRehashedPassword() {
+                User user = User.builder()
+                        .id(4L)
+                        .username("Zbyszek")
+                        .password("$2a$10$oldHash")
+                        .build();
+
+                UserDetails userDetails = new AppUserDetails(4L, "Zbyszek", "$2a$10$oldHash", new ArrayList<>());
+
+
+                when(userRepository.findByUsername("Zbyszek")).thenReturn(Optional.of(user));
+
+
+                UserDetails updated = userService.updatePassword(userDetails, "$2a$12$newHash");
+
+                assertThat(user.getPassword()).isEqualTo("$2a$12$newHash");
+                assertThat(updated.getPassword()).isEqualTo("$2a$12$newHash");
+                verify(userRepository, times(1)).save(user);
+        }
+
         @Test
         void itShouldReturnAllUsers() {
                 User user1 = User.builder()
@@ -0,0 +1,151 @@
+package com.example.carrentalproject.service;
+
+import com.example.carrentalproject.domain.AccessKey;
+import com.example.carrentalproject.domain.User;
+import com.example.carrentalproject.dto.CarOffer;
+import com.example.carrentalproject.exception.NoAccessKeyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class WaitlistServiceTest {
+
+        @Mock
+        AvailableCarPool availableCarPool;
+
+        private WaitlistService waitlistService;
+
+        private final User john = user(1L);
+        private final User anna = user(2L);
+
+        private static User user(Long id) {
+                return User.builder()
+                        .id(id)
+                        .accessKey(AccessKey.builder()
+                                .carPackage("Sporty")
+                                .hours(2)
+                                .build())
+                        .build();
+        }
+
+        @BeforeEach
+        void setUp() {
+                waitlistService = new WaitlistService(availableCarPool, 100, 1000);
+        }
+
+        @AfterEach
+        void tearDown() {
+                waitlistService.shutdown();
+        }
+
+        @Test
+        void itShouldOfferFreedCarToHeadOfQueue() {
+                assertThat(waitlistService.join(john)).isEqualTo(1);
+                assertThat(waitlistService.join(anna)).isEqualTo(2);
+                assertThat(waitlistService.join(john)).isEqualTo(1);
+                DeferredResult<ResponseEntity<CarOffer>> offer = waitlistService.poll(john);
+
+
+                assertThat(waitlistService.offer("Sporty", 5L)).isTrue();
+
+                @SuppressWarnings("unchecked")
+                ResponseEntity<CarOffer> response = (ResponseEntity<CarOffer>) offer.getResult();
+                assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(response.getBody().getCarId()).isEqualTo(5L);
+                assertThat(waitlistService.isHeldForAnother(5L, anna.getId())).isTrue();
+                assertThat(waitlistService.isHeldForAnother(5L, john.getId())).isFalse();
+        }
+
+        @Test
+        void itShouldPassExpiredHoldToNextUser() throws InterruptedException {
+                waitlistService.join(john);
+                waitlistService.join(anna);
+                DeferredResult<ResponseEntity<CarOffer>> offer = waitlistService.poll(anna);
+
+
+                waitlistService.offer("Sporty", 5L);
+                long deadline = System.currentTimeMillis() + 2000;
+                while (!offer.hasResult() && System.currentTimeMillis() < deadline) {
+                        Thread.sleep(10);
+                }
+
+                @SuppressWarnings("unchecked")
+                ResponseEntity<CarOffer> response = (ResponseEntity<CarOffer>) offer.getResult();
+                assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(response.getBody().getCarId()).isEqualTo(5L);
+        }
+
+        @Test
+        void itShouldReturnCarToPoolWhenNobodyIsWaiting() {
+                waitlistService.join(john);
+
+
+                waitlistService.offer("Sporty", 5L);
+
+                verify(availableCarPool, timeout(2000)).offer("Sporty", 5L);
+        }
+
+        @Test
+        void itShouldReleaseHoldWhenCarIsPickedUp() {
+                waitlistService.join(john);
+                waitlistService.join(anna);
+                waitlistService.offer("Sporty", 5L);
+
+
+                waitlistService.claimed(5L, john);
+
+                assertThat(waitlistService.isHeldForAnother(5L, anna.getId())).isFalse();
+                assertThat(waitlistService.join(anna)).isEqualTo(1);
+        }
+
+        @Test
+        void itShouldHandOnUsersOwnHoldWhenTheyRentAnotherCar() {
+                waitlistService.join(john);
+                waitlistService.join(anna);
+                waitlistService.offer("Sporty", 5L);
+
+
+                waitlistService.claimed(6L, john);
+
+                assertThat(waitlistService.isHeldForAnother(5L, john.getId())).isTrue();
+                assertThat(waitlistService.poll(anna).hasResult()).isTrue();
+        }
+
+        @Test
+        void itShouldRemoveUserFromWaitlistWhenTheyReserveCar() {
+                waitlistService.join(john);
+                waitlistService.join(anna);
+
+
+                waitlistService.claimed(null, john);
+
+                assertThat(waitlistService.join(anna)).isEqualTo(1);
+                assertThat(waitlistService.offer("Sporty", 5L)).isTrue();
+                assertThat(waitlistService.isHeldForAnother(5L, john.getId())).isTrue();
+        }
+
+        @Test
+        void itShouldNotOfferWhenWaitlistIsEmpty() {
+                assertThat(waitlistService.offer("Sporty", 5L)).isFalse();
+        }
+
+        @Test
+        void itShouldThrowNoAccessKeyExceptionWhenJoiningWithoutKey() {
+                User user = User.builder().id(3L).build();
+
+                assertThrows(NoAccessKeyException.class, () -> waitlistService.join(user));
+        }
+
+}
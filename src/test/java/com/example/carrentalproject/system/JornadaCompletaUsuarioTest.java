@@ -4,6 +4,7 @@ import com.example.carrentalproject.constant.FuelType;
 import com.example.carrentalproject.constant.GearBoxType;
 import com.example.carrentalproject.domain.*;
 import com.example.carrentalproject.dto.AccessKeyDto;
+import com.example.carrentalproject.dto.CarView;
 import com.example.carrentalproject.dto.CreditCardDto;
 import com.example.carrentalproject.dto.UserInDto;
 import com.example.carrentalproject.repository.*;
@@ -51,6 +52,9 @@ public class JornadaCompletaUsuarioTest {
     @Autowired
     private CarService carService;
 
+    @Autowired
+    private CarCatalogService carCatalogService;
+
     @Autowired
     private OrderService orderService;
 
@@ -196,9 +200,9 @@ public class JornadaCompletaUsuarioTest {
 
         // PASSO 4: CONSULTAR CARROS DISPONÍVEIS
         System.out.println("\nPASSO 4: Consultando carros disponíveis...");
-        List<Car> availableCars = carService.getAvailableCars(1, Sort.Direction.ASC);
+        List<CarView> availableCars = carCatalogService.getAvailableCars(1, Sort.Direction.ASC);
         assertFalse(availableCars.isEmpty());
-        Car selectedCar = availableCars.get(0);
+        CarView selectedCar = availableCars.get(0);
         assertTrue(selectedCar.getIsAvailable());
         System.out.println("✓ Carro disponível: " + selectedCar.getBrand() + " " + 
                 selectedCar.getModel() + " (" + selectedCar.getRegistrationNr() + ")");
@@ -388,7 +392,7 @@ public class JornadaCompletaUsuarioTest {
         System.out.println("✓ Carro não está mais disponível para Usuário 2");
 
         // Tentar consultar carros disponíveis (deve retornar lista vazia)
-        List<Car> availableCars = carService.getAvailableCars(1, Sort.Direction.ASC);
+        List<CarView> availableCars = carCatalogService.getAvailableCars(1, Sort.Direction.ASC);
         assertTrue(availableCars.isEmpty());
         System.out.println("✓ Sistema previne aluguel duplicado - nenhum carro disponível");
 
@@ -0,0 +1,52 @@
+package com.example.carrentalproject.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BloomFilterTest {
+
+        private static final long FIRST_CARD = 4000000000000000L;
+
+        @Test
+        void itShouldContainEveryInsertedKey() {
+                BloomFilter filter = new BloomFilter(10_000, 0.01);
+
+                LongStream.range(0, 10_000).forEach(i -> filter.put(FIRST_CARD + i));
+
+                assertThat(LongStream.range(0, 10_000).allMatch(i -> filter.mightContain(FIRST_CARD + i))).isTrue();
+                assertThat(filter.getInsertions()).isEqualTo(10_000);
+        }
+
+        @Test
+        void itShouldKeepFalsePositiveRateNearTarget() {
+                BloomFilter filter = new BloomFilter(10_000, 0.01);
+                LongStream.range(0, 10_000).forEach(i -> filter.put(FIRST_CARD + i));
+
+                long falsePositives = LongStream.range(0, 100_000)
+                        .filter(i -> filter.mightContain(FIRST_CARD + 1_000_000 + i))
+                        .count();
+
+                assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+                assertThat(filter.expectedFalsePositiveRate()).isBetween(0.005, 0.015);
+        }
+
+        @Test
+        void itShouldRejectKeysOfEmptyFilter() {
+                BloomFilter filter = new BloomFilter(100, 0.01);
+
+                assertThat(filter.mightContain(FIRST_CARD)).isFalse();
+                assertThat(filter.expectedFalsePositiveRate()).isZero();
+        }
+
+        @Test
+        void itShouldRejectFalsePositiveRateOutsideOpenUnitInterval() {
+                assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 0));
+                assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1));
+                assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, Double.NaN));
+        }
+
+}